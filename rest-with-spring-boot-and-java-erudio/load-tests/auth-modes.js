@@ -0,0 +1,20 @@
+// Authenticated reads with the principal loaded from MySQL against built from the token claims.
+// Run it twice, against the app started with SECURITY_JWT_CLAIMS_TRUSTED=false and then =true,
+// and with SECURITY_JWT_PRINCIPAL_CACHE_MAX_SIZE=0 to see the uncached database path.
+import http from 'k6/http';
+import { check } from 'k6';
+import { BASE_URL, signin, headers } from './lib/auth.js';
+
+export const options = {
+	vus: Number(__ENV.VUS || 200),
+	duration: __ENV.DURATION || '1m',
+};
+
+export function setup() {
+	return { token: signin() };
+}
+
+export default function (data) {
+	const res = http.get(`${BASE_URL}/api/person/v1/1`, headers(data.token));
+	check(res, { 'status 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,42 @@
+// Throughput of the batch endpoints: one request creating RECORDS people, then updating and deleting them.
+// RECORDS=10000 and RECORDS=100000 are the two sizes compared.
+import http from 'k6/http';
+import { check } from 'k6';
+import { BASE_URL, signin, headers } from './lib/auth.js';
+
+const RECORDS = Number(__ENV.RECORDS || 10000);
+
+export const options = {
+	vus: 1,
+	iterations: Number(__ENV.ITERATIONS || 3),
+	thresholds: { checks: ['rate==1'] },
+};
+
+export function setup() {
+	return { token: signin() };
+}
+
+function people() {
+	const list = [];
+	for (let i = 0; i < RECORDS; i++) {
+		list.push({ firstName: `Load ${i}`, lastName: `Test ${__ITER}`, address: 'Uberlandia - MG', gender: i % 2 ? 'Female' : 'Male', enabled: true });
+	}
+	return list;
+}
+
+export default function (data) {
+	// a 100k batch takes longer than k6's 60s default timeout
+	const params = Object.assign(headers(data.token, { 'Content-Type': 'application/json' }), { timeout: '10m' });
+
+	const created = http.post(`${BASE_URL}/api/person/v1/batch`, JSON.stringify(people()), Object.assign({ tags: { name: 'create' } }, params));
+	check(created, { 'created': (r) => r.status === 200 && r.json('failed') === 0 });
+	const ids = created.json('items').filter((item) => item.status === 201).map((item) => item.id);
+
+	const updated = http.put(`${BASE_URL}/api/person/v1/batch`,
+		JSON.stringify(ids.map((id, i) => ({ id, firstName: `Updated ${i}`, lastName: 'Test', address: 'Uberlandia - MG', gender: 'Male', enabled: true }))),
+		Object.assign({ tags: { name: 'update' } }, params));
+	check(updated, { 'updated': (r) => r.status === 200 && r.json('failed') === 0 });
+
+	const deleted = http.del(`${BASE_URL}/api/person/v1/batch`, JSON.stringify(ids), Object.assign({ tags: { name: 'delete' } }, params));
+	check(deleted, { 'deleted': (r) => r.status === 200 && r.json('failed') === 0 });
+}
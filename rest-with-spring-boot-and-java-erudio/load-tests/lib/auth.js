@@ -0,0 +1,17 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+export const BASE_URL = __ENV.BASE_URL || 'http://localhost:80';
+
+// Signs in once per test run, every virtual user reuses the token returned by setup()
+export function signin() {
+	const res = http.post(`${BASE_URL}/auth/signin`,
+		JSON.stringify({ username: __ENV.USERNAME || 'leandro', password: __ENV.PASSWORD || 'admin123' }),
+		{ headers: { 'Content-Type': 'application/json' } });
+	check(res, { 'signed in': (r) => r.status === 200 });
+	return res.json('accessToken');
+}
+
+export function headers(token, extra) {
+	return { headers: Object.assign({ Authorization: `Bearer ${token}`, Accept: 'application/json' }, extra || {}) };
+}
@@ -0,0 +1,23 @@
+// Name searches over the table filled by seed-million-people.sql: prefixes, infixes,
+// several words and one letter words, which cannot use the full-text index.
+import http from 'k6/http';
+import { check } from 'k6';
+import { BASE_URL, signin, headers } from './lib/auth.js';
+
+const TERMS = ['ayr', 'enna', 'ayrton senna', 'maria', 'a silva', 'jo', 'x'];
+
+export const options = {
+	vus: Number(__ENV.VUS || 50),
+	duration: __ENV.DURATION || '1m',
+};
+
+export function setup() {
+	return { token: signin() };
+}
+
+export default function (data) {
+	const term = TERMS[Math.floor(Math.random() * TERMS.length)];
+	const res = http.get(`${BASE_URL}/api/person/v1/findPersonByName/${encodeURIComponent(term)}?size=12&count=none`,
+		Object.assign(headers(data.token), { tags: { name: 'findPersonByName' } }));
+	check(res, { 'status 200': (r) => r.status === 200 });
+}
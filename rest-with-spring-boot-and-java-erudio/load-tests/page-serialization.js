@@ -0,0 +1,22 @@
+// Latency of rendering listing pages, whose links are expanded from a template per item.
+// SIZE=100 and SIZE=1000 are the two page sizes compared.
+import http from 'k6/http';
+import { check } from 'k6';
+import { BASE_URL, signin, headers } from './lib/auth.js';
+
+const SIZE = Number(__ENV.SIZE || 100);
+
+export const options = {
+	vus: Number(__ENV.VUS || 20),
+	duration: __ENV.DURATION || '1m',
+	tags: { size: String(SIZE) },
+};
+
+export function setup() {
+	return { token: signin() };
+}
+
+export default function (data) {
+	const res = http.get(`${BASE_URL}/api/person/v1?page=0&size=${SIZE}&count=cached`, headers(data.token));
+	check(res, { 'status 200': (r) => r.status === 200 });
+}
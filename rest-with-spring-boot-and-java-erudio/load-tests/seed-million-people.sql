@@ -0,0 +1,15 @@
+-- Fills person with a million generated rows for name-search.js, run it once after the migrations.
+-- Names are combined from a few lists, so searches match thousands of rows, not all of them.
+SET SESSION cte_max_recursion_depth = 1000000;
+
+INSERT INTO `person` (`first_name`, `last_name`, `address`, `gender`, `enabled`)
+WITH RECURSIVE seq (n) AS (
+	SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000000
+)
+SELECT
+	ELT(1 + n % 10, 'Ayrton', 'Maria', 'Joao', 'Ana', 'Pedro', 'Lucia', 'Carlos', 'Beatriz', 'Jose', 'Fernanda'),
+	CONCAT(ELT(1 + (n DIV 10) % 8, 'Senna', 'Silva', 'Souza', 'Costa', 'Oliveira', 'Pereira', 'Lima', 'Gomes'), ' ', n),
+	CONCAT('Street ', n % 5000, ', Uberlandia - MG'),
+	IF(n % 2 = 0, 'Male', 'Female'),
+	b'1'
+FROM seq;
@@ -0,0 +1,29 @@
+// The same reads against the servlet v1 routes and the WebFlux/R2DBC v2 routes, side by side.
+// Results are tagged by stack, compare http_req_duration{stack:v1} with {stack:v2}.
+import http from 'k6/http';
+import { check } from 'k6';
+import { BASE_URL, signin, headers } from './lib/auth.js';
+
+const VUS = Number(__ENV.VUS || 500);
+const DURATION = __ENV.DURATION || '1m';
+
+export const options = {
+	scenarios: {
+		servlet: { executor: 'constant-vus', vus: VUS, duration: DURATION, env: { STACK: 'v1' }, tags: { stack: 'v1' } },
+		reactive: { executor: 'constant-vus', vus: VUS, duration: DURATION, env: { STACK: 'v2' }, tags: { stack: 'v2' },
+			startTime: DURATION },
+	},
+};
+
+export function setup() {
+	return { token: signin() };
+}
+
+export default function (data) {
+	const stack = __ENV.STACK;
+	const id = 1 + Math.floor(Math.random() * 1000);
+	const byId = http.get(`${BASE_URL}/api/person/${stack}/${id}`, Object.assign({ tags: { name: 'findById' } }, headers(data.token)));
+	check(byId, { 'found': (r) => r.status === 200 || r.status === 404 });
+	const page = http.get(`${BASE_URL}/api/person/${stack}?page=0&size=50`, Object.assign({ tags: { name: 'findAll' } }, headers(data.token)));
+	check(page, { 'listed': (r) => r.status === 200 });
+}
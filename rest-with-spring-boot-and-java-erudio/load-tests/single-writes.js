@@ -0,0 +1,38 @@
+// Latency of the single-statement write paths: update, disable and delete of a person created per iteration.
+// PREFER=return=representation adds the re-read of the body, the default return=minimal skips it.
+// Pair it with the MySQL status counters (Com_select, Com_update, Com_delete) to count round trips per operation.
+import http from 'k6/http';
+import { check } from 'k6';
+import { BASE_URL, signin, headers } from './lib/auth.js';
+
+export const options = {
+	vus: Number(__ENV.VUS || 20),
+	duration: __ENV.DURATION || '1m',
+};
+
+const PREFER = __ENV.PREFER || 'return=minimal';
+
+export function setup() {
+	return { token: signin() };
+}
+
+export default function (data) {
+	const params = headers(data.token, { 'Content-Type': 'application/json', Prefer: PREFER });
+	const person = { firstName: 'Write', lastName: 'Latency', address: 'Uberlandia - MG', gender: 'Male', enabled: true };
+
+	const created = http.post(`${BASE_URL}/api/person/v1`, JSON.stringify(person), Object.assign({ tags: { name: 'create' } }, params));
+	check(created, { 'created': (r) => r.status === 200 });
+	const id = created.json('id');
+
+	person.id = id;
+	person.lastName = 'Updated';
+	const updated = http.put(`${BASE_URL}/api/person/v1`, JSON.stringify(person),
+		Object.assign({ tags: { name: 'update' } }, params));
+	check(updated, { 'updated': (r) => r.status === 200 || r.status === 204 });
+
+	const disabled = http.patch(`${BASE_URL}/api/person/v1/${id}`, null, Object.assign({ tags: { name: 'disable' } }, params));
+	check(disabled, { 'disabled': (r) => r.status === 200 || r.status === 204 });
+
+	const deleted = http.del(`${BASE_URL}/api/person/v1/${id}`, null, Object.assign({ tags: { name: 'delete' } }, params));
+	check(deleted, { 'deleted': (r) => r.status === 204 });
+}
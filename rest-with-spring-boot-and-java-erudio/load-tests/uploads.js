@@ -0,0 +1,35 @@
+// MB/s of the streaming upload for a given file, and the heap used while it runs.
+// Generate the files once with: head -c 1M /dev/urandom > 1MB.bin (and 50M, 200M),
+// then run with FILE=1MB.bin, FILE=50MB.bin and FILE=200MB.bin.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+import { BASE_URL, signin, headers } from './lib/auth.js';
+
+const FILE = __ENV.FILE || '1MB.bin';
+const content = open(FILE, 'b');
+
+const throughput = new Trend('upload_mb_per_s');
+const heap = new Trend('heap_used_mb');
+
+export const options = {
+	vus: Number(__ENV.VUS || 4),
+	iterations: Number(__ENV.ITERATIONS || 20),
+};
+
+export function setup() {
+	return { token: signin() };
+}
+
+function heapUsed(token) {
+	const res = http.get(`${BASE_URL}/actuator/metrics/jvm.memory.used?tag=area:heap`, headers(token));
+	return res.status === 200 ? res.json('measurements.0.value') / 1048576 : 0;
+}
+
+export default function (data) {
+	const res = http.put(`${BASE_URL}/api/file/v1/uploadFile/load-${__VU}-${FILE}`, content,
+		Object.assign({ timeout: '10m' }, headers(data.token, { 'Content-Type': 'application/octet-stream' })));
+	check(res, { 'uploaded': (r) => r.status === 200 });
+	if (res.status === 200) throughput.add(res.json('bytesPerSecond') / 1048576);
+	heap.add(heapUsed(data.token));
+}
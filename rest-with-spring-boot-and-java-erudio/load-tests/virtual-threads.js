@@ -0,0 +1,31 @@
+// 1000+ concurrent clients on blocking endpoints. Run it against the app started with
+// THREADS_VIRTUAL_ENABLED=false and then =true, keeping the Hikari pool size the same.
+import http from 'k6/http';
+import { check } from 'k6';
+import { BASE_URL, signin, headers } from './lib/auth.js';
+
+export const options = {
+	scenarios: {
+		clients: {
+			executor: 'ramping-vus',
+			startVUs: 0,
+			stages: [
+				{ duration: '30s', target: Number(__ENV.VUS || 1000) },
+				{ duration: __ENV.DURATION || '2m', target: Number(__ENV.VUS || 1000) },
+				{ duration: '15s', target: 0 },
+			],
+		},
+	},
+};
+
+export function setup() {
+	return { token: signin() };
+}
+
+export default function (data) {
+	const id = 1 + Math.floor(Math.random() * 1000);
+	const res = Math.random() < 0.5
+		? http.get(`${BASE_URL}/api/person/v1/${id}`, Object.assign({ tags: { name: 'findById' } }, headers(data.token)))
+		: http.get(`${BASE_URL}/api/person/v1?page=${id % 50}&size=12&count=cached`, Object.assign({ tags: { name: 'findAll' } }, headers(data.token)));
+	check(res, { 'status 200 or 404': (r) => r.status === 200 || r.status === 404 });
+}
@@ -0,0 +1,114 @@
+package br.com.erudio.benchmarks;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import br.com.erudio.security.jwt.JwtTokenFilter;
+import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.jwt.PrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The per-request work of {@link JwtTokenFilter}, loading the principal on
+ * every request (the database-backed mode, with the database stubbed out so
+ * only the CPU cost is measured), through the principal cache, and building it
+ * from the token claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtTokenFilterBenchmark {
+
+	private static final String SECRET = "53cr37";
+
+	private String token;
+
+	private JwtTokenFilter loadingFilter;
+	private JwtTokenFilter cachedFilter;
+	private JwtTokenFilter claimsFilter;
+
+	@Setup
+	public void setup() {
+		String encodedSecret = Base64.getEncoder().encodeToString(SECRET.getBytes());
+		Date now = new Date();
+		token = JWT.create()
+			.withClaim("roles", List.of("ADMIN", "MANAGER"))
+			.withIssuedAt(now)
+			.withExpiresAt(new Date(now.getTime() + TimeUnit.HOURS.toMillis(1)))
+			.withSubject("leandro")
+			.sign(Algorithm.HMAC256(encodedSecret.getBytes()));
+
+		// A cache of size 0 keeps nothing, so every request loads the user
+		loadingFilter = new JwtTokenFilter(provider(false, new PrincipalCache(0, 300000, new SimpleMeterRegistry())));
+		cachedFilter = new JwtTokenFilter(provider(false, new PrincipalCache(10000, 300000, new SimpleMeterRegistry())));
+		claimsFilter = new JwtTokenFilter(provider(true, new PrincipalCache(10000, 300000, new SimpleMeterRegistry())));
+	}
+
+	private JwtTokenProvider provider(boolean claimsTrusted, PrincipalCache principalCache) {
+		UserDetailsService users = username -> User.withUsername(username)
+			.password("{pbkdf2}unused")
+			.authorities("ADMIN", "MANAGER")
+			.build();
+		var provider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(provider, "secretKey", SECRET);
+		ReflectionTestUtils.setField(provider, "claimsTrusted", claimsTrusted);
+		ReflectionTestUtils.setField(provider, "userDetailsService", users);
+		ReflectionTestUtils.setField(provider, "principalCache", principalCache);
+		ReflectionTestUtils.invokeMethod(provider, "init");
+		return provider;
+	}
+
+	@Benchmark
+	public Authentication filterLoadingThePrincipal() throws Exception {
+		return filter(loadingFilter);
+	}
+
+	@Benchmark
+	public Authentication filterWithThePrincipalCache() throws Exception {
+		return filter(cachedFilter);
+	}
+
+	@Benchmark
+	public Authentication filterTrustingTheClaims() throws Exception {
+		return filter(claimsFilter);
+	}
+
+	private Authentication filter(JwtTokenFilter filter) throws Exception {
+		var request = new MockHttpServletRequest("GET", "/api/person/v1");
+		request.addHeader("Authorization", "Bearer " + token);
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		SecurityContextHolder.clearContext();
+		return authentication;
+	}
+}
@@ -0,0 +1,89 @@
+package br.com.erudio.benchmarks;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.jwt.PrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The token handling of the filter hot path. {@code before} replays what the
+ * filter did before the verifier was shared, a new HMAC algorithm and
+ * verifier on each of its two decodes; {@code after} decodes once with the
+ * verifier built at init and hands the token along.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtVerifierBenchmark {
+
+	private static final String SECRET = "53cr37";
+
+	private String token;
+	private String encodedSecret;
+
+	private JwtTokenProvider provider;
+
+	@Setup
+	public void setup() {
+		encodedSecret = Base64.getEncoder().encodeToString(SECRET.getBytes());
+		Date now = new Date();
+		token = JWT.create()
+			.withClaim("roles", List.of("ADMIN", "MANAGER"))
+			.withIssuedAt(now)
+			.withExpiresAt(new Date(now.getTime() + TimeUnit.HOURS.toMillis(1)))
+			.withSubject("leandro")
+			.sign(Algorithm.HMAC256(encodedSecret.getBytes()));
+
+		UserDetailsService users = username -> User.withUsername(username)
+			.password("{pbkdf2}unused")
+			.authorities("ADMIN", "MANAGER")
+			.build();
+		provider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(provider, "secretKey", SECRET);
+		ReflectionTestUtils.setField(provider, "userDetailsService", users);
+		ReflectionTestUtils.setField(provider, "principalCache", new PrincipalCache(10000, 300000, new SimpleMeterRegistry()));
+		ReflectionTestUtils.invokeMethod(provider, "init");
+	}
+
+	@Benchmark
+	public Date before() {
+		// validateToken and getAuthentication each built their own verifier and decoded the token
+		DecodedJWT forValidation = JWT.require(Algorithm.HMAC256(encodedSecret.getBytes())).build().verify(token);
+		DecodedJWT forAuthentication = JWT.require(Algorithm.HMAC256(encodedSecret.getBytes())).build().verify(token);
+		return forValidation.getExpiresAt().after(new Date()) ? forAuthentication.getExpiresAt() : null;
+	}
+
+	@Benchmark
+	public Authentication after() {
+		DecodedJWT decodedJWT = provider.decodedToken(token);
+		return provider.validateToken(decodedJWT) ? provider.getAuthentication(decodedJWT) : null;
+	}
+}
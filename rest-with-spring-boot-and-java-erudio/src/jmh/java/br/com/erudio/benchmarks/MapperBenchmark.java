@@ -0,0 +1,127 @@
+package br.com.erudio.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+import com.github.dozermapper.core.loader.api.BeanMappingBuilder;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.mapper.BookMapper;
+import br.com.erudio.mapper.PersonMapper;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
+
+/**
+ * Per-object cost of mapping entities to VOs and back, Dozer as the services
+ * used it against the MapStruct generated mappers that replaced it. Run with
+ * {@code -prof gc} (the jmh profile does) for the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+	// A page of the listing endpoints
+	@Param({ "1", "100" })
+	private int size;
+
+	private Mapper dozer;
+
+	private List<Person> people;
+	private List<PersonVO> personVOs;
+	private List<Book> books;
+
+	@Setup
+	public void setup() {
+		// The id to key rename the VOs used to declare with Dozer's @Mapping("id")
+		dozer = DozerBeanMapperBuilder.create()
+			.withMappingBuilder(new BeanMappingBuilder() {
+				@Override
+				protected void configure() {
+					mapping(Person.class, PersonVO.class).fields("id", "key");
+					mapping(Book.class, BookVO.class).fields("id", "key");
+				}
+			})
+			.build();
+
+		people = new ArrayList<>();
+		books = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			var person = new Person();
+			person.setId((long) i);
+			person.setFirstName("First Name " + i);
+			person.setLastName("Last Name " + i);
+			person.setAddress("Address " + i);
+			person.setGender(i % 2 == 0 ? "Male" : "Female");
+			person.setEnabled(true);
+			person.setVersion(0L);
+			people.add(person);
+
+			var book = new Book();
+			book.setId((long) i);
+			book.setAuthor("Author " + i);
+			book.setTitle("Title " + i);
+			book.setPrice(49.9);
+			book.setLaunchDate(new Date());
+			book.setVersion(0L);
+			books.add(book);
+		}
+		personVOs = PersonMapper.INSTANCE.toVOList(people);
+	}
+
+	@Benchmark
+	public List<PersonVO> dozerPeopleToVOs() {
+		List<PersonVO> vos = new ArrayList<>(size);
+		for (Person person : people) vos.add(dozer.map(person, PersonVO.class));
+		return vos;
+	}
+
+	@Benchmark
+	public List<PersonVO> mapStructPeopleToVOs() {
+		return PersonMapper.INSTANCE.toVOList(people);
+	}
+
+	@Benchmark
+	public List<Person> dozerVOsToPeople() {
+		List<Person> entities = new ArrayList<>(size);
+		for (PersonVO vo : personVOs) entities.add(dozer.map(vo, Person.class));
+		return entities;
+	}
+
+	@Benchmark
+	public List<Person> mapStructVOsToPeople() {
+		return PersonMapper.INSTANCE.toEntityList(personVOs);
+	}
+
+	@Benchmark
+	public List<BookVO> dozerBooksToVOs() {
+		List<BookVO> vos = new ArrayList<>(size);
+		for (Book book : books) vos.add(dozer.map(book, BookVO.class));
+		return vos;
+	}
+
+	@Benchmark
+	public List<BookVO> mapStructBooksToVOs() {
+		return BookMapper.INSTANCE.toVOList(books);
+	}
+}
@@ -0,0 +1,56 @@
+package br.com.erudio.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.util.Transactions;
+
+/**
+ * Short-TTL cache for the total row count of unfiltered listings, so paging
+ * doesn't run a count(*) on every call. Write paths that add or remove rows
+ * must invalidate their key.
+ */
+@Component
+public class CountCache {
+
+	public static final String PERSON = "person";
+	public static final String BOOK = "book";
+
+	@Value("${cache.count.ttl:5000}")
+	private long ttlInMilliseconds = 5000;
+
+	private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+	public long get(String key, LongSupplier counter) {
+		long now = System.currentTimeMillis();
+		CachedCount cached = counts.get(key);
+		if (cached != null && cached.expiresAt > now) return cached.count;
+
+		long count = counter.getAsLong();
+		counts.put(key, new CachedCount(count, now + ttlInMilliseconds));
+		return count;
+	}
+
+	/**
+	 * Inside a transaction the count is dropped once it commits. Dropped any
+	 * earlier, a listing in between would cache the count from before the write.
+	 */
+	public void invalidate(String key) {
+		Transactions.afterCommit(() -> counts.remove(key));
+	}
+
+	private static class CachedCount {
+
+		private final long count;
+		private final long expiresAt;
+
+		CachedCount(long count, long expiresAt) {
+			this.count = count;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package br.com.erudio.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Already serialized GET bodies of single resources, per resource, id and
+ * negotiated media type, so a hit skips the controller and Jackson entirely.
+ * Write paths must evict the resource they touch. The variants of a resource
+ * share one entry, bounded by count, so an eviction is a single removal.
+ */
+@Component
+public class ResponseBodyCache {
+
+	public static final String PERSON = "person";
+	public static final String BOOK = "book";
+
+	private final Cache<String, Map<String, CachedResponse>> entries;
+
+	// Bumped on every eviction, so a response rendered before it is never stored after it
+	private final AtomicLong generation = new AtomicLong();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	@Autowired
+	public ResponseBodyCache(
+			@Value("${cache.response.max-entries:10000}") int maxEntries,
+			MeterRegistry registry) {
+		this.entries = Caffeine.newBuilder()
+			.maximumSize(maxEntries)
+			.build();
+
+		FunctionCounter.builder("http.response.cache.requests", hits, AtomicLong::get)
+			.tag("result", "hit").register(registry);
+		FunctionCounter.builder("http.response.cache.requests", misses, AtomicLong::get)
+			.tag("result", "miss").register(registry);
+		Gauge.builder("http.response.cache.size", this, ResponseBodyCache::size)
+			.register(registry);
+	}
+
+	public CachedResponse get(String resource, Long id, String variant) {
+		Map<String, CachedResponse> variants = entries.getIfPresent(key(resource, id));
+		CachedResponse cached = variants == null ? null : variants.get(variant);
+		if (cached == null) misses.incrementAndGet();
+		else hits.incrementAndGet();
+		return cached;
+	}
+
+	public long generation() {
+		return generation.get();
+	}
+
+	/**
+	 * Stores a response only if nothing was evicted since {@code seenGeneration}
+	 * was read, i.e. while the response was being rendered.
+	 */
+	public void put(String resource, Long id, String variant, CachedResponse response, long seenGeneration) {
+		if (generation.get() != seenGeneration) return;
+		String key = key(resource, id);
+		entries.get(key, k -> new ConcurrentHashMap<>()).put(variant, response);
+		// An eviction arrived while storing, the response may already be stale
+		if (generation.get() != seenGeneration) entries.invalidate(key);
+	}
+
+	/**
+	 * Inside a transaction the entry is evicted again once it completes, since
+	 * a GET rendered in between would still have read the old row.
+	 */
+	public void evict(String resource, Long id) {
+		String key = key(resource, id);
+		evictKey(key);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					evictKey(key);
+				}
+			});
+		}
+	}
+
+	private void evictKey(String key) {
+		generation.incrementAndGet();
+		entries.invalidate(key);
+	}
+
+	// Resources with at least one cached variant
+	public int size() {
+		entries.cleanUp();
+		return (int) entries.estimatedSize();
+	}
+
+	private String key(String resource, Long id) {
+		return resource + ":" + id;
+	}
+
+	public static class CachedResponse {
+
+		private final byte[] body;
+		private final String contentType;
+		private final String eTag;
+
+		public CachedResponse(byte[] body, String contentType, String eTag) {
+			this.body = body;
+			this.contentType = contentType;
+			this.eTag = eTag;
+		}
+
+		public byte[] getBody() {
+			return body;
+		}
+
+		public String getContentType() {
+			return contentType;
+		}
+
+		public String getETag() {
+			return eTag;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package br.com.erudio.cache;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import br.com.erudio.cache.ResponseBodyCache.CachedResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves GET /api/person/v1/{id} and /api/book/v1/{id} from the
+ * {@link ResponseBodyCache}, with the ETag the controller set and If-None-Match support.
+ * Runs after the Spring Security filter chain, so authorization still applies.
+ */
+@Component
+public class ResponseBodyCacheFilter extends OncePerRequestFilter {
+
+	private static final Pattern CACHEABLE_PATH = Pattern.compile("/api/(person|book)/v1/(\\d+)");
+
+	private static final List<MediaType> PRODUCIBLE = List.of(
+			MediaType.APPLICATION_JSON,
+			MediaType.APPLICATION_XML,
+			MediaType.valueOf(br.com.erudio.util.MediaType.APPLICATION_YML));
+
+	@Autowired
+	private ResponseBodyCache cache;
+
+	@Autowired
+	private ContentNegotiationManager contentNegotiationManager;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		// CORS headers are written by Spring MVC, so cross-origin requests always reach the controller
+		return !"GET".equals(request.getMethod())
+				|| request.getHeader(HttpHeaders.ORIGIN) != null
+				|| !CACHEABLE_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length())).matches();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+
+		Matcher matcher = CACHEABLE_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+		matcher.matches();
+		String resource = matcher.group(1);
+		Long id = Long.valueOf(matcher.group(2));
+
+		MediaType mediaType = negotiate(request);
+		if (mediaType == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		// Links in the body are absolute, so the host they were built for is part of the variant
+		String variant = mediaType + "|" + request.getRequestURL() + "|" + request.getHeader("X-Forwarded-Host")
+				+ "|" + request.getHeader("X-Forwarded-Proto") + "|" + request.getHeader("X-Forwarded-Prefix");
+
+		CachedResponse cached = cache.get(resource, id, variant);
+		if (cached != null) {
+			write(request, response, cached);
+			return;
+		}
+
+		long generation = cache.generation();
+		var wrapper = new ContentCachingResponseWrapper(response);
+		filterChain.doFilter(request, wrapper);
+
+		String contentType = wrapper.getContentType();
+		if (wrapper.getStatus() != HttpServletResponse.SC_OK || contentType == null
+				|| !mediaType.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+			wrapper.copyBodyToResponse();
+			return;
+		}
+
+		byte[] body = wrapper.getContentAsByteArray();
+		// The version ETag of this representation, so cached and uncached responses agree and If-Match
+		// accepts it; otherwise a strong one of these bytes, which are already per variant
+		String eTag = wrapper.getHeader(HttpHeaders.ETAG);
+		if (eTag == null) eTag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+		var fresh = new CachedResponse(body, contentType, eTag);
+		cache.put(resource, id, variant, fresh, generation);
+
+		wrapper.resetBuffer();
+		write(request, wrapper, fresh);
+		wrapper.copyBodyToResponse();
+	}
+
+	private void write(HttpServletRequest request, HttpServletResponse response, CachedResponse cached)
+			throws IOException {
+		response.setHeader(HttpHeaders.ETAG, cached.getETag());
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+		if (new ServletWebRequest(request, response).checkNotModified(cached.getETag())) return;
+
+		response.setStatus(HttpServletResponse.SC_OK);
+		response.setContentType(cached.getContentType());
+		response.setContentLength(cached.getBody().length);
+		response.getOutputStream().write(cached.getBody());
+	}
+
+	// The media type the controller will pick, among the ones it produces
+	private MediaType negotiate(HttpServletRequest request) {
+		List<MediaType> requested;
+		try {
+			requested = contentNegotiationManager.resolveMediaTypes(new ServletWebRequest(request));
+		} catch (HttpMediaTypeNotAcceptableException e) {
+			return null;
+		}
+		for (MediaType accepted : requested) {
+			for (MediaType producible : PRODUCIBLE) {
+				if (accepted.isCompatibleWith(producible)) return producible;
+			}
+		}
+		return null;
+	}
+}
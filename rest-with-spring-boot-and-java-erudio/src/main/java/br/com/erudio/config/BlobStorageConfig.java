@@ -0,0 +1,52 @@
+package br.com.erudio.config;
+
+import java.net.URI;
+import java.nio.file.Paths;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import br.com.erudio.files.BlobStorage;
+import br.com.erudio.files.LocalBlobStorage;
+import br.com.erudio.files.S3BlobStorage;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+/**
+ * Picks the backend of the file store from {@code file.storage}.
+ */
+@Configuration
+public class BlobStorageConfig {
+
+	@Bean
+	@ConditionalOnProperty(name = "file.storage", havingValue = "local", matchIfMissing = true)
+	public BlobStorage localBlobStorage(FileStorageConfig fileStorageConfig) {
+		return new LocalBlobStorage(Paths.get(fileStorageConfig.getUploadDir()).resolve("blobs"));
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "file.storage", havingValue = "s3")
+	public BlobStorage s3BlobStorage(FileStorageConfig fileStorageConfig) {
+		FileStorageConfig.S3 s3 = fileStorageConfig.getS3();
+
+		S3ClientBuilder builder = S3Client.builder()
+			.region(Region.of(s3.getRegion()))
+			.forcePathStyle(s3.isPathStyleAccess());
+		if (StringUtils.hasText(s3.getEndpoint())) builder.endpointOverride(URI.create(s3.getEndpoint()));
+		if (StringUtils.hasText(s3.getAccessKey())) {
+			builder.credentialsProvider(StaticCredentialsProvider.create(
+				AwsBasicCredentials.create(s3.getAccessKey(), s3.getSecretKey())));
+		} else {
+			builder.credentialsProvider(DefaultCredentialsProvider.create());
+		}
+
+		return new S3BlobStorage(builder.build(), s3.getBucket(), s3.getPrefix(),
+			s3.getPartSize().toBytes(), s3.getPartParallelism());
+	}
+}
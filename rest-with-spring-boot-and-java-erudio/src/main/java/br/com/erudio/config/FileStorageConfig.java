@@ -1,13 +1,23 @@
 package br.com.erudio.config;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 @Configuration
 @ConfigurationProperties(prefix = "file")
 public class FileStorageConfig {
 
 	private String uploadDir;
+	private DataSize maxFileSize = DataSize.ofMegabytes(200);
+	private int uploadParallelism = 4;
+	private int uploadQueueCapacity = 100;
+	private Duration orphanGracePeriod = Duration.ofHours(1);
+	// "local" keeps blobs under uploadDir, "s3" in an S3-compatible bucket
+	private String storage = "local";
+	private S3 s3 = new S3();
 
 	public String getUploadDir() {
 		return uploadDir;
@@ -16,4 +26,139 @@ public class FileStorageConfig {
 	public void setUploadDir(String uploadDir) {
 		this.uploadDir = uploadDir;
 	}
+
+	public DataSize getMaxFileSize() {
+		return maxFileSize;
+	}
+
+	public void setMaxFileSize(DataSize maxFileSize) {
+		this.maxFileSize = maxFileSize;
+	}
+
+	public int getUploadParallelism() {
+		return uploadParallelism;
+	}
+
+	public void setUploadParallelism(int uploadParallelism) {
+		this.uploadParallelism = uploadParallelism;
+	}
+
+	public int getUploadQueueCapacity() {
+		return uploadQueueCapacity;
+	}
+
+	public void setUploadQueueCapacity(int uploadQueueCapacity) {
+		this.uploadQueueCapacity = uploadQueueCapacity;
+	}
+
+	public Duration getOrphanGracePeriod() {
+		return orphanGracePeriod;
+	}
+
+	public void setOrphanGracePeriod(Duration orphanGracePeriod) {
+		this.orphanGracePeriod = orphanGracePeriod;
+	}
+
+	public String getStorage() {
+		return storage;
+	}
+
+	public void setStorage(String storage) {
+		this.storage = storage;
+	}
+
+	public S3 getS3() {
+		return s3;
+	}
+
+	public void setS3(S3 s3) {
+		this.s3 = s3;
+	}
+
+	public static class S3 {
+
+		// Empty for AWS itself, the server URL for MinIO and other compatible stores
+		private String endpoint;
+		private String region = "us-east-1";
+		private String bucket;
+		private String prefix = "blobs/";
+		// Without them the default AWS credentials chain is used
+		private String accessKey;
+		private String secretKey;
+		private boolean pathStyleAccess;
+		private DataSize partSize = DataSize.ofMegabytes(8);
+		private int partParallelism = 4;
+
+		public String getEndpoint() {
+			return endpoint;
+		}
+
+		public void setEndpoint(String endpoint) {
+			this.endpoint = endpoint;
+		}
+
+		public String getRegion() {
+			return region;
+		}
+
+		public void setRegion(String region) {
+			this.region = region;
+		}
+
+		public String getBucket() {
+			return bucket;
+		}
+
+		public void setBucket(String bucket) {
+			this.bucket = bucket;
+		}
+
+		public String getPrefix() {
+			return prefix;
+		}
+
+		public void setPrefix(String prefix) {
+			this.prefix = prefix;
+		}
+
+		public String getAccessKey() {
+			return accessKey;
+		}
+
+		public void setAccessKey(String accessKey) {
+			this.accessKey = accessKey;
+		}
+
+		public String getSecretKey() {
+			return secretKey;
+		}
+
+		public void setSecretKey(String secretKey) {
+			this.secretKey = secretKey;
+		}
+
+		public boolean isPathStyleAccess() {
+			return pathStyleAccess;
+		}
+
+		public void setPathStyleAccess(boolean pathStyleAccess) {
+			this.pathStyleAccess = pathStyleAccess;
+		}
+
+		public DataSize getPartSize() {
+			return partSize;
+		}
+
+		public void setPartSize(DataSize partSize) {
+			this.partSize = partSize;
+		}
+
+		public int getPartParallelism() {
+			return partParallelism;
+		}
+
+		public void setPartParallelism(int partParallelism) {
+			this.partParallelism = partParallelism;
+		}
+	}
 }
\ No newline at end of file
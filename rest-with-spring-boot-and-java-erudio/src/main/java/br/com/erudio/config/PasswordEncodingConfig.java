@@ -0,0 +1,47 @@
+package br.com.erudio.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.password")
+public class PasswordEncodingConfig {
+
+	// Id used to encode new and upgraded hashes, e.g. {pbkdf2-v2}...
+	private String encodingId = "pbkdf2";
+	
+	// Id assumed for stored hashes without an {id} prefix
+	private String defaultIdForMatches = "pbkdf2";
+	
+	// PBKDF2 iterations per encoder id. Old ids must be kept while hashes using them still exist.
+	// The count is not stored in the hash, so changing it for an existing id breaks every hash of that id:
+	// a new cost always needs a new id
+	private Map<String, Integer> iterations = new LinkedHashMap<>(Map.of("pbkdf2", 185000));
+
+	public String getEncodingId() {
+		return encodingId;
+	}
+
+	public void setEncodingId(String encodingId) {
+		this.encodingId = encodingId;
+	}
+
+	public String getDefaultIdForMatches() {
+		return defaultIdForMatches;
+	}
+
+	public void setDefaultIdForMatches(String defaultIdForMatches) {
+		this.defaultIdForMatches = defaultIdForMatches;
+	}
+
+	public Map<String, Integer> getIterations() {
+		return iterations;
+	}
+
+	public void setIterations(Map<String, Integer> iterations) {
+		this.iterations = iterations;
+	}
+}
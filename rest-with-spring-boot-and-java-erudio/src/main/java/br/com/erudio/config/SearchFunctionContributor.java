@@ -0,0 +1,21 @@
+package br.com.erudio.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Makes MySQL's MATCH ... AGAINST available to JPQL, so full-text queries keep
+ * using entity properties and pageable sorting like any other repository query.
+ * Registered through META-INF/services.
+ */
+public class SearchFunctionContributor implements FunctionContributor {
+
+	@Override
+	public void contributeFunctions(FunctionContributions functionContributions) {
+		functionContributions.getFunctionRegistry().registerPattern(
+				"match_against",
+				"match (?1, ?2) against (?3 in boolean mode)",
+				functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+	}
+}
@@ -29,18 +29,23 @@ public class SecurityConfig {
     private JwtTokenProvider tokenProvider;
  
     @Bean
-    PasswordEncoder passwordEncoder() {
+    PasswordEncoder passwordEncoder(PasswordEncodingConfig config) {
         Map<String, PasswordEncoder> encoders = new HashMap<>();
-        Pbkdf2PasswordEncoder pbkdf2Encoder = new Pbkdf2PasswordEncoder("", 8, 185000, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
-        encoders.put("pbkdf2", pbkdf2Encoder);
+        config.getIterations().forEach((id, iterations) ->
+            encoders.put(id, pbkdf2Encoder(iterations)));
  
-        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("pbkdf2", encoders);
+        // Hashes whose id differs from the encoding id are re-encoded on the next successful signin
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(config.getEncodingId(), encoders);
  
-        passwordEncoder.setDefaultPasswordEncoderForMatches(pbkdf2Encoder);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(encoders.get(config.getDefaultIdForMatches()));
  
         return passwordEncoder;
     }
  
+    public static Pbkdf2PasswordEncoder pbkdf2Encoder(int iterations) {
+        return new Pbkdf2PasswordEncoder("", 8, iterations, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+ 
     @Bean
     AuthenticationManager authenticationManagerBean(
             AuthenticationConfiguration authenticationConfiguration)
@@ -61,9 +66,12 @@ public class SecurityConfig {
                                         "/auth/signin",
                                         "/auth/refresh/**",
                                         "/swagger-ui/**",
-                                        "/v3/api-docs/**"
+                                        "/v3/api-docs/**",
+                                        "/actuator/health"
                                 ).permitAll()
+                                .requestMatchers("/api/security/**").hasAuthority("ADMIN")
                                 .requestMatchers("/api/**").authenticated()
+                                .requestMatchers("/actuator/**").authenticated()
                                 .requestMatchers("/users").denyAll()
                 )
                 .cors(Customizer.withDefaults())
@@ -0,0 +1,57 @@
+package br.com.erudio.config;
+
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Opt-in ({@code threads.virtual.enabled}) mode where Tomcat handles every
+ * request on its own virtual thread, and async MVC work (streamed exports)
+ * runs on virtual threads too. Blocking on JDBC or disk then parks the
+ * virtual thread instead of holding a worker, so the Hikari pool becomes
+ * the limit. Signin hashing keeps its bounded pool: it is CPU bound.
+ */
+@Configuration
+@ConditionalOnProperty(name = "threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+	private Logger logger = Logger.getLogger(VirtualThreadsConfig.class.getName());
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+		logger.info("Handling requests on virtual threads!");
+		return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+	}
+
+	// Replaces Boot's pooled applicationTaskExecutor, which Spring MVC uses for async requests
+	@Bean(name = { TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+			AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME })
+	public AsyncTaskExecutor applicationTaskExecutor() {
+		return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+	}
+
+	// Tomcat's worker pool no longer bounds how many requests wait on Hikari, so they give up sooner than its 30s default
+	@Bean
+	public static BeanPostProcessor virtualThreadsConnectionTimeout(
+			@Value("${threads.virtual.connection-timeout:5000}") long connectionTimeout) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof HikariDataSource dataSource) dataSource.setConnectionTimeout(connectionTimeout);
+				return bean;
+			}
+		};
+	}
+}
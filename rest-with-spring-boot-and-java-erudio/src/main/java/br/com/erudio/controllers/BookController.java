@@ -1,12 +1,17 @@
 package br.com.erudio.controllers;
 
+import java.time.Duration;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,19 +19,29 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.batch.BatchResultVO;
+import br.com.erudio.exports.ExportFormat;
+import br.com.erudio.services.BookBatchServices;
 import br.com.erudio.services.BookServices;
+import br.com.erudio.util.AsyncRequestTimeout;
+import br.com.erudio.util.CountMode;
 import br.com.erudio.util.MediaType;
+import br.com.erudio.util.Prefer;
+import br.com.erudio.util.VersionETag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/book/v1")
@@ -35,7 +50,37 @@ public class BookController {
 
 	@Autowired
 	private BookServices service;
+	
+	@Autowired
+	private BookBatchServices batchService;
+	
+	@Value("${batch.export-timeout:1h}")
+	private Duration exportTimeout;
 
+	@GetMapping("/export")
+	@Operation(summary = "Exports all Books", description = "Streams every book as JSON Lines, CSV or XML, without paging! "
+			+ "The format parameter picks the format, otherwise the Accept header does, and JSON Lines is the default",
+	tags = {"Book"},
+	responses = {
+			@ApiResponse(description = "Success", responseCode = "200", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+	}
+			)
+	public ResponseEntity<StreamingResponseBody> export(
+			@RequestParam(value = "format", required = false) String format,
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+			HttpServletRequest request
+			) {
+		
+		var exportFormat = ExportFormat.negotiate(format, accept);
+		AsyncRequestTimeout.set(request, exportTimeout);
+		return ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType())
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books." + exportFormat.getExtension() + "\"")
+				.body(service.export(exportFormat));
+	}
+	
 	@GetMapping(value = "{id}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
 			MediaType.APPLICATION_YML })
 	@Operation(summary = "Finds a Book", description = "Finds a Book", 
@@ -48,11 +93,14 @@ public class BookController {
 			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
 			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
 			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
 			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
 			}
 	)
-	public BookVO findById(@PathVariable(value = "id") Long id) {
-		return service.findById(id);
+	public ResponseEntity<BookVO> findById(@PathVariable(value = "id") Long id) {
+		// Answered with 304 when If-None-Match carries the ETag of the negotiated representation, see VersionETagAdvice
+		var book = service.findById(id);
+		return ResponseEntity.ok().eTag(VersionETag.of(book.getVersion())).body(book);
 	}
 
 	@GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
@@ -75,13 +123,24 @@ public class BookController {
 	public ResponseEntity<PagedModel<EntityModel<BookVO>>> findAll(
 			@RequestParam(value = "page", defaultValue = "0") Integer page,
 			@RequestParam(value = "size", defaultValue = "12") Integer size,
-			@RequestParam(value = "direction", defaultValue = "asc") String direction
+			@RequestParam(value = "direction", defaultValue = "asc") String direction,
+			@RequestParam(value = "after", required = false) String after,
+			@RequestParam(value = "before", required = false) String before,
+			@RequestParam(value = "count", defaultValue = "exact") String count
 			) {
-
-				var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC : Direction.ASC;
-	    
-				Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "title"));
-				return ResponseEntity.ok(service.findAll(pageable));
+		
+		var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC : Direction.ASC;
+		
+		// Keyset mode: "after=" (empty) starts from the first page, and no count query runs
+		if (after != null || before != null)
+			return ResponseEntity.ok(service.findAllByCursor(after, before, size, sortDirection));
+		
+		// "count=cached" reuses a recent total, "count=none" skips it and only tells if there is a next page
+		var countMode = CountMode.from(count);
+		Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "title"));
+		return ResponseEntity.ok()
+				.header(CountMode.HEADER, countMode.toParam())
+				.body(service.findAll(pageable, countMode));
 	}
 
 	@PostMapping(consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
@@ -102,6 +161,60 @@ public class BookController {
 		return service.create(book);
 	}
 
+	@PostMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+					MediaType.APPLICATION_YML })
+	@Operation(summary = "Adds many Books", description = "Adds many Books in JDBC batches, reporting the result of each one!",
+	tags = {"Book"},
+	responses = {
+			@ApiResponse(description = "Sucess", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = BatchResultVO.class))
+			),
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			}
+	)
+	public BatchResultVO createBatch(@RequestBody List<BookVO> books) {
+		return batchService.create(books);
+	}
+	
+	@PutMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+					MediaType.APPLICATION_YML })
+	@Operation(summary = "Updates many Books", description = "Updates many Books in JDBC batches, reporting the result of each one!",
+	tags = {"Book"},
+	responses = {
+			@ApiResponse(description = "Sucess", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = BatchResultVO.class))
+			),
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			}
+	)
+	public BatchResultVO updateBatch(@RequestBody List<BookVO> books) {
+		return batchService.update(books);
+	}
+	
+	@DeleteMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+					MediaType.APPLICATION_YML })
+	@Operation(summary = "Deletes many Books", description = "Deletes many Books by passing in their IDs, reporting the result of each one!",
+	tags = {"Book"},
+	responses = {
+			@ApiResponse(description = "Sucess", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = BatchResultVO.class))
+			),
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			}
+	)
+	public BatchResultVO deleteBatch(@RequestBody List<Long> ids) {
+		return batchService.delete(ids);
+	}
+	
 	@PutMapping(consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
 			MediaType.APPLICATION_YML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
 					MediaType.APPLICATION_YML })
@@ -112,14 +225,24 @@ public class BookController {
 		@ApiResponse(description = "Updated", responseCode = "200",
 			content = @Content(schema = @Schema(implementation = BookVO.class))
 		),
+		@ApiResponse(description = "No Content", responseCode = "204", content = @Content),
 		@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
 		@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
 		@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+		@ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content),
 		@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
 		}
 	)
-	public BookVO update(@RequestBody BookVO book) {
-		return service.update(book);
+	public ResponseEntity<BookVO> update(@RequestBody BookVO book,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			@RequestHeader(value = Prefer.HEADER, required = false) String prefer) {
+		var expectedVersion = VersionETag.expectedVersion(ifMatch, () -> service.findById(book.getKey()).getVersion());
+		if (Prefer.returnMinimal(prefer)) {
+			service.update(book, expectedVersion, false);
+			return ResponseEntity.noContent().header(Prefer.APPLIED_HEADER, Prefer.RETURN_MINIMAL).build();
+		}
+		var updated = service.update(book, expectedVersion, true);
+		return ResponseEntity.ok().eTag(VersionETag.of(updated.getVersion())).body(updated);
 	}
 
 	@DeleteMapping(value = "{id}")
@@ -131,11 +254,13 @@ public class BookController {
 		@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
 		@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
 		@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+		@ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content),
 		@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
 		}
 	)
-	public ResponseEntity<?> delete(@PathVariable(value = "id") Long id) {
-		service.delete(id);
+	public ResponseEntity<?> delete(@PathVariable(value = "id") Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		service.delete(id, VersionETag.expectedVersion(ifMatch, () -> service.findById(id).getVersion()));
 		return ResponseEntity.noContent().build();
 	}
 
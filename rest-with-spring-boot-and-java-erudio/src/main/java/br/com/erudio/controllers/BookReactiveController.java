@@ -0,0 +1,148 @@
+package br.com.erudio.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.services.BookReactiveServices;
+import br.com.erudio.util.MediaType;
+import br.com.erudio.util.VersionETag;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking variant of BookController: JSON, XML and YML listings are collected by Spring MVC, NDJSON streams row by row
+@RestController
+@RequestMapping("/api/book/v2")
+@Tag(name = "Book v2", description = "Non-blocking Endpoints for Managing Book")
+public class BookReactiveController {
+	
+	@Autowired
+	private BookReactiveServices service;
+	
+	@GetMapping(value = "{id}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML })
+	@Operation(summary = "Finds a Book", description = "Finds a Book", 
+	tags = {"Book v2"},
+	responses = {
+			@ApiResponse(description = "Sucess", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = BookVO.class))
+			), 
+			@ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			}
+	)
+	public Mono<ResponseEntity<BookVO>> findById(@PathVariable(value = "id") Long id) {
+		return service.findById(id)
+				.map(book -> ResponseEntity.ok().eTag(VersionETag.of(book.getVersion())).body(book));
+	}
+	
+	@GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML,
+			MediaType.APPLICATION_NDJSON })
+	@Operation(summary = "Finds all Books", description = "Finds all Books, streamed one per line as NDJSON", 
+		tags = {"Book v2"},
+		responses = {
+				@ApiResponse(description = "Sucess", responseCode = "200",
+						content = {
+								@Content(
+										mediaType = "application/json", 
+										array = @ArraySchema(schema = @Schema(implementation = BookVO.class))
+										)
+								}), 
+				@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+				}
+	)
+	public Flux<BookVO> findAll(
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "size", defaultValue = "12") Integer size,
+			@RequestParam(value = "direction", defaultValue = "asc") String direction
+			) {
+		
+		var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC : Direction.ASC;
+		return service.findAll(PageRequest.of(page, size), sortDirection);
+	}
+	
+	@PostMapping(consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+					MediaType.APPLICATION_YML })
+	@Operation(summary = "Adds a new Book", description = "Adds a new Book by passing in a JSON, XML or YML representation of the book!", 
+	tags = {"Book v2"},
+	responses = {
+			@ApiResponse(description = "Sucess", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = BookVO.class))
+			), 
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			}
+	)
+	public Mono<BookVO> create(@RequestBody BookVO book) {
+		return service.create(book);
+	}
+	
+	@PutMapping(consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+					MediaType.APPLICATION_YML })
+	@Operation(summary = "Updates a Book",
+	description = "Updates a Book by passing in a JSON, XML or YML representation of the book!",
+	tags = {"Book v2"},
+	responses = {
+		@ApiResponse(description = "Updated", responseCode = "200",
+			content = @Content(schema = @Schema(implementation = BookVO.class))
+		),
+		@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+		@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+		@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+		@ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content),
+		@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+		}
+	)
+	public Mono<ResponseEntity<BookVO>> update(@RequestBody BookVO book,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		return VersionETag.expectedVersion(ifMatch,
+				Mono.defer(() -> service.findById(book.getKey())).map(BookVO::getVersion))
+				.flatMap(expected -> service.update(book, expected.orElse(null)))
+				.map(updated -> ResponseEntity.ok().eTag(VersionETag.of(updated.getVersion())).body(updated));
+	}
+	
+	@DeleteMapping(value = "{id}")
+	@Operation(summary = "Deletes a Book",
+	description = "Deletes a Book by its ID!",
+	tags = {"Book v2"},
+	responses = {
+		@ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+		@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+		@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+		@ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content),
+		@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+		}
+	)
+	public Mono<ResponseEntity<Void>> delete(@PathVariable(value = "id") Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		return VersionETag.expectedVersion(ifMatch,
+				Mono.defer(() -> service.findById(id)).map(BookVO::getVersion))
+				.flatMap(expected -> service.delete(id, expected.orElse(null)))
+				.then(Mono.fromSupplier(() -> ResponseEntity.noContent().<Void>build()));
+	}
+}
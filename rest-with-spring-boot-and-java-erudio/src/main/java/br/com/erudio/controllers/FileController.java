@@ -1,18 +1,22 @@
 package br.com.erudio.controllers;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -20,9 +24,18 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import br.com.erudio.data.vo.v1.UploadFileResponseVO;
+import br.com.erudio.files.FileSender;
+import br.com.erudio.files.FileUploadExecutor;
+import br.com.erudio.files.StoredFile;
 import br.com.erudio.services.FileStorageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @Tag(name = "File Endpoint")
 @RestController
@@ -34,55 +47,141 @@ public class FileController {
 	@Autowired
 	private FileStorageService service;
 	
+	@Autowired
+	private FileSender sender;
+	
+	@Autowired
+	private FileUploadExecutor uploads;
+	
 	@PostMapping("/uploadFile")
+	@Operation(summary = "Uploads a file from a multipart form",
+		description = "Kept for form clients. The servlet container spools multipart bodies to disk before this runs, "
+			+ "so large files are better sent to PUT /uploadFile/{filename}, which streams them once",
+		tags = {"File Endpoint"},
+		responses = {
+			@ApiResponse(description = "Success", responseCode = "200",
+				content = @Content(schema = @Schema(implementation = UploadFileResponseVO.class))),
+			@ApiResponse(description = "Payload Too Large", responseCode = "413", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+		}
+	)
 	public UploadFileResponseVO uploadFile(@RequestParam("file") MultipartFile file) {
 		logger.info("Storing file to disk");
 		
-		var filename = service.storeFile(file);
-		String fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
-			.path("/api/file/v1/downloadFile/")
-			.path(filename)
-			.toUriString();
+		StoredFile stored = service.storeFile(file);
+		return toResponse(stored, file.getContentType());
+	}
+	
+	@PutMapping(value = "/uploadFile/{filename:.+}", consumes = MediaType.ALL_VALUE)
+	@Operation(summary = "Uploads a file from the raw request body",
+		description = "Streams the request body straight into the upload directory, "
+			+ "without the multipart spooling, and reports its SHA-256 and throughput",
+		tags = {"File Endpoint"},
+		responses = {
+			@ApiResponse(description = "Success", responseCode = "200",
+				content = @Content(schema = @Schema(implementation = UploadFileResponseVO.class))),
+			@ApiResponse(description = "Payload Too Large", responseCode = "413", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+		}
+	)
+	public UploadFileResponseVO uploadFile(
+		@PathVariable String filename, HttpServletRequest request) throws IOException {
+		logger.info("Streaming file to disk");
 		
-		return
-			new UploadFileResponseVO(
-				filename, fileDownloadUri, file.getContentType(), file.getSize());
+		StoredFile stored = service.storeFile(filename, request.getInputStream());
+		return toResponse(stored, request.getContentType());
 	}
 	
 	@PostMapping("/uploadMultipleFiles")
-	public List<UploadFileResponseVO> uploadMultipleFiles(
+	@Operation(summary = "Uploads a batch of files",
+		description = "Stores the files concurrently on a bounded pool. Each file succeeds or fails on its own, "
+			+ "the results keep the request order and the batch duration is sent in the Server-Timing header",
+		tags = {"File Endpoint"},
+		responses = {
+			@ApiResponse(description = "Success", responseCode = "200",
+				content = @Content(array = @ArraySchema(schema = @Schema(implementation = UploadFileResponseVO.class)))),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+		}
+	)
+	public ResponseEntity<List<UploadFileResponseVO>> uploadMultipleFiles(
 		@RequestParam("files") MultipartFile[] files) {
 		logger.info("Storing files to disk");
 		
-		return Arrays.asList(files)
-			.stream()
-			.map(file -> uploadFile(file))
-			.collect(Collectors.toList());
+		long start = System.nanoTime();
+		List<CompletableFuture<StoredFile>> pending = uploads.submitAll(Arrays.asList(files), service::storeFile);
+		
+		List<UploadFileResponseVO> responses = new ArrayList<>(files.length);
+		for (int i = 0; i < files.length; i++) {
+			try {
+				responses.add(toResponse(pending.get(i).join(), files[i].getContentType()));
+			} catch (CompletionException e) {
+				var failed = new UploadFileResponseVO(
+					files[i].getOriginalFilename(), null, files[i].getContentType(), files[i].getSize());
+				failed.setError(e.getCause().getMessage());
+				responses.add(failed);
+			}
+		}
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		logger.info("Stored a batch of " + files.length + " files in " + elapsed + "ms");
+		
+		return ResponseEntity.ok()
+			.header("Server-Timing", "batch;desc=\"" + files.length + " files\";dur=" + elapsed)
+			.body(responses);
 	}
 	
 	//MY_file.txt
 	@GetMapping("/downloadFile/{filename:.+}")
-	public ResponseEntity<Resource> downloadFile(
-		@PathVariable String filename, HttpServletRequest request) {
+	@Operation(summary = "Downloads a file",
+		description = "Downloads a file, honoring Range, If-Range, If-None-Match and If-Modified-Since",
+		tags = {"File Endpoint"},
+		responses = {
+			@ApiResponse(description = "Success", responseCode = "200", content = @Content),
+			@ApiResponse(description = "Partial Content", responseCode = "206", content = @Content),
+			@ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
+			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Range Not Satisfiable", responseCode = "416", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+		}
+	)
+	public void downloadFile(
+		@PathVariable String filename, HttpServletRequest request, HttpServletResponse response) throws IOException {
 		
 		logger.info("Reading a file on disk");
 		
-		Resource resource = service.loadFileAsResource(filename);
-		String contentType = "";
-		
-		try {
-			contentType = request.getServletContext().getMimeType(resource.getFile().getAbsolutePath());
-		} catch (Exception e) {
-			logger.info("Could not determine file type!");
+		StoredFile file = service.loadFile(filename);
+		sender.send(file, request, response);
+	}
+	
+	@DeleteMapping("/deleteFile/{filename:.+}")
+	@Operation(summary = "Deletes a file",
+		description = "Removes the name from the file index, its content is reclaimed once no other name references it",
+		tags = {"File Endpoint"},
+		responses = {
+			@ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
 		}
+	)
+	public ResponseEntity<?> deleteFile(@PathVariable String filename) {
+		logger.info("Deleting a file");
 		
-		if (contentType.isBlank()) contentType = "application/octet-stream";
+		service.deleteFile(filename);
+		return ResponseEntity.noContent().build();
+	}
+	
+	private UploadFileResponseVO toResponse(StoredFile stored, String contentType) {
+		String fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+			.path("/api/file/v1/downloadFile/")
+			.path(stored.getFilename())
+			.toUriString();
+		if (contentType == null || contentType.isBlank()) {
+			contentType = sender.contentType(stored.getFilename()).toString();
+		}
 		
-		return ResponseEntity.ok()
-			.contentType(MediaType.parseMediaType(contentType))
-			.header(
-				HttpHeaders.CONTENT_DISPOSITION,
-				"attachment; filename=\"" + resource.getFilename() + "\"")
-			.body(resource);
+		var response = new UploadFileResponseVO(
+			stored.getFilename(), fileDownloadUri, contentType, stored.getSize());
+		response.setChecksum(stored.getChecksum());
+		response.setBytesPerSecond(stored.getBytesPerSecond());
+		return response;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package br.com.erudio.controllers;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.erudio.data.vo.v1.security.PasswordHashCalibrationVO;
+import br.com.erudio.services.PasswordHashCalibrationService;
+import br.com.erudio.util.MediaType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/security/v1/password-hash")
+@Tag(name = "Password Hash", description = "Endpoints for tuning the password hashing cost")
+public class PasswordHashController {
+
+	@Autowired
+	private PasswordHashCalibrationService service;
+	
+	@GetMapping(value = "/calibration", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML })
+	@Operation(summary = "Measures the hash time on this host and suggests PBKDF2 iterations for a target latency",
+	description = "Measures the hash time on this host and suggests PBKDF2 iterations for a target latency of up to 1000ms. "
+			+ "Apply the suggestion under a new encoder id, changing the iterations of an existing id breaks its stored hashes. "
+			+ "Only one calibration runs at a time. Restricted to ADMIN users",
+	tags = {"Password Hash"},
+	responses = {
+			@ApiResponse(description = "Success", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = PasswordHashCalibrationVO.class))
+			),
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Forbidden", responseCode = "403", content = @Content),
+			@ApiResponse(description = "Too Many Requests", responseCode = "429", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			}
+	)
+	public CompletableFuture<PasswordHashCalibrationVO> calibrate(
+			@RequestParam(value = "targetMillis", defaultValue = "250") Long targetMillis) {
+		return service.calibrate(targetMillis);
+	}
+}
@@ -1,12 +1,17 @@
 package br.com.erudio.controllers;
 
+import java.time.Duration;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,19 +21,29 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.data.vo.v1.batch.BatchResultVO;
+import br.com.erudio.exports.ExportFormat;
+import br.com.erudio.services.PersonBatchServices;
 import br.com.erudio.services.PersonServices;
+import br.com.erudio.util.AsyncRequestTimeout;
+import br.com.erudio.util.CountMode;
 import br.com.erudio.util.MediaType;
+import br.com.erudio.util.Prefer;
+import br.com.erudio.util.VersionETag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 
 //@CrossOrigin
 @RestController
@@ -39,6 +54,36 @@ public class PersonController {
 	@Autowired
 	private PersonServices service;
 	
+	@Autowired
+	private PersonBatchServices batchService;
+	
+	@Value("${batch.export-timeout:1h}")
+	private Duration exportTimeout;
+	
+	@GetMapping("/export")
+	@Operation(summary = "Exports all People", description = "Streams every person as JSON Lines, CSV or XML, without paging! "
+			+ "The format parameter picks the format, otherwise the Accept header does, and JSON Lines is the default",
+	tags = {"People"},
+	responses = {
+			@ApiResponse(description = "Success", responseCode = "200", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+	}
+			)
+	public ResponseEntity<StreamingResponseBody> export(
+			@RequestParam(value = "format", required = false) String format,
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+			HttpServletRequest request
+			) {
+		
+		var exportFormat = ExportFormat.negotiate(format, accept);
+		AsyncRequestTimeout.set(request, exportTimeout);
+		return ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType())
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"people." + exportFormat.getExtension() + "\"")
+				.body(service.export(exportFormat));
+	}
+	
 	@CrossOrigin(origins = "http://localhost:8080")
 	@GetMapping(value = "{id}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
 			MediaType.APPLICATION_YML })
@@ -52,11 +97,14 @@ public class PersonController {
 			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
 			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
 			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
 			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
 			}
 	)
-	public PersonVO findById(@PathVariable(value = "id") Long id) {
-		return service.findById(id);
+	public ResponseEntity<PersonVO> findById(@PathVariable(value = "id") Long id) {
+		// Answered with 304 when If-None-Match carries the ETag of the negotiated representation, see VersionETagAdvice
+		var person = service.findById(id);
+		return ResponseEntity.ok().eTag(VersionETag.of(person.getVersion())).body(person);
 	}
 
 	@GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
@@ -79,13 +127,24 @@ public class PersonController {
 	public ResponseEntity<PagedModel<EntityModel<PersonVO>>> findAll(
 			@RequestParam(value = "page", defaultValue = "0") Integer page,
 			@RequestParam(value = "size", defaultValue = "12") Integer size,
-			@RequestParam(value = "direction", defaultValue = "asc") String direction
+			@RequestParam(value = "direction", defaultValue = "asc") String direction,
+			@RequestParam(value = "after", required = false) String after,
+			@RequestParam(value = "before", required = false) String before,
+			@RequestParam(value = "count", defaultValue = "exact") String count
 			) {
 		
 		var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC : Direction.ASC;
 		
+		// Keyset mode: "after=" (empty) starts from the first page, and no count query runs
+		if (after != null || before != null)
+			return ResponseEntity.ok(service.findAllByCursor(after, before, size, sortDirection));
+		
+		// "count=cached" reuses a recent total, "count=none" skips it and only tells if there is a next page
+		var countMode = CountMode.from(count);
 		Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "firstName"));
-		return ResponseEntity.ok(service.findAll(pageable));
+		return ResponseEntity.ok()
+				.header(CountMode.HEADER, countMode.toParam())
+				.body(service.findAll(pageable, countMode));
 	}
 	
 	@GetMapping(value = "/findPersonByName/{firstName}",
@@ -110,14 +169,47 @@ public class PersonController {
 			@PathVariable(value = "firstName") String firstName,
 			@RequestParam(value = "page", defaultValue = "0") Integer page,
 			@RequestParam(value = "size", defaultValue = "12") Integer size,
-			@RequestParam(value = "direction", defaultValue = "asc") String direction
+			@RequestParam(value = "direction", defaultValue = "asc") String direction,
+			@RequestParam(value = "count", defaultValue = "exact") String count
 			) {
 		
 		var sortDirection = "desc".equalsIgnoreCase(direction)
 				? Direction.DESC : Direction.ASC;
 		
+		// A filtered total can't be shared between searches, so only "none" changes anything here
+		var countMode = CountMode.from(count) == CountMode.NONE ? CountMode.NONE : CountMode.EXACT;
 		Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "firstName"));
-		return ResponseEntity.ok(service.findPersonByName(firstName, pageable));
+		return ResponseEntity.ok()
+				.header(CountMode.HEADER, countMode.toParam())
+				.body(service.findPersonByName(firstName, pageable, countMode));
+	}
+	
+	@GetMapping(value = "/search",
+			produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
+	@Operation(summary = "Searches People", description = "Ranked search over first name, last name and address, served from memory",
+	tags = {"People"},
+	responses = {
+			@ApiResponse(description = "Success", responseCode = "200",
+					content = {
+							@Content(
+									mediaType = "application/json",
+									array = @ArraySchema(schema = @Schema(implementation = PersonVO.class))
+									)
+			}),
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+	}
+			)
+	public ResponseEntity<PagedModel<EntityModel<PersonVO>>> search(
+			@RequestParam(value = "q") String query,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "size", defaultValue = "12") Integer size
+			) {
+		
+		// Results come ranked, so there is no sort direction here
+		Pageable pageable = PageRequest.of(page, size);
+		return ResponseEntity.ok(service.search(query, pageable));
 	}
 	
 	@CrossOrigin(origins = {"http://localhost:8080", "https://erudio.com.br"})
@@ -139,6 +231,60 @@ public class PersonController {
 		return service.create(person);
 	}
 
+	@PostMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+					MediaType.APPLICATION_YML })
+	@Operation(summary = "Adds many People", description = "Adds many People in JDBC batches, reporting the result of each one!",
+	tags = {"People"},
+	responses = {
+			@ApiResponse(description = "Sucess", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = BatchResultVO.class))
+			),
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			}
+	)
+	public BatchResultVO createBatch(@RequestBody List<PersonVO> people) {
+		return batchService.create(people);
+	}
+	
+	@PutMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+					MediaType.APPLICATION_YML })
+	@Operation(summary = "Updates many People", description = "Updates many People in JDBC batches, reporting the result of each one!",
+	tags = {"People"},
+	responses = {
+			@ApiResponse(description = "Sucess", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = BatchResultVO.class))
+			),
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			}
+	)
+	public BatchResultVO updateBatch(@RequestBody List<PersonVO> people) {
+		return batchService.update(people);
+	}
+	
+	@DeleteMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+					MediaType.APPLICATION_YML })
+	@Operation(summary = "Deletes many People", description = "Deletes many People by passing in their IDs, reporting the result of each one!",
+	tags = {"People"},
+	responses = {
+			@ApiResponse(description = "Sucess", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = BatchResultVO.class))
+			),
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			}
+	)
+	public BatchResultVO deleteBatch(@RequestBody List<Long> ids) {
+		return batchService.delete(ids);
+	}
+	
 	@PutMapping(consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
 			MediaType.APPLICATION_YML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
 					MediaType.APPLICATION_YML })
@@ -149,14 +295,24 @@ public class PersonController {
 		@ApiResponse(description = "Updated", responseCode = "200",
 			content = @Content(schema = @Schema(implementation = PersonVO.class))
 		),
+		@ApiResponse(description = "No Content", responseCode = "204", content = @Content),
 		@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
 		@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
 		@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+		@ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content),
 		@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
 		}
 	)
-	public PersonVO update(@RequestBody PersonVO person) {
-		return service.update(person);
+	public ResponseEntity<PersonVO> update(@RequestBody PersonVO person,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			@RequestHeader(value = Prefer.HEADER, required = false) String prefer) {
+		var expectedVersion = VersionETag.expectedVersion(ifMatch, () -> service.findById(person.getKey()).getVersion());
+		if (Prefer.returnMinimal(prefer)) {
+			service.update(person, expectedVersion, false);
+			return ResponseEntity.noContent().header(Prefer.APPLIED_HEADER, Prefer.RETURN_MINIMAL).build();
+		}
+		var updated = service.update(person, expectedVersion, true);
+		return ResponseEntity.ok().eTag(VersionETag.of(updated.getVersion())).body(updated);
 	}
 	
 	@PatchMapping(value = "/{id}",
@@ -171,11 +327,20 @@ public class PersonController {
 				@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
 				@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
 				@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+				@ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content),
 				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
 			}
 		)
-		public PersonVO disablePerson(@PathVariable(value = "id") Long id) {
-			return service.disablePerson(id);
+		public ResponseEntity<PersonVO> disablePerson(@PathVariable(value = "id") Long id,
+				@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+				@RequestHeader(value = Prefer.HEADER, required = false) String prefer) {
+			var expectedVersion = VersionETag.expectedVersion(ifMatch, () -> service.findById(id).getVersion());
+			if (Prefer.returnMinimal(prefer)) {
+				service.disablePerson(id, expectedVersion, false);
+				return ResponseEntity.noContent().header(Prefer.APPLIED_HEADER, Prefer.RETURN_MINIMAL).build();
+			}
+			var disabled = service.disablePerson(id, expectedVersion, true);
+			return ResponseEntity.ok().eTag(VersionETag.of(disabled.getVersion())).body(disabled);
 		}
 
 	@DeleteMapping(value = "{id}")
@@ -187,11 +352,13 @@ public class PersonController {
 		@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
 		@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
 		@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+		@ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content),
 		@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
 		}
 	)
-	public ResponseEntity<?> delete(@PathVariable(value = "id") Long id) {
-		service.delete(id);
+	public ResponseEntity<?> delete(@PathVariable(value = "id") Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		service.delete(id, VersionETag.expectedVersion(ifMatch, () -> service.findById(id).getVersion()));
 		return ResponseEntity.noContent().build();
 	}
 
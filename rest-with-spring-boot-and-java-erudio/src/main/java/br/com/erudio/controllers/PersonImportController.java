@@ -0,0 +1,111 @@
+package br.com.erudio.controllers;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.data.vo.v1.imports.ImportJobVO;
+import br.com.erudio.imports.ImportFormat;
+import br.com.erudio.services.PersonImportServices;
+import br.com.erudio.util.MediaType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/api/person/v1/import")
+@Tag(name = "People Import", description = "Endpoints for Importing People in Bulk")
+public class PersonImportController {
+
+	@Autowired
+	private PersonImportServices service;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@PostMapping(consumes = { MediaType.APPLICATION_NDJSON, MediaType.TEXT_CSV },
+			produces = MediaType.APPLICATION_JSON)
+	@Operation(summary = "Imports People from a NDJSON or CSV stream",
+	description = "Imports People from a NDJSON or CSV request body, read and written in chunks as it arrives. "
+			+ "The job is answered with its Location before the body is read, poll it for the progress; "
+			+ "the upload waits for its turn when other imports are running. "
+			+ "CSV follows RFC 4180, quoted values may contain commas, quotes and line breaks!",
+	tags = {"People Import"},
+	responses = {
+			@ApiResponse(description = "Accepted", responseCode = "202",
+					content = @Content(schema = @Schema(implementation = ImportJobVO.class))
+			),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Unsupported Media Type", responseCode = "415", content = @Content),
+			@ApiResponse(description = "Too Many Requests", responseCode = "429", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			}
+	)
+	public void importPeople(
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+			InputStream body, HttpServletResponse response) {
+		var jobs = linkTo(PersonImportController.class);
+		// The response is sent before the body is read, the request thread then imports it
+		service.importPeople(body, ImportFormat.fromContentType(contentType), job -> {
+			try {
+				response.setStatus(HttpStatus.ACCEPTED.value());
+				response.setHeader(HttpHeaders.LOCATION, jobs.slash(job.getId()).toUri().toString());
+				response.setContentType(MediaType.APPLICATION_JSON);
+				response.getOutputStream().write(objectMapper.writeValueAsBytes(job));
+				response.flushBuffer();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Could not answer the import!", e);
+			}
+		});
+	}
+	
+	@GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
+	@Operation(summary = "Finds the recent imports", description = "Finds the recent imports, running ones included",
+	tags = {"People Import"},
+	responses = {
+			@ApiResponse(description = "Sucess", responseCode = "200",
+					content = @Content(array = @ArraySchema(schema = @Schema(implementation = ImportJobVO.class)))
+			),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			}
+	)
+	public List<ImportJobVO> findAll() {
+		return service.findAllJobs();
+	}
+	
+	@GetMapping(value = "/{id}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
+	@Operation(summary = "Finds the progress of an import", description = "Finds the progress of an import by its job ID",
+	tags = {"People Import"},
+	responses = {
+			@ApiResponse(description = "Sucess", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = ImportJobVO.class))
+			),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			}
+	)
+	public ImportJobVO findById(@PathVariable(value = "id") String id) {
+		return service.findJob(id);
+	}
+}
@@ -0,0 +1,199 @@
+package br.com.erudio.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.services.PersonReactiveServices;
+import br.com.erudio.util.MediaType;
+import br.com.erudio.util.VersionETag;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking variant of PersonController: JSON, XML and YML listings are collected by Spring MVC, NDJSON streams row by row
+@RestController
+@RequestMapping("/api/person/v2")
+@Tag(name = "People v2", description = "Non-blocking Endpoints for Managing People")
+public class PersonReactiveController {
+	
+	@Autowired
+	private PersonReactiveServices service;
+	
+	@GetMapping(value = "{id}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML })
+	@Operation(summary = "Finds a Person", description = "Finds a Person", 
+	tags = {"People v2"},
+	responses = {
+			@ApiResponse(description = "Sucess", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = PersonVO.class))
+			), 
+			@ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			}
+	)
+	public Mono<ResponseEntity<PersonVO>> findById(@PathVariable(value = "id") Long id) {
+		return service.findById(id)
+				.map(person -> ResponseEntity.ok().eTag(VersionETag.of(person.getVersion())).body(person));
+	}
+	
+	@GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML,
+			MediaType.APPLICATION_NDJSON })
+	@Operation(summary = "Finds all People", description = "Finds all People, streamed one per line as NDJSON", 
+		tags = {"People v2"},
+		responses = {
+				@ApiResponse(description = "Sucess", responseCode = "200",
+						content = {
+								@Content(
+										mediaType = "application/json", 
+										array = @ArraySchema(schema = @Schema(implementation = PersonVO.class))
+										)
+								}), 
+				@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+				}
+	)
+	public Flux<PersonVO> findAll(
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "size", defaultValue = "12") Integer size,
+			@RequestParam(value = "direction", defaultValue = "asc") String direction
+			) {
+		
+		var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC : Direction.ASC;
+		return service.findAll(PageRequest.of(page, size), sortDirection);
+	}
+	
+	@GetMapping(value = "/findPersonByName/{firstName}",
+			produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML,
+					MediaType.APPLICATION_NDJSON })
+	@Operation(summary = "Finds People by name", description = "Finds People by name, streamed one per line as NDJSON",
+		tags = {"People v2"},
+		responses = {
+				@ApiResponse(description = "Sucess", responseCode = "200",
+						content = {
+								@Content(
+										mediaType = "application/json", 
+										array = @ArraySchema(schema = @Schema(implementation = PersonVO.class))
+										)
+								}), 
+				@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+				}
+	)
+	public Flux<PersonVO> findPersonByName(
+			@PathVariable(value = "firstName") String firstName,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "size", defaultValue = "12") Integer size,
+			@RequestParam(value = "direction", defaultValue = "asc") String direction
+			) {
+		
+		var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC : Direction.ASC;
+		return service.findPersonByName(firstName, PageRequest.of(page, size), sortDirection);
+	}
+	
+	@PostMapping(consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+					MediaType.APPLICATION_YML })
+	@Operation(summary = "Adds a new Person", description = "Adds a new Person by passing in a JSON, XML or YML representation of the person!", 
+	tags = {"People v2"},
+	responses = {
+			@ApiResponse(description = "Sucess", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = PersonVO.class))
+			), 
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			}
+	)
+	public Mono<PersonVO> create(@RequestBody PersonVO person) {
+		return service.create(person);
+	}
+	
+	@PutMapping(consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+					MediaType.APPLICATION_YML })
+	@Operation(summary = "Updates a Person",
+	description = "Updates a Person by passing in a JSON, XML or YML representation of the person!",
+	tags = {"People v2"},
+	responses = {
+		@ApiResponse(description = "Updated", responseCode = "200",
+			content = @Content(schema = @Schema(implementation = PersonVO.class))
+		),
+		@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+		@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+		@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+		@ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content),
+		@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+		}
+	)
+	public Mono<ResponseEntity<PersonVO>> update(@RequestBody PersonVO person,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		return VersionETag.expectedVersion(ifMatch,
+				Mono.defer(() -> service.findById(person.getKey())).map(PersonVO::getVersion))
+				.flatMap(expected -> service.update(person, expected.orElse(null)))
+				.map(updated -> ResponseEntity.ok().eTag(VersionETag.of(updated.getVersion())).body(updated));
+	}
+	
+	@PatchMapping(value = "/{id}",
+			produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML  })
+	@Operation(summary = "Disable a specific Person by your ID", description = "Disable a specific Person by your ID",
+		tags = {"People v2"},
+		responses = {
+			@ApiResponse(description = "Success", responseCode = "200",
+				content = @Content(schema = @Schema(implementation = PersonVO.class))
+			),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+		}
+	)
+	public Mono<ResponseEntity<PersonVO>> disablePerson(@PathVariable(value = "id") Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		return VersionETag.expectedVersion(ifMatch,
+				Mono.defer(() -> service.findById(id)).map(PersonVO::getVersion))
+				.flatMap(expected -> service.disablePerson(id, expected.orElse(null)))
+				.map(disabled -> ResponseEntity.ok().eTag(VersionETag.of(disabled.getVersion())).body(disabled));
+	}
+	
+	@DeleteMapping(value = "{id}")
+	@Operation(summary = "Deletes a Person",
+	description = "Deletes a Person by its ID!",
+	tags = {"People v2"},
+	responses = {
+		@ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+		@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+		@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+		@ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content),
+		@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+		}
+	)
+	public Mono<ResponseEntity<Void>> delete(@PathVariable(value = "id") Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		return VersionETag.expectedVersion(ifMatch,
+				Mono.defer(() -> service.findById(id)).map(PersonVO::getVersion))
+				.flatMap(expected -> service.delete(id, expected.orElse(null)))
+				.then(Mono.fromSupplier(() -> ResponseEntity.noContent().<Void>build()));
+	}
+}
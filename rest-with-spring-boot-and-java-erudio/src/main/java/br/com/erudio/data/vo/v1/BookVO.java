@@ -5,9 +5,9 @@ import java.util.Date;
 
 import org.springframework.hateoas.RepresentationModel;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
-import com.github.dozermapper.core.Mapping;
 
 @JsonPropertyOrder({"id", "author", "launchDate", "price", "title"})
 public class BookVO extends RepresentationModel<BookVO> implements Serializable {
@@ -15,13 +15,16 @@ public class BookVO extends RepresentationModel<BookVO> implements Serializable
 	private static final long serialVersionUID = 1L;
 	
 	@JsonProperty("id")
-	@Mapping("id") 
 	private Long key;
 	private String author;
 	private Date launchDate;
 	private Double price;
 	private String title;
 	
+	// Sent as the ETag header, not in the body
+	@JsonIgnore
+	private Long version;
+	
 	public BookVO() {}
 
 	public Long getKey() {
@@ -64,6 +67,14 @@ public class BookVO extends RepresentationModel<BookVO> implements Serializable
 		this.title = title;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -4,9 +4,9 @@ import java.io.Serializable;
 
 import org.springframework.hateoas.RepresentationModel;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
-import com.github.dozermapper.core.Mapping;
 
 @JsonPropertyOrder({"id", "firstName", "lastName", "address", "gender", "enabled"})
 public class PersonVO extends RepresentationModel<PersonVO> implements Serializable {
@@ -14,7 +14,6 @@ public class PersonVO extends RepresentationModel<PersonVO> implements Serializa
 	private static final long serialVersionUID = 1L;
 	
 	@JsonProperty("id")
-	@Mapping("id") // funcionalidade apenas do dozer
 	private Long key;
 	private String firstName;
 	private String lastName;
@@ -22,6 +21,10 @@ public class PersonVO extends RepresentationModel<PersonVO> implements Serializa
 	private String gender;
 	private Boolean enabled;
 
+	// Sent as the ETag header, not in the body
+	@JsonIgnore
+	private Long version;
+	
 	public PersonVO() {}
 
 	public Long getKey() {
@@ -72,6 +75,14 @@ public class PersonVO extends RepresentationModel<PersonVO> implements Serializa
 		this.enabled = enabled;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -2,6 +2,8 @@ package br.com.erudio.data.vo.v1;
 
 import java.io.Serializable;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class UploadFileResponseVO implements Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -10,6 +12,11 @@ public class UploadFileResponseVO implements Serializable {
 	private String fileDownloadUri;
 	private String fileType;
 	private long size;
+	private String checksum;
+	private long bytesPerSecond;
+	// Only set when this file of a batch could not be stored
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String error;
 	
 	public UploadFileResponseVO() {}
 	
@@ -50,4 +57,28 @@ public class UploadFileResponseVO implements Serializable {
 	public void setSize(long size) {
 		this.size = size;
 	}
-}
\ No newline at end of file
+	
+	public String getChecksum() {
+		return checksum;
+	}
+	
+	public void setChecksum(String checksum) {
+		this.checksum = checksum;
+	}
+	
+	public long getBytesPerSecond() {
+		return bytesPerSecond;
+	}
+	
+	public void setBytesPerSecond(long bytesPerSecond) {
+		this.bytesPerSecond = bytesPerSecond;
+	}
+	
+	public String getError() {
+		return error;
+	}
+	
+	public void setError(String error) {
+		this.error = error;
+	}
+}
@@ -0,0 +1,60 @@
+package br.com.erudio.data.vo.v1.batch;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonPropertyOrder({"index", "id", "status", "error"})
+@JsonInclude(Include.NON_NULL)
+public class BatchItemResultVO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private int index;
+	private Long id;
+	private int status;
+	private String error;
+
+	public BatchItemResultVO() {}
+
+	public BatchItemResultVO(int index, Long id, int status, String error) {
+		this.index = index;
+		this.id = id;
+		this.status = status;
+		this.error = error;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public void setIndex(int index) {
+		this.index = index;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public void setStatus(int status) {
+		this.status = status;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+}
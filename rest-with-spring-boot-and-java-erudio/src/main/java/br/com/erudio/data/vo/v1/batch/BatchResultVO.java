@@ -0,0 +1,68 @@
+package br.com.erudio.data.vo.v1.batch;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonPropertyOrder({"total", "succeeded", "failed", "elapsedMillis", "items"})
+public class BatchResultVO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private int total;
+	private int succeeded;
+	private int failed;
+	private long elapsedMillis;
+	private List<BatchItemResultVO> items;
+
+	public BatchResultVO() {}
+
+	public BatchResultVO(List<BatchItemResultVO> items, int successStatus, long elapsedMillis) {
+		this.items = items;
+		this.total = items.size();
+		this.succeeded = (int) items.stream().filter(item -> item.getStatus() == successStatus).count();
+		this.failed = total - succeeded;
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public int getTotal() {
+		return total;
+	}
+
+	public void setTotal(int total) {
+		this.total = total;
+	}
+
+	public int getSucceeded() {
+		return succeeded;
+	}
+
+	public void setSucceeded(int succeeded) {
+		this.succeeded = succeeded;
+	}
+
+	public int getFailed() {
+		return failed;
+	}
+
+	public void setFailed(int failed) {
+		this.failed = failed;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public List<BatchItemResultVO> getItems() {
+		return items;
+	}
+
+	public void setItems(List<BatchItemResultVO> items) {
+		this.items = items;
+	}
+}
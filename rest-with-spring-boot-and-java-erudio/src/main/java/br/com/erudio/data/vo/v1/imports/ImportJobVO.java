@@ -0,0 +1,109 @@
+package br.com.erudio.data.vo.v1.imports;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonPropertyOrder({"id", "format", "status", "rowsRead", "rowsImported", "rowsRejected", "startedAt", "finishedAt", "failure", "errors"})
+@JsonInclude(Include.NON_NULL)
+public class ImportJobVO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private String id;
+	private String format;
+	private String status;
+	private long rowsRead;
+	private long rowsImported;
+	private long rowsRejected;
+	private Date startedAt;
+	private Date finishedAt;
+	private String failure;
+	private List<ImportRowErrorVO> errors;
+
+	public ImportJobVO() {}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public String getFormat() {
+		return format;
+	}
+
+	public void setFormat(String format) {
+		this.format = format;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public long getRowsRead() {
+		return rowsRead;
+	}
+
+	public void setRowsRead(long rowsRead) {
+		this.rowsRead = rowsRead;
+	}
+
+	public long getRowsImported() {
+		return rowsImported;
+	}
+
+	public void setRowsImported(long rowsImported) {
+		this.rowsImported = rowsImported;
+	}
+
+	public long getRowsRejected() {
+		return rowsRejected;
+	}
+
+	public void setRowsRejected(long rowsRejected) {
+		this.rowsRejected = rowsRejected;
+	}
+
+	public Date getStartedAt() {
+		return startedAt;
+	}
+
+	public void setStartedAt(Date startedAt) {
+		this.startedAt = startedAt;
+	}
+
+	public Date getFinishedAt() {
+		return finishedAt;
+	}
+
+	public void setFinishedAt(Date finishedAt) {
+		this.finishedAt = finishedAt;
+	}
+
+	public String getFailure() {
+		return failure;
+	}
+
+	public void setFailure(String failure) {
+		this.failure = failure;
+	}
+
+	public List<ImportRowErrorVO> getErrors() {
+		return errors;
+	}
+
+	public void setErrors(List<ImportRowErrorVO> errors) {
+		this.errors = errors;
+	}
+}
@@ -0,0 +1,34 @@
+package br.com.erudio.data.vo.v1.imports;
+
+import java.io.Serializable;
+
+public class ImportRowErrorVO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private long line;
+	private String error;
+
+	public ImportRowErrorVO() {}
+
+	public ImportRowErrorVO(long line, String error) {
+		this.line = line;
+		this.error = error;
+	}
+
+	public long getLine() {
+		return line;
+	}
+
+	public void setLine(long line) {
+		this.line = line;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+}
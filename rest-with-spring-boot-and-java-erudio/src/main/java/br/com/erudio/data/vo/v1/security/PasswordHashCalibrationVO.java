@@ -0,0 +1,76 @@
+package br.com.erudio.data.vo.v1.security;
+
+import java.io.Serializable;
+
+public class PasswordHashCalibrationVO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private long targetMillis;
+	private String encodingId;
+	private int currentIterations;
+	private double currentMillis;
+	private int suggestedIterations;
+	private double suggestedMillis;
+
+	public PasswordHashCalibrationVO() {
+	}
+
+	public PasswordHashCalibrationVO(long targetMillis, String encodingId, int currentIterations,
+			double currentMillis, int suggestedIterations, double suggestedMillis) {
+		this.targetMillis = targetMillis;
+		this.encodingId = encodingId;
+		this.currentIterations = currentIterations;
+		this.currentMillis = currentMillis;
+		this.suggestedIterations = suggestedIterations;
+		this.suggestedMillis = suggestedMillis;
+	}
+
+	public long getTargetMillis() {
+		return targetMillis;
+	}
+
+	public void setTargetMillis(long targetMillis) {
+		this.targetMillis = targetMillis;
+	}
+
+	public String getEncodingId() {
+		return encodingId;
+	}
+
+	public void setEncodingId(String encodingId) {
+		this.encodingId = encodingId;
+	}
+
+	public int getCurrentIterations() {
+		return currentIterations;
+	}
+
+	public void setCurrentIterations(int currentIterations) {
+		this.currentIterations = currentIterations;
+	}
+
+	public double getCurrentMillis() {
+		return currentMillis;
+	}
+
+	public void setCurrentMillis(double currentMillis) {
+		this.currentMillis = currentMillis;
+	}
+
+	public int getSuggestedIterations() {
+		return suggestedIterations;
+	}
+
+	public void setSuggestedIterations(int suggestedIterations) {
+		this.suggestedIterations = suggestedIterations;
+	}
+
+	public double getSuggestedMillis() {
+		return suggestedMillis;
+	}
+
+	public void setSuggestedMillis(double suggestedMillis) {
+		this.suggestedMillis = suggestedMillis;
+	}
+}
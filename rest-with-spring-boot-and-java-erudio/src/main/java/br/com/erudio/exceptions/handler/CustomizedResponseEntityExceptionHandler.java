@@ -2,6 +2,7 @@ package br.com.erudio.exceptions.handler;
 
 import java.util.Date;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -11,9 +12,15 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import br.com.erudio.exceptions.ExceptionResponse;
+import br.com.erudio.exceptions.FileTooLargeException;
+import br.com.erudio.exceptions.InvalidCursorException;
 import br.com.erudio.exceptions.InvalidJwtAuthenticationException;
+import br.com.erudio.exceptions.InvalidParameterValueException;
+import br.com.erudio.exceptions.MyFileNotFoundException;
+import br.com.erudio.exceptions.PreconditionFailedException;
 import br.com.erudio.exceptions.RequiredObjectIsNullException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.exceptions.TooManyRequestsException;
 
 @ControllerAdvice // Diz ao Spring que esse é um controller especial e que potencialmente todos os outros controllers irão usar recursos dele
 @RestController  // Diz ao Spring que esse é um controller 
@@ -33,7 +40,7 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
 	}
 	
 	// Intercepta as exceções que nós personalizamos
-	@ExceptionHandler(ResourceNotFoundException.class)
+	@ExceptionHandler({ResourceNotFoundException.class, MyFileNotFoundException.class})
 	public final ResponseEntity<ExceptionResponse> handleNotFoundExceptions(Exception ex, WebRequest request) {
 		
 		// Substitui aquela excessão feia por um JSON
@@ -46,7 +53,8 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
 	}
 
 	// Intercepta as exceções que nós personalizamos
-	@ExceptionHandler(RequiredObjectIsNullException.class)
+	@ExceptionHandler({RequiredObjectIsNullException.class, InvalidCursorException.class,
+		InvalidParameterValueException.class})
 	public final ResponseEntity<ExceptionResponse> handleBadRequestExceptions(Exception ex, WebRequest request) {
 		
 		// Substitui aquela excessão feia por um JSON
@@ -67,4 +75,36 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
 				request.getDescription(false));
 		return new ResponseEntity<>(exceptionResponse, HttpStatus.FORBIDDEN);
 	}
+
+	@ExceptionHandler(PreconditionFailedException.class)
+	public final ResponseEntity<ExceptionResponse> handlePreconditionFailedExceptions(Exception ex, WebRequest request) {
+		
+		ExceptionResponse exceptionResponse = new ExceptionResponse(
+				new Date(),
+				ex.getMessage(),
+				request.getDescription(false));
+		return new ResponseEntity<>(exceptionResponse, HttpStatus.PRECONDITION_FAILED);
+	}
+
+	@ExceptionHandler(TooManyRequestsException.class)
+	public final ResponseEntity<ExceptionResponse> handleTooManyRequestsExceptions(Exception ex, WebRequest request) {
+		
+		ExceptionResponse exceptionResponse = new ExceptionResponse(
+				new Date(),
+				ex.getMessage(),
+				request.getDescription(false));
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body(exceptionResponse);
+	}
+
+	@ExceptionHandler(FileTooLargeException.class)
+	public final ResponseEntity<ExceptionResponse> handleFileTooLargeExceptions(Exception ex, WebRequest request) {
+		
+		ExceptionResponse exceptionResponse = new ExceptionResponse(
+				new Date(),
+				ex.getMessage(),
+				request.getDescription(false));
+		return new ResponseEntity<>(exceptionResponse, HttpStatus.PAYLOAD_TOO_LARGE);
+	}
 }
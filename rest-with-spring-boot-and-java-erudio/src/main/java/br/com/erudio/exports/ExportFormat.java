@@ -0,0 +1,65 @@
+package br.com.erudio.exports;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
+
+public enum ExportFormat {
+
+	JSONL(br.com.erudio.util.MediaType.APPLICATION_NDJSON, "jsonl"),
+	CSV(br.com.erudio.util.MediaType.TEXT_CSV, "csv"),
+	XML(br.com.erudio.util.MediaType.APPLICATION_XML, "xml");
+
+	private final String contentType;
+	private final String extension;
+
+	ExportFormat(String contentType, String extension) {
+		this.contentType = contentType;
+		this.extension = extension;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	// Lenient like the other listing parameters: anything unknown is JSON Lines
+	public static ExportFormat from(String format) {
+		for (ExportFormat value : values()) {
+			if (value.extension.equalsIgnoreCase(format) || value.name().equalsIgnoreCase(format)) return value;
+		}
+		return JSONL;
+	}
+
+	/**
+	 * The format query parameter wins, otherwise the most preferred Accept type
+	 * that is an export format. Anything else, e.g. application/json or a
+	 * malformed header, still gets JSON Lines instead of a 406.
+	 */
+	public static ExportFormat negotiate(String format, String accept) {
+		if (format != null) return from(format);
+		if (accept == null) return JSONL;
+
+		List<MediaType> accepted;
+		try {
+			accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+			MimeTypeUtils.sortBySpecificity(accepted);
+		} catch (InvalidMediaTypeException | InvalidMimeTypeException e) {
+			return JSONL;
+		}
+		for (MediaType mediaType : accepted) {
+			if (mediaType.getQualityValue() == 0) continue;
+			for (ExportFormat value : values()) {
+				if (mediaType.equalsTypeAndSubtype(MediaType.valueOf(value.contentType))) return value;
+			}
+		}
+		return JSONL;
+	}
+}
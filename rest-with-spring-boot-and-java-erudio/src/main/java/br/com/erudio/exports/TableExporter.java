@@ -0,0 +1,246 @@
+package br.com.erudio.exports;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Writes every row of a query straight to an output stream as JSON Lines, CSV
+ * or XML. Rows are streamed from MySQL one at a time and go through no
+ * persistence context, so memory doesn't depend on the size of the table.
+ */
+@Component
+public class TableExporter {
+
+	private Logger logger = Logger.getLogger(TableExporter.class.getName());
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final JsonFactory jsonFactory = new JsonFactory();
+	private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newFactory();
+
+	@Autowired
+	public TableExporter(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		// Connector/J only streams a result set row by row with this fetch size, otherwise it reads it all
+		this.jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+	}
+
+	/**
+	 * @param fields the names the selected columns are exported as, in order
+	 */
+	public void export(String sql, List<String> fields, String rootName, String rowName,
+			ExportFormat format, OutputStream target) throws IOException {
+		var out = new BufferedOutputStream(target, BUFFER_SIZE);
+		var writer = switch (format) {
+			case CSV -> new CsvRowWriter(out, fields);
+			case XML -> new XmlRowWriter(out, fields, rootName, rowName);
+			default -> new JsonLinesRowWriter(out, fields);
+		};
+
+		long rows;
+		try {
+			writer.start();
+			rows = jdbcTemplate.query(sql, rs -> {
+				long count = 0;
+				while (rs.next()) {
+					writer.write(rs);
+					count++;
+				}
+				return count;
+			});
+			writer.end();
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		out.flush();
+		logger.info("Exported " + rows + " " + rootName + " as " + format + "!");
+	}
+
+	private static Object value(ResultSet rs, int column) throws SQLException {
+		Object value = rs.getObject(column);
+		if (value instanceof Timestamp timestamp) return timestamp.toLocalDateTime().toString();
+		if (value instanceof java.sql.Date date) return date.toLocalDate().toString();
+		if (value instanceof java.time.temporal.TemporalAccessor temporal) return temporal.toString();
+		return value;
+	}
+
+	private interface RowWriter {
+
+		void start();
+
+		void write(ResultSet rs) throws SQLException;
+
+		void end();
+	}
+
+	private class JsonLinesRowWriter implements RowWriter {
+
+		private final List<String> fields;
+		private final JsonGenerator json;
+
+		// One generator for the whole stream, the rows are separated by hand instead of by a space
+		JsonLinesRowWriter(OutputStream out, List<String> fields) {
+			this.fields = fields;
+			try {
+				this.json = jsonFactory.createGenerator(out);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			this.json.setRootValueSeparator(null);
+		}
+
+		@Override
+		public void start() {
+		}
+
+		@Override
+		public void write(ResultSet rs) throws SQLException {
+			try {
+				json.writeStartObject();
+				for (int i = 0; i < fields.size(); i++) {
+					json.writeFieldName(fields.get(i));
+					json.writeObject(value(rs, i + 1));
+				}
+				json.writeEndObject();
+				json.writeRaw('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		@Override
+		public void end() {
+			try {
+				json.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	private static class CsvRowWriter implements RowWriter {
+
+		private final OutputStream out;
+		private final List<String> fields;
+
+		CsvRowWriter(OutputStream out, List<String> fields) {
+			this.out = out;
+			this.fields = fields;
+		}
+
+		@Override
+		public void start() {
+			line(fields.toArray());
+		}
+
+		@Override
+		public void write(ResultSet rs) throws SQLException {
+			var values = new Object[fields.size()];
+			for (int i = 0; i < values.length; i++) values[i] = value(rs, i + 1);
+			line(values);
+		}
+
+		@Override
+		public void end() {
+		}
+
+		private void line(Object[] values) {
+			var line = new StringBuilder();
+			for (int i = 0; i < values.length; i++) {
+				if (i > 0) line.append(',');
+				if (values[i] == null) continue;
+				String value = values[i].toString();
+				if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+					line.append('"').append(value.replace("\"", "\"\"")).append('"');
+				} else {
+					line.append(value);
+				}
+			}
+			line.append("\r\n");
+			try {
+				out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	private class XmlRowWriter implements RowWriter {
+
+		private final List<String> fields;
+		private final String rootName;
+		private final String rowName;
+		private final XMLStreamWriter xml;
+
+		XmlRowWriter(OutputStream out, List<String> fields, String rootName, String rowName) {
+			this.fields = fields;
+			this.rootName = rootName;
+			this.rowName = rowName;
+			try {
+				this.xml = xmlOutputFactory.createXMLStreamWriter(out, "UTF-8");
+			} catch (XMLStreamException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public void start() {
+			try {
+				xml.writeStartDocument("UTF-8", "1.0");
+				xml.writeStartElement(rootName);
+			} catch (XMLStreamException e) {
+				throw new UncheckedIOException(new IOException(e));
+			}
+		}
+
+		@Override
+		public void write(ResultSet rs) throws SQLException {
+			try {
+				xml.writeStartElement(rowName);
+				for (int i = 0; i < fields.size(); i++) {
+					Object value = value(rs, i + 1);
+					if (value == null) continue;
+					xml.writeStartElement(fields.get(i));
+					xml.writeCharacters(value.toString());
+					xml.writeEndElement();
+				}
+				xml.writeEndElement();
+			} catch (XMLStreamException e) {
+				throw new UncheckedIOException(new IOException(e));
+			}
+		}
+
+		@Override
+		public void end() {
+			try {
+				xml.writeEndElement();
+				xml.writeEndDocument();
+				xml.flush();
+			} catch (XMLStreamException e) {
+				throw new UncheckedIOException(new IOException(e));
+			}
+		}
+	}
+}
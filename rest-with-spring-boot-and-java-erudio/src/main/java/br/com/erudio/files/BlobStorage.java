@@ -0,0 +1,35 @@
+package br.com.erudio.files;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Where the bytes of the content-addressed store live. Keys are relative,
+ * slash separated paths such as {@code ab/cd/<sha256>}; a blob is never
+ * rewritten once stored, so implementations only need to make {@link #put}
+ * atomic and can serve every read straight from the backend.
+ */
+public interface BlobStorage {
+
+	/**
+	 * Stores the content of the local file under the key. The source may be
+	 * moved away by the implementation; callers delete it if it is still there.
+	 */
+	void put(String key, Path source) throws IOException;
+
+	boolean exists(String key) throws IOException;
+
+	/** Streams {@code count} bytes of the blob starting at {@code start}. */
+	InputStream read(String key, long start, long count) throws IOException;
+
+	void delete(String key) throws IOException;
+
+	/**
+	 * The file holding the blob when it is on this node's disk, so downloads
+	 * can use sendfile, or {@code null} for remote backends.
+	 */
+	default Path localPath(String key) {
+		return null;
+	}
+}
@@ -0,0 +1,94 @@
+package br.com.erudio.files;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.model.FileEntry;
+import br.com.erudio.repositories.FileBlobRepository;
+import br.com.erudio.repositories.FileEntryRepository;
+import jakarta.transaction.Transactional;
+
+/**
+ * Metadata index of the content-addressed store: maps the logical name of a
+ * file to the SHA-256 of its blob and counts how many names reference each blob.
+ */
+@Component
+public class FileIndex {
+
+	@Autowired
+	private FileEntryRepository entries;
+	
+	@Autowired
+	private FileBlobRepository blobs;
+
+	public Optional<FileEntry> find(String name) {
+		return entries.findById(name);
+	}
+
+	/**
+	 * Takes a reference on the blob before its bytes are placed, so no node
+	 * sweeps it as an orphan in the meantime. Waits for a sweep that is
+	 * already deleting it, after which the bytes are gone and placed again.
+	 */
+	@Transactional
+	public void acquire(String sha256, long size) {
+		blobs.acquire(sha256, size);
+	}
+
+	// Gives back a reference taken with acquire that no entry ended up owning
+	@Transactional
+	public void release(String sha256) {
+		blobs.release(sha256);
+	}
+
+	/**
+	 * Points the name at the blob, handing it the reference the caller took
+	 * with {@link #acquire(String, long)}, and releases the one held on the
+	 * blob the name pointed at before, if any.
+	 */
+	@Transactional
+	public FileEntry link(String name, String sha256, long size) {
+		Optional<FileEntry> previous = entries.findForUpdate(name);
+		
+		FileEntry entry = previous.orElseGet(FileEntry::new);
+		String released = entry.getSha256();
+		entry.setName(name);
+		entry.setSha256(sha256);
+		entry.setSize(size);
+		entry.setCreatedAt(new Date());
+		entry = entries.save(entry);
+		
+		if (released != null) blobs.release(released);
+		return entry;
+	}
+
+	@Transactional
+	public boolean unlink(String name) {
+		Optional<FileEntry> entry = entries.findForUpdate(name);
+		if (entry.isEmpty()) return false;
+		
+		entries.delete(entry.get());
+		blobs.release(entry.get().getSha256());
+		return true;
+	}
+
+	public List<String> findOrphans(long gracePeriodMillis, int limit) {
+		return blobs.findOrphans(gracePeriodMillis, limit);
+	}
+
+	/**
+	 * Deletes the bytes and then the row of a blob that is still an orphan,
+	 * holding the row lock throughout, so an upload of the same content on
+	 * any node either keeps it or waits and places it again.
+	 */
+	@Transactional
+	public boolean deleteOrphan(String sha256, long gracePeriodMillis, Runnable deleteBytes) {
+		if (blobs.lockOrphan(sha256, gracePeriodMillis).isEmpty()) return false;
+		deleteBytes.run();
+		return blobs.deleteOrphan(sha256) == 1;
+	}
+}
@@ -0,0 +1,46 @@
+package br.com.erudio.files;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a region of a file with positional reads, so several regions of the
+ * same file can be read at once without sharing a channel position.
+ */
+class FileRegionInputStream extends InputStream {
+
+	private final FileChannel channel;
+	private final long end;
+	private long position;
+
+	FileRegionInputStream(Path file, long start, long count) throws IOException {
+		this.channel = FileChannel.open(file, StandardOpenOption.READ);
+		this.position = start;
+		this.end = start + count;
+	}
+
+	@Override
+	public int read() throws IOException {
+		byte[] single = new byte[1];
+		return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) return 0;
+		if (position >= end) return -1;
+		int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+		if (read < 0) return -1;
+		position += read;
+		return read;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,221 @@
+package br.com.erudio.files;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes a stored file to the response with Range, If-Range and conditional GET
+ * support. A single region of a local file is handed to Tomcat's sendfile so the
+ * bytes never go through the heap; without sendfile, and for multipart/byteranges,
+ * regions are copied with {@link FileChannel#transferTo}.
+ */
+@Component
+public class FileSender {
+
+	static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	private static final String CRLF = "\r\n";
+
+	// Resolved once per extension instead of on every download
+	private final Map<String, MediaType> contentTypes = new ConcurrentHashMap<>();
+
+	public MediaType contentType(String filename) {
+		String extension = StringUtils.getFilenameExtension(filename);
+		if (extension == null) return MediaType.APPLICATION_OCTET_STREAM;
+		return contentTypes.computeIfAbsent(extension.toLowerCase(),
+			e -> MediaTypeFactory.getMediaType("file." + e).orElse(MediaType.APPLICATION_OCTET_STREAM));
+	}
+
+	/**
+	 * Sends a stored file. Its SHA-256, when known, is the ETag; otherwise the
+	 * ETag is derived from its size and modification time. Blobs of a remote
+	 * storage are streamed from ranged reads instead of the local file.
+	 */
+	public void send(StoredFile stored, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		String filename = stored.getFilename();
+		long length = stored.getSize();
+		long lastModified = stored.getLastModified();
+		String eTag = stored.getChecksum() != null
+			? "\"" + stored.getChecksum() + "\""
+			: "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+		MediaType contentType = contentType(filename);
+
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+		response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+			ContentDisposition.attachment().filename(filename, StandardCharsets.UTF_8).build().toString());
+
+		// Sets ETag and Last-Modified, and answers 304 or 412 by itself
+		if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) return;
+
+		List<HttpRange> ranges;
+		try {
+			ranges = ranges(request, eTag, lastModified, length);
+		} catch (IllegalArgumentException e) {
+			response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+			response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+			return;
+		}
+		boolean head = "HEAD".equals(request.getMethod());
+
+		if (ranges.isEmpty()) {
+			response.setStatus(HttpStatus.OK.value());
+			response.setContentType(contentType.toString());
+			response.setContentLengthLong(length);
+			if (!head) sendRegion(stored, 0, length, request, response);
+			return;
+		}
+
+		response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+		if (ranges.size() == 1) {
+			long start = ranges.get(0).getRangeStart(length);
+			long end = ranges.get(0).getRangeEnd(length);
+			response.setContentType(contentType.toString());
+			response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(start, end, length));
+			response.setContentLengthLong(end - start + 1);
+			if (!head) sendRegion(stored, start, end - start + 1, request, response);
+			return;
+		}
+
+		String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+		List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+		long contentLength = 0;
+		for (HttpRange range : ranges) {
+			long start = range.getRangeStart(length);
+			long end = range.getRangeEnd(length);
+			byte[] partHeader = (CRLF + "--" + boundary + CRLF
+				+ HttpHeaders.CONTENT_TYPE + ": " + contentType + CRLF
+				+ HttpHeaders.CONTENT_RANGE + ": " + contentRange(start, end, length) + CRLF
+				+ CRLF).getBytes(StandardCharsets.US_ASCII);
+			partHeaders.add(partHeader);
+			contentLength += partHeader.length + end - start + 1;
+		}
+		byte[] closing = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+		contentLength += closing.length;
+
+		response.setContentType("multipart/byteranges; boundary=" + boundary);
+		response.setContentLengthLong(contentLength);
+		if (head) return;
+
+		OutputStream out = response.getOutputStream();
+		Path file = stored.getPath();
+		try (FileChannel channel = file == null ? null : FileChannel.open(file, StandardOpenOption.READ)) {
+			WritableByteChannel target = Channels.newChannel(out);
+			for (int i = 0; i < ranges.size(); i++) {
+				long start = ranges.get(i).getRangeStart(length);
+				long end = ranges.get(i).getRangeEnd(length);
+				out.write(partHeaders.get(i));
+				if (channel != null) transfer(channel, start, end - start + 1, target);
+				else copy(stored, start, end - start + 1, out);
+			}
+		}
+		out.write(closing);
+	}
+
+	/**
+	 * The ranges to serve, or none when the whole file has to be sent. Throws
+	 * {@link IllegalArgumentException} for an unsatisfiable Range header.
+	 */
+	private List<HttpRange> ranges(HttpServletRequest request, String eTag, long lastModified, long length) {
+		String header = request.getHeader(HttpHeaders.RANGE);
+		if (header == null || !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+			return List.of();
+		}
+		if (!ifRangeMatches(request, eTag, lastModified)) return List.of();
+
+		List<HttpRange> ranges = HttpRange.parseRanges(header);
+		long total = 0;
+		for (HttpRange range : ranges) {
+			long start = range.getRangeStart(length);
+			long end = range.getRangeEnd(length);
+			if (start >= length || start > end) {
+				throw new IllegalArgumentException("Range " + range + " is beyond the file length");
+			}
+			total += end - start + 1;
+		}
+		if (ranges.size() > 1 && total > length) {
+			throw new IllegalArgumentException("The sum of all ranges is greater than the file length");
+		}
+		return ranges;
+	}
+
+	private boolean ifRangeMatches(HttpServletRequest request, String eTag, long lastModified) {
+		String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+		if (ifRange == null) return true;
+		if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) return ifRange.equals(eTag);
+		try {
+			return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	private void sendRegion(StoredFile stored, long start, long count,
+			HttpServletRequest request, HttpServletResponse response) throws IOException {
+		Path file = stored.getPath();
+		if (file == null) {
+			copy(stored, start, count, response.getOutputStream());
+			return;
+		}
+		if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+			request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+			request.setAttribute(SENDFILE_START, Long.valueOf(start));
+			request.setAttribute(SENDFILE_END, Long.valueOf(start + count));
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			transfer(channel, start, count, Channels.newChannel(response.getOutputStream()));
+		}
+	}
+
+	private void transfer(FileChannel channel, long position, long count, WritableByteChannel target)
+			throws IOException {
+		while (count > 0) {
+			long transferred = channel.transferTo(position, count, target);
+			// The file was truncated while being sent
+			if (transferred <= 0) throw new IOException("Unexpected end of file");
+			position += transferred;
+			count -= transferred;
+		}
+	}
+
+	private void copy(StoredFile stored, long start, long count, OutputStream out) throws IOException {
+		try (InputStream in = stored.read(start, count)) {
+			if (in.transferTo(out) < count) throw new IOException("Unexpected end of blob " + stored.getKey());
+		}
+	}
+
+	private String contentRange(long start, long end, long length) {
+		return "bytes " + start + "-" + end + "/" + length;
+	}
+}
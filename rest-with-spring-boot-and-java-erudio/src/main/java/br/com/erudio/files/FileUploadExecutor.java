@@ -0,0 +1,71 @@
+package br.com.erudio.files;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.config.FileStorageConfig;
+import br.com.erudio.exceptions.FileStorageException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bounded pool where the files of a batch upload are written. At most
+ * {@code file.upload-parallelism} files hit the disk at once and up to
+ * {@code file.upload-queue-capacity} wait in the queue. Every file completes or
+ * fails on its own, including the ones the full queue turns away.
+ */
+@Component
+public class FileUploadExecutor {
+
+	private final ThreadPoolTaskExecutor executor;
+
+	@Autowired
+	public FileUploadExecutor(FileStorageConfig fileStorageConfig, MeterRegistry registry) {
+		int parallelism = fileStorageConfig.getUploadParallelism();
+		if (parallelism <= 0) parallelism = Runtime.getRuntime().availableProcessors();
+
+		executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(parallelism);
+		executor.setMaxPoolSize(parallelism);
+		executor.setQueueCapacity(fileStorageConfig.getUploadQueueCapacity());
+		executor.setThreadNamePrefix("file-upload-");
+		executor.initialize();
+
+		Gauge.builder("file.upload.queue", executor,
+				e -> e.getThreadPoolExecutor().getQueue().size())
+			.description("Files waiting for an upload thread")
+			.register(registry);
+		Gauge.builder("file.upload.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+			.register(registry);
+	}
+
+	/**
+	 * Runs the task for every item and returns the futures in the same order as
+	 * the items, whatever order they complete in.
+	 */
+	public <T, R> List<CompletableFuture<R>> submitAll(List<T> items, Function<T, R> task) {
+		List<CompletableFuture<R>> futures = new ArrayList<>(items.size());
+		for (T item : items) {
+			try {
+				futures.add(executor.submitCompletable(() -> task.apply(item)));
+			} catch (TaskRejectedException e) {
+				futures.add(CompletableFuture.failedFuture(
+					new FileStorageException("Too many files are waiting to be stored, try again later", e)));
+			}
+		}
+		return futures;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+}
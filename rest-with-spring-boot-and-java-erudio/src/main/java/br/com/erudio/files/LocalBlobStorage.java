@@ -0,0 +1,62 @@
+package br.com.erudio.files;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import br.com.erudio.exceptions.FileStorageException;
+
+/**
+ * Keeps blobs as files under a root directory of this node. Uploads are
+ * renamed into place, so the staging file must be on the same filesystem for
+ * the move to be atomic.
+ */
+public class LocalBlobStorage implements BlobStorage {
+
+	private final Path root;
+
+	public LocalBlobStorage(Path root) {
+		this.root = root.toAbsolutePath().normalize();
+		try {
+			Files.createDirectories(this.root);
+		} catch (IOException e) {
+			throw new FileStorageException("Could not create the blob directory " + this.root + "!", e);
+		}
+	}
+
+	@Override
+	public void put(String key, Path source) throws IOException {
+		Path target = localPath(key);
+		Files.createDirectories(target.getParent());
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	@Override
+	public boolean exists(String key) {
+		return Files.isRegularFile(localPath(key));
+	}
+
+	@Override
+	public InputStream read(String key, long start, long count) throws IOException {
+		return new FileRegionInputStream(localPath(key), start, count);
+	}
+
+	@Override
+	public void delete(String key) throws IOException {
+		Files.deleteIfExists(localPath(key));
+	}
+
+	@Override
+	public Path localPath(String key) {
+		Path path = root.resolve(key).normalize();
+		if (!path.startsWith(root)) throw new FileStorageException("Invalid blob key " + key);
+		return path;
+	}
+}
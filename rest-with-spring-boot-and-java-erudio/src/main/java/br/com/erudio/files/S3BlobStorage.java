@@ -0,0 +1,145 @@
+package br.com.erudio.files;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+/**
+ * Keeps blobs as objects of an S3-compatible bucket, shared by every node.
+ * Blobs larger than one part are sent as a multipart upload whose parts are
+ * read straight from the staging file and uploaded in parallel; reads are
+ * ranged GETs streamed to the caller.
+ */
+public class S3BlobStorage implements BlobStorage, AutoCloseable {
+
+	private Logger logger = Logger.getLogger(S3BlobStorage.class.getName());
+
+	private static final String CONTENT_TYPE = "application/octet-stream";
+
+	private final S3Client client;
+	private final String bucket;
+	private final String prefix;
+	private final long partSize;
+	private final ExecutorService partExecutor;
+
+	public S3BlobStorage(S3Client client, String bucket, String prefix, long partSize, int partParallelism) {
+		this.client = client;
+		this.bucket = bucket;
+		this.prefix = prefix == null ? "" : prefix;
+		this.partSize = partSize;
+		AtomicInteger threads = new AtomicInteger();
+		this.partExecutor = Executors.newFixedThreadPool(partParallelism, task -> {
+			Thread thread = new Thread(task, "s3-part-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@Override
+	public void put(String key, Path source) throws IOException {
+		String objectKey = prefix + key;
+		long size = Files.size(source);
+		if (size <= partSize) {
+			client.putObject(b -> b.bucket(bucket).key(objectKey).contentType(CONTENT_TYPE),
+				RequestBody.fromFile(source));
+			return;
+		}
+
+		String uploadId = client.createMultipartUpload(
+			b -> b.bucket(bucket).key(objectKey).contentType(CONTENT_TYPE)).uploadId();
+		int parts = (int) ((size + partSize - 1) / partSize);
+		List<CompletableFuture<CompletedPart>> pending = new ArrayList<>(parts);
+		try {
+			for (int i = 0; i < parts; i++) {
+				int partNumber = i + 1;
+				long offset = i * partSize;
+				long length = Math.min(partSize, size - offset);
+				pending.add(CompletableFuture.supplyAsync(
+					() -> uploadPart(objectKey, uploadId, partNumber, source, offset, length), partExecutor));
+			}
+			List<CompletedPart> completed = new ArrayList<>(parts);
+			for (CompletableFuture<CompletedPart> part : pending) completed.add(part.join());
+
+			client.completeMultipartUpload(b -> b.bucket(bucket).key(objectKey).uploadId(uploadId)
+				.multipartUpload(m -> m.parts(completed)));
+			logger.info("Uploaded " + objectKey + " in " + parts + " parts");
+		} catch (RuntimeException e) {
+			pending.forEach(part -> part.cancel(true));
+			abort(objectKey, uploadId);
+			Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+			if (cause instanceof UncheckedIOException io) throw io.getCause();
+			throw new IOException("Could not upload " + objectKey, cause);
+		}
+	}
+
+	@Override
+	public boolean exists(String key) {
+		try {
+			client.headObject(b -> b.bucket(bucket).key(prefix + key));
+			return true;
+		} catch (NoSuchKeyException e) {
+			return false;
+		} catch (S3Exception e) {
+			if (e.statusCode() == 404) return false;
+			throw e;
+		}
+	}
+
+	@Override
+	public InputStream read(String key, long start, long count) {
+		if (count <= 0) return InputStream.nullInputStream();
+		String range = "bytes=" + start + "-" + (start + count - 1);
+		return client.getObject(b -> b.bucket(bucket).key(prefix + key).range(range));
+	}
+
+	@Override
+	public void delete(String key) {
+		client.deleteObject(b -> b.bucket(bucket).key(prefix + key));
+	}
+
+	@Override
+	public void close() {
+		partExecutor.shutdownNow();
+		client.close();
+	}
+
+	private CompletedPart uploadPart(String objectKey, String uploadId, int partNumber,
+			Path source, long offset, long length) {
+		// The SDK opens a fresh stream for every retry of the part
+		RequestBody body = RequestBody.fromContentProvider(() -> {
+			try {
+				return new FileRegionInputStream(source, offset, length);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}, length, CONTENT_TYPE);
+
+		String eTag = client.uploadPart(b -> b.bucket(bucket).key(objectKey).uploadId(uploadId)
+			.partNumber(partNumber).contentLength(length), body).eTag();
+		return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+	}
+
+	private void abort(String objectKey, String uploadId) {
+		try {
+			client.abortMultipartUpload(b -> b.bucket(bucket).key(objectKey).uploadId(uploadId));
+		} catch (RuntimeException e) {
+			logger.warning("Could not abort the multipart upload of " + objectKey + "!");
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package br.com.erudio.files;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * A file of the store: its logical name, the storage and key holding its
+ * bytes, their SHA-256 and, right after an upload, how long storing it took.
+ */
+public class StoredFile {
+
+	private final String filename;
+	private final BlobStorage storage;
+	private final String key;
+	private final long size;
+	private final String checksum;
+	private final long lastModified;
+	private final long elapsedNanos;
+
+	public StoredFile(String filename, BlobStorage storage, String key, long size, String checksum,
+			long lastModified, long elapsedNanos) {
+		this.filename = filename;
+		this.storage = storage;
+		this.key = key;
+		this.size = size;
+		this.checksum = checksum;
+		this.lastModified = lastModified;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public String getFilename() {
+		return filename;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	// Null unless the bytes are on this node's disk
+	public Path getPath() {
+		return storage.localPath(key);
+	}
+
+	public InputStream read(long start, long count) throws IOException {
+		return storage.read(key, start, count);
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	// Null for files written before the content-addressed layout
+	public String getChecksum() {
+		return checksum;
+	}
+
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	public long getBytesPerSecond() {
+		return elapsedNanos <= 0 ? size : (long) (size * 1_000_000_000d / elapsedNanos);
+	}
+}
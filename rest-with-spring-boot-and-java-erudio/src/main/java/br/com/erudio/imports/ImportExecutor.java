@@ -0,0 +1,94 @@
+package br.com.erudio.imports;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounds the imports running at once. An import takes its place among the
+ * running ones or in the queue before its upload is read, so once they are all
+ * taken new imports are rejected without receiving a byte. Imports run on their
+ * own request thread, which is the one reading the upload; a queued one waits
+ * there for its turn.
+ */
+@Component
+public class ImportExecutor {
+
+	private Logger logger = Logger.getLogger(ImportExecutor.class.getName());
+
+	private final int parallelism;
+	
+	private final int places;
+	
+	private final Semaphore slots;
+	
+	private final Semaphore running;
+
+	@Autowired
+	public ImportExecutor(
+			@Value("${batch.import-parallelism:2}") int parallelism,
+			@Value("${batch.import-queue-capacity:10}") int queueCapacity,
+			MeterRegistry registry) {
+		this.parallelism = parallelism;
+		this.places = parallelism + queueCapacity;
+		slots = new Semaphore(places);
+		running = new Semaphore(parallelism, true);
+
+		Gauge.builder("person.import.queue", this, ImportExecutor::getQueued)
+			.description("Imports waiting for their turn")
+			.register(registry);
+		Gauge.builder("person.import.active", this, ImportExecutor::getActive)
+			.register(registry);
+	}
+
+	public void reserve() {
+		if (!slots.tryAcquire()) throw rejected();
+	}
+	
+	// Gives back a place taken with reserve when the import never runs
+	public void cancel() {
+		slots.release();
+	}
+	
+	/**
+	 * Runs the import on the calling thread once it is its turn, in the place
+	 * taken with reserve, which is freed when it ends.
+	 * 
+	 * @return false when its turn didn't come within the timeout
+	 */
+	public boolean run(Runnable task, Duration timeout) throws InterruptedException {
+		try {
+			if (!running.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) return false;
+			try {
+				task.run();
+			} finally {
+				running.release();
+			}
+			return true;
+		} finally {
+			slots.release();
+		}
+	}
+	
+	public int getActive() {
+		return parallelism - running.availablePermits();
+	}
+	
+	public int getQueued() {
+		return Math.max(0, places - slots.availablePermits() - getActive());
+	}
+	
+	private TooManyRequestsException rejected() {
+		logger.warning("Import rejected, the import queue is full!");
+		return new TooManyRequestsException("Too many imports running, please try again later!");
+	}
+}
@@ -0,0 +1,16 @@
+package br.com.erudio.imports;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+
+	NDJSON, CSV;
+
+	private static final MediaType TEXT_CSV = MediaType.valueOf(br.com.erudio.util.MediaType.TEXT_CSV);
+
+	// The import endpoint only consumes NDJSON and CSV, anything else never gets here
+	public static ImportFormat fromContentType(String contentType) {
+		if (contentType != null && TEXT_CSV.isCompatibleWith(MediaType.parseMediaType(contentType))) return CSV;
+		return NDJSON;
+	}
+}
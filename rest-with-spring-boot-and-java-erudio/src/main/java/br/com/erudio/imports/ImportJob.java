@@ -0,0 +1,90 @@
+package br.com.erudio.imports;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import br.com.erudio.data.vo.v1.imports.ImportJobVO;
+import br.com.erudio.data.vo.v1.imports.ImportRowErrorVO;
+
+/**
+ * Progress of one queued, running or finished import. Written by the thread
+ * doing the import and read concurrently by whoever polls it.
+ */
+public class ImportJob {
+
+	public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+	// Only the first errors are kept, so a bad file can't grow the job without bound
+	private static final int MAX_ERRORS = 100;
+
+	private final String id = UUID.randomUUID().toString();
+	private final ImportFormat format;
+	private final Date startedAt = new Date();
+
+	private final AtomicLong rowsRead = new AtomicLong();
+	private final AtomicLong rowsImported = new AtomicLong();
+	private final AtomicLong rowsRejected = new AtomicLong();
+	private final List<ImportRowErrorVO> errors = new ArrayList<>();
+
+	private volatile Status status = Status.QUEUED;
+	private volatile Date finishedAt;
+	private volatile String failure;
+
+	public ImportJob(ImportFormat format) {
+		this.format = format;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void running() {
+		status = Status.RUNNING;
+	}
+
+	public void read() {
+		rowsRead.incrementAndGet();
+	}
+
+	public void imported(int rows) {
+		rowsImported.addAndGet(rows);
+	}
+
+	public void rejected(long line, String error) {
+		rowsRejected.incrementAndGet();
+		synchronized (errors) {
+			if (errors.size() < MAX_ERRORS) errors.add(new ImportRowErrorVO(line, error));
+		}
+	}
+
+	public void completed() {
+		finishedAt = new Date();
+		status = Status.COMPLETED;
+	}
+
+	public void failed(String failure) {
+		this.failure = failure;
+		finishedAt = new Date();
+		status = Status.FAILED;
+	}
+
+	public ImportJobVO toVO() {
+		var vo = new ImportJobVO();
+		vo.setId(id);
+		vo.setFormat(format.name());
+		vo.setStatus(status.name());
+		vo.setRowsRead(rowsRead.get());
+		vo.setRowsImported(rowsImported.get());
+		vo.setRowsRejected(rowsRejected.get());
+		vo.setStartedAt(startedAt);
+		vo.setFinishedAt(finishedAt);
+		vo.setFailure(failure);
+		synchronized (errors) {
+			vo.setErrors(List.copyOf(errors));
+		}
+		return vo;
+	}
+}
@@ -0,0 +1,49 @@
+package br.com.erudio.imports;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The most recent import jobs, so their progress can be polled while they run
+ * and their outcome looked up afterwards.
+ */
+@Component
+public class ImportJobRegistry {
+
+	private static final int MAX_JOBS = 100;
+
+	private final Map<String, ImportJob> jobs = new LinkedHashMap<>(16, 0.75f, false) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+			return size() > MAX_JOBS;
+		}
+	};
+
+	public ImportJob start(ImportFormat format) {
+		var job = new ImportJob(format);
+		synchronized (jobs) {
+			jobs.put(job.getId(), job);
+		}
+		return job;
+	}
+
+	public Optional<ImportJob> find(String id) {
+		synchronized (jobs) {
+			return Optional.ofNullable(jobs.get(id));
+		}
+	}
+
+	public List<ImportJob> findAll() {
+		synchronized (jobs) {
+			return new ArrayList<>(jobs.values());
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package br.com.erudio.imports;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+
+/**
+ * Reads people one line at a time from an import stream, so only the current
+ * line is ever held in memory. A line that can't be parsed becomes a row with
+ * an error instead of stopping the import; a line longer than
+ * {@code MAX_LINE_LENGTH} characters stops it, since it is never read whole.
+ */
+public abstract class PersonRowReader implements Closeable {
+
+	public record Row(long line, PersonVO person, String error) {}
+
+	protected static final int MAX_LINE_LENGTH = 64 * 1024;
+
+	protected final BufferedReader reader;
+	protected long line;
+
+	protected PersonRowReader(InputStream in) {
+		this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+	}
+
+	public static PersonRowReader of(ImportFormat format, InputStream in, ObjectMapper objectMapper) throws IOException {
+		return format == ImportFormat.CSV ? new Csv(in) : new Ndjson(in, objectMapper);
+	}
+
+	/**
+	 * @return the next non blank row, or {@code null} at the end of the stream
+	 */
+	public abstract Row next() throws IOException;
+
+	protected String nextLine() throws IOException {
+		String text;
+		do {
+			text = readLine(MAX_LINE_LENGTH);
+			if (text == null) return null;
+			if (++line == 1 && text.startsWith("\uFEFF")) text = text.substring(1);
+		} while (text.isBlank());
+		return text;
+	}
+
+	// Like BufferedReader.readLine, but gives up once the line passes the limit
+	protected String readLine(int limit) throws IOException {
+		var text = new StringBuilder();
+		int c;
+		while ((c = reader.read()) != -1) {
+			if (c == '\n') return text.toString();
+			if (c == '\r') {
+				reader.mark(1);
+				if (reader.read() != '\n') reader.reset();
+				return text.toString();
+			}
+			if (text.length() == limit) {
+				throw new IOException("Line " + (line + 1) + " is longer than " + limit + " characters!");
+			}
+			text.append((char) c);
+		}
+		return text.isEmpty() ? null : text.toString();
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private static class Ndjson extends PersonRowReader {
+
+		private final ObjectReader objectReader;
+
+		Ndjson(InputStream in, ObjectMapper objectMapper) {
+			super(in);
+			this.objectReader = objectMapper.readerFor(PersonVO.class);
+		}
+
+		@Override
+		public Row next() throws IOException {
+			String text = nextLine();
+			if (text == null) return null;
+			try {
+				return new Row(line, objectReader.readValue(text), null);
+			} catch (JsonProcessingException e) {
+				return new Row(line, null, "Malformed JSON: " + e.getOriginalMessage());
+			}
+		}
+	}
+
+	/**
+	 * RFC 4180 values with a header naming the columns: firstName (or
+	 * first_name), lastName, address, gender and enabled. A quoted value may span
+	 * lines, up to {@code MAX_LINE_LENGTH} characters per record.
+	 */
+	private static class Csv extends PersonRowReader {
+
+		private final Map<String, Integer> columns = new HashMap<>();
+
+		Csv(InputStream in) throws IOException {
+			super(in);
+			String header = nextLine();
+			if (header == null) return;
+			var names = split(header);
+			if (names == null) return;
+			for (int i = 0; i < names.size(); i++) {
+				columns.put(names.get(i).trim().replace("_", "").toLowerCase(), i);
+			}
+		}
+
+		@Override
+		public Row next() throws IOException {
+			String text = nextLine();
+			if (text == null) return null;
+			long start = line;
+
+			// An open quote at the end of the line means the value goes on in the next one
+			List<String> values;
+			while ((values = split(text)) == null) {
+				String more = readLine(Math.max(0, MAX_LINE_LENGTH - text.length() - 1));
+				if (more == null) return new Row(start, null, "Malformed CSV: unterminated quote");
+				line++;
+				text = text + "\n" + more;
+			}
+
+			var person = new PersonVO();
+			person.setFirstName(value(values, "firstname"));
+			person.setLastName(value(values, "lastname"));
+			person.setAddress(value(values, "address"));
+			person.setGender(value(values, "gender"));
+			String enabled = value(values, "enabled");
+			if (enabled != null) person.setEnabled("true".equalsIgnoreCase(enabled) || "1".equals(enabled));
+			return new Row(start, person, null);
+		}
+
+		private String value(List<String> values, String column) {
+			Integer index = columns.get(column);
+			if (index == null || index >= values.size()) return null;
+			String value = values.get(index);
+			return value.isEmpty() ? null : value;
+		}
+
+		// null when a quoted value is never closed
+		private static List<String> split(String text) {
+			List<String> values = new ArrayList<>();
+			var value = new StringBuilder();
+			boolean quoted = false;
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				if (quoted) {
+					if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+						value.append('"');
+						i++;
+					} else if (c == '"') {
+						quoted = false;
+					} else {
+						value.append(c);
+					}
+				} else if (c == '"') {
+					quoted = true;
+				} else if (c == ',') {
+					values.add(value.toString());
+					value.setLength(0);
+				} else {
+					value.append(c);
+				}
+			}
+			if (quoted) return null;
+			values.add(value.toString());
+			return values;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package br.com.erudio.mapper;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.model.Book;
+
+@Mapper
+public interface BookMapper {
+	
+	BookMapper INSTANCE = Mappers.getMapper(BookMapper.class);
+	
+	@Mapping(source = "id", target = "key")
+	BookVO toVO(Book book);
+	
+	List<BookVO> toVOList(List<Book> books);
+	
+	@Mapping(source = "key", target = "id")
+	Book toEntity(BookVO book);
+	
+	List<Book> toEntityList(List<BookVO> books);
+}
@@ -0,0 +1,27 @@
+package br.com.erudio.mapper;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.model.Person;
+
+// The implementation is generated at compile time by MapStruct, so mapping is plain getters and setters
+@Mapper
+public interface PersonMapper {
+	
+	PersonMapper INSTANCE = Mappers.getMapper(PersonMapper.class);
+	
+	@Mapping(source = "id", target = "key")
+	PersonVO toVO(Person person);
+	
+	List<PersonVO> toVOList(List<Person> people);
+	
+	@Mapping(source = "key", target = "id")
+	Person toEntity(PersonVO person);
+	
+	List<Person> toEntityList(List<PersonVO> people);
+}
@@ -3,17 +3,24 @@ package br.com.erudio.model;
 import java.io.Serializable;
 import java.util.Date;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
 
 @Entity
 @Table(name = "books")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book")
 public class Book implements Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -35,6 +42,10 @@ public class Book implements Serializable {
 	@Column(nullable = false, length = 250)
 	private String title;
 	
+	@Version
+	@Column(nullable = false)
+	private Long version;
+	
 	public Book() {
 		
 	}
@@ -79,6 +90,14 @@ public class Book implements Serializable {
 		this.title = title;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -0,0 +1,67 @@
+package br.com.erudio.model;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+@Entity
+@Table(name = "file_blob")
+public class FileBlob implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(length = 64)
+	private String sha256;
+	
+	@Column(nullable = false)
+	private Long size;
+	
+	// Number of file entries pointing at this content
+	@Column(name = "ref_count", nullable = false)
+	private Integer refCount;
+	
+	@Column(name = "updated_at", nullable = false)
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date updatedAt;
+	
+	public FileBlob() {}
+
+	public String getSha256() {
+		return sha256;
+	}
+
+	public void setSha256(String sha256) {
+		this.sha256 = sha256;
+	}
+
+	public Long getSize() {
+		return size;
+	}
+
+	public void setSize(Long size) {
+		this.size = size;
+	}
+
+	public Integer getRefCount() {
+		return refCount;
+	}
+
+	public void setRefCount(Integer refCount) {
+		this.refCount = refCount;
+	}
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Date updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
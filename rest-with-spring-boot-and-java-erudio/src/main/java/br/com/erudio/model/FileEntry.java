@@ -0,0 +1,74 @@
+package br.com.erudio.model;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+@Entity
+@Table(name = "file_entry")
+public class FileEntry implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	// The logical name files are uploaded and downloaded with
+	@Id
+	@Column(length = 255)
+	private String name;
+	
+	@Column(nullable = false, length = 64)
+	private String sha256;
+	
+	@Column(nullable = false)
+	private Long size;
+	
+	@Column(name = "created_at", nullable = false)
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date createdAt;
+	
+	public FileEntry() {}
+
+	public FileEntry(String name, String sha256, Long size, Date createdAt) {
+		this.name = name;
+		this.sha256 = sha256;
+		this.size = size;
+		this.createdAt = createdAt;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getSha256() {
+		return sha256;
+	}
+
+	public void setSha256(String sha256) {
+		this.sha256 = sha256;
+	}
+
+	public Long getSize() {
+		return size;
+	}
+
+	public void setSize(Long size) {
+		this.size = size;
+	}
+
+	public Date getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Date createdAt) {
+		this.createdAt = createdAt;
+	}
+}
@@ -2,15 +2,22 @@ package br.com.erudio.model;
 
 import java.io.Serializable;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "person")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "person")
 public class Person implements Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -29,6 +36,10 @@ public class Person implements Serializable {
 	@Column(nullable = false)
 	private Boolean enabled;
 	
+	@Version
+	@Column(nullable = false)
+	private Long version;
+	
 	public Person() {
 		
 	}
@@ -81,6 +92,14 @@ public class Person implements Serializable {
 		this.enabled = enabled;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
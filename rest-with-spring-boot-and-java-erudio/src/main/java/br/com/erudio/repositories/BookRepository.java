@@ -1,9 +1,50 @@
 package br.com.erudio.repositories;
 
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import br.com.erudio.model.Book;
+import jakarta.persistence.QueryHint;
 
 public interface BookRepository extends JpaRepository<Book, Long>{
 
+	// Query space of the single-row writes below, see PersonRepository.ROW_WRITE_SPACE
+	String ROW_WRITE_SPACE = "books_row_write";
+
+	// Single-statement writes: the affected row count tells whether the book existed, at the
+	// expected version when one is given. Bulk updates don't touch @Version, so it is bumped here
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROW_WRITE_SPACE))
+	@Query(value = "UPDATE books SET author = :author, launch_date = :launchDate, price = :price, title = :title, "
+			+ "version = version + 1 WHERE id = :id AND (:version IS NULL OR version = :version)", nativeQuery = true)
+	int updateBook(@Param("id") Long id, @Param("author") String author, @Param("launchDate") Date launchDate,
+			@Param("price") Double price, @Param("title") String title, @Param("version") Long version);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROW_WRITE_SPACE))
+	@Query(value = "DELETE FROM books WHERE id = :id AND (:version IS NULL OR version = :version)", nativeQuery = true)
+	int deleteBook(@Param("id") Long id, @Param("version") Long version);
+
+	// Slices read one extra row instead of running a count query
+	@Query("SELECT b FROM Book b")
+	Slice<Book> findBooksSlice(Pageable pageable);
+
+	// Keyset pagination: the Pageable only carries the limit and the (title, id) ordering, so no count query runs
+	@Query("SELECT b FROM Book b")
+	List<Book> findBooksFromStart(Pageable pageable);
+	
+	@Query("SELECT b FROM Book b WHERE b.title > :title OR (b.title = :title AND b.id > :id)")
+	List<Book> findBooksAfter(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+	
+	@Query("SELECT b FROM Book b WHERE b.title < :title OR (b.title = :title AND b.id < :id)")
+	List<Book> findBooksBefore(@Param("title") String title, @Param("id") Long id, Pageable pageable);
 }
@@ -0,0 +1,40 @@
+package br.com.erudio.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.erudio.model.FileBlob;
+
+public interface FileBlobRepository extends JpaRepository<FileBlob, String>{
+
+	// Creates the blob with one reference, or adds one to it, in a single statement
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "INSERT INTO file_blob (sha256, size, ref_count, updated_at) VALUES (:sha256, :size, 1, NOW(6)) "
+			+ "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, updated_at = NOW(6)", nativeQuery = true)
+	int acquire(@Param("sha256") String sha256, @Param("size") Long size);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE FileBlob b SET b.refCount = b.refCount - 1, b.updatedAt = CURRENT_TIMESTAMP "
+			+ "WHERE b.sha256 = :sha256 AND b.refCount > 0")
+	int release(@Param("sha256") String sha256);
+
+	// The grace period is measured on the database clock, the one updated_at is written with
+	@Query(value = "SELECT sha256 FROM file_blob WHERE ref_count = 0 "
+			+ "AND updated_at < NOW(6) - INTERVAL :graceMillis * 1000 MICROSECOND LIMIT :limit", nativeQuery = true)
+	List<String> findOrphans(@Param("graceMillis") long graceMillis, @Param("limit") int limit);
+
+	// Locks the row of a blob that is still an orphan, so a new reference waits until its bytes are gone
+	@Query(value = "SELECT sha256 FROM file_blob WHERE sha256 = :sha256 AND ref_count = 0 "
+			+ "AND updated_at < NOW(6) - INTERVAL :graceMillis * 1000 MICROSECOND FOR UPDATE", nativeQuery = true)
+	Optional<String> lockOrphan(@Param("sha256") String sha256, @Param("graceMillis") long graceMillis);
+
+	// Only deletes the row if no entry took a new reference in the meantime
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("DELETE FROM FileBlob b WHERE b.sha256 = :sha256 AND b.refCount = 0")
+	int deleteOrphan(@Param("sha256") String sha256);
+}
@@ -0,0 +1,19 @@
+package br.com.erudio.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.erudio.model.FileEntry;
+import jakarta.persistence.LockModeType;
+
+public interface FileEntryRepository extends JpaRepository<FileEntry, String>{
+
+	// Serializes concurrent uploads of the same name so the old blob is released exactly once
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT f FROM FileEntry f WHERE f.name = :name")
+	Optional<FileEntry> findForUpdate(@Param("name") String name);
+}
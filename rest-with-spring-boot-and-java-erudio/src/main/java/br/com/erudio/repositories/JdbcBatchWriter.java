@@ -0,0 +1,172 @@
+package br.com.erudio.repositories;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.erudio.data.vo.v1.batch.BatchItemResultVO;
+
+/**
+ * Runs one statement for many rows as JDBC batches, one transaction per chunk.
+ * With rewriteBatchedStatements the MySQL driver sends each chunk of inserts
+ * as a single multi-row INSERT, which Hibernate can't do for IDENTITY ids.
+ */
+@Component
+public class JdbcBatchWriter {
+
+	private Logger logger = Logger.getLogger(JdbcBatchWriter.class.getName());
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${batch.chunk-size:1000}")
+	private int chunkSize = 1000;
+
+	@FunctionalInterface
+	public interface ParameterSetter<T> {
+		void setValues(PreparedStatement ps, T item) throws SQLException;
+	}
+
+	/**
+	 * The outcome of one row: its update count and, for inserts, the generated
+	 * id, or the error that made it fail.
+	 */
+	public record RowResult(int updateCount, Long generatedKey, String error) {
+
+		public boolean failed() {
+			return error != null;
+		}
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Validates and writes the items, reporting one result per item, in order:
+	 * 400 when {@code validator} rejects it, 404 when no row was affected,
+	 * 500 when the database refused it, {@code successStatus} otherwise.
+	 * For inserts the generated id is reported, else {@code idOf} of the item.
+	 */
+	public <T> List<BatchItemResultVO> write(String sql, List<T> items, Function<T, String> validator,
+			ParameterSetter<T> setter, Function<T, Long> idOf, boolean insert, int successStatus) {
+		var results = new BatchItemResultVO[items.size()];
+		List<T> valid = new ArrayList<>(items.size());
+		List<Integer> positions = new ArrayList<>(items.size());
+
+		for (int i = 0; i < items.size(); i++) {
+			T item = items.get(i);
+			String error = item == null ? "It is not allowed to persist a null object!" : validator.apply(item);
+			if (error != null) {
+				results[i] = new BatchItemResultVO(i, item == null || insert ? null : idOf.apply(item), 400, error);
+			} else {
+				valid.add(item);
+				positions.add(i);
+			}
+		}
+
+		var rows = execute(sql, valid, setter, insert);
+		for (int j = 0; j < rows.size(); j++) {
+			int i = positions.get(j);
+			var row = rows.get(j);
+			Long id = insert ? row.generatedKey() : idOf.apply(valid.get(j));
+			if (row.failed()) {
+				results[i] = new BatchItemResultVO(i, id, 500, row.error());
+			} else if (row.updateCount() == 0) {
+				results[i] = new BatchItemResultVO(i, id, 404, "No records found for this ID!");
+			} else {
+				results[i] = new BatchItemResultVO(i, id, successStatus, null);
+			}
+		}
+		return List.of(results);
+	}
+
+	/**
+	 * Result {@code i} belongs to item {@code i}. When a chunk fails it is rolled
+	 * back and replayed row by row, so only the offending rows are reported.
+	 */
+	public <T> List<RowResult> execute(String sql, List<T> items, ParameterSetter<T> setter, boolean returnKeys) {
+		var transaction = new TransactionTemplate(transactionManager);
+		List<RowResult> results = new ArrayList<>(items.size());
+
+		for (int from = 0; from < items.size(); from += chunkSize) {
+			var chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+			try {
+				results.addAll(transaction.execute(status -> jdbcTemplate.execute(
+						(ConnectionCallback<List<RowResult>>) con -> executeBatch(con, sql, chunk, setter, returnKeys))));
+			} catch (DataAccessException e) {
+				logger.warning("Batch chunk failed, retrying it row by row: " + e.getMostSpecificCause().getMessage());
+				for (T item : chunk) {
+					results.add(executeOne(transaction, sql, item, setter, returnKeys));
+				}
+			}
+		}
+		return results;
+	}
+
+	private <T> RowResult executeOne(TransactionTemplate transaction, String sql, T item,
+			ParameterSetter<T> setter, boolean returnKeys) {
+		try {
+			return transaction.execute(status -> jdbcTemplate.execute(
+					(ConnectionCallback<List<RowResult>>) con -> executeBatch(con, sql, List.of(item), setter, returnKeys))).get(0);
+		} catch (DataAccessException e) {
+			logger.warning("Batch row failed: " + e.getMostSpecificCause().getMessage());
+			return new RowResult(0, null, errorOf(e));
+		}
+	}
+
+	// A fixed message for the client, the driver's own names columns and SQL and only goes to the log
+	private String errorOf(DataAccessException e) {
+		if (e.getMostSpecificCause() instanceof SQLException sql) {
+			if (sql.getErrorCode() == 1406 || "22001".equals(sql.getSQLState())) return "value too long";
+			if (sql.getSQLState() != null && sql.getSQLState().startsWith("23")) return "constraint violation";
+		}
+		return e instanceof DataIntegrityViolationException ? "constraint violation" : "database error";
+	}
+
+	private <T> List<RowResult> executeBatch(Connection con, String sql, List<T> chunk,
+			ParameterSetter<T> setter, boolean returnKeys) throws SQLException {
+		try (PreparedStatement ps = returnKeys
+				? con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+				: con.prepareStatement(sql)) {
+			for (T item : chunk) {
+				setter.setValues(ps, item);
+				ps.addBatch();
+			}
+			int[] counts = ps.executeBatch();
+
+			List<Long> keys = new ArrayList<>(chunk.size());
+			if (returnKeys) {
+				try (var rs = ps.getGeneratedKeys()) {
+					while (rs.next()) keys.add(rs.getLong(1));
+				}
+			}
+
+			List<RowResult> results = new ArrayList<>(chunk.size());
+			for (int i = 0; i < chunk.size(); i++) {
+				// a rewritten batch reports SUCCESS_NO_INFO instead of a count per row
+				int count = counts[i] == Statement.SUCCESS_NO_INFO ? 1 : counts[i];
+				results.add(new RowResult(count, i < keys.size() ? keys.get(i) : null, null));
+			}
+			return results;
+		}
+	}
+}
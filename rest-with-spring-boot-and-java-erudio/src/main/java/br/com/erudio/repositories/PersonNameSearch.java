@@ -0,0 +1,20 @@
+package br.com.erudio.repositories;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import br.com.erudio.model.Person;
+import br.com.erudio.util.NameSearchTerm;
+
+/**
+ * Name search for {@link PersonRepository}. The number of prefix predicates
+ * depends on the term, so the query is built per call instead of declared.
+ */
+public interface PersonNameSearch {
+
+	Page<Person> findPersonsByName(NameSearchTerm term, Pageable pageable);
+
+	// Reads one extra row instead of running a count query
+	Slice<Person> findPersonsSliceByName(NameSearchTerm term, Pageable pageable);
+}
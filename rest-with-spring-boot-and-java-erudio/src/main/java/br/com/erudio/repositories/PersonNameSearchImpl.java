@@ -0,0 +1,66 @@
+package br.com.erudio.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import br.com.erudio.model.Person;
+import br.com.erudio.util.NameSearchTerm;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * The indexed words go to the ngram FULLTEXT index on (first_name, last_name),
+ * and each shorter word adds a prefix match served by the (first_name, id) and
+ * (last_name, id) indexes. A blank term matches everyone, like an empty prefix did.
+ */
+public class PersonNameSearchImpl implements PersonNameSearch {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Page<Person> findPersonsByName(NameSearchTerm term, Pageable pageable) {
+		var query = select(term, "SELECT p FROM Person p", pageable, Person.class);
+		query.setFirstResult((int) pageable.getOffset());
+		query.setMaxResults(pageable.getPageSize());
+		return PageableExecutionUtils.getPage(query.getResultList(), pageable,
+				() -> select(term, "SELECT COUNT(p) FROM Person p", Pageable.unpaged(), Long.class).getSingleResult());
+	}
+
+	@Override
+	public Slice<Person> findPersonsSliceByName(NameSearchTerm term, Pageable pageable) {
+		var query = select(term, "SELECT p FROM Person p", pageable, Person.class);
+		query.setFirstResult((int) pageable.getOffset());
+		query.setMaxResults(pageable.getPageSize() + 1);
+		List<Person> rows = query.getResultList();
+		boolean hasNext = rows.size() > pageable.getPageSize();
+		return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+	}
+
+	private <T> TypedQuery<T> select(NameSearchTerm term, String select, Pageable pageable, Class<T> type) {
+		List<String> conditions = new ArrayList<>();
+		if (term.hasFullTextWords()) conditions.add("match_against(p.firstName, p.lastName, :terms) > 0");
+		var prefixes = term.toPrefixes();
+		for (int i = 0; i < prefixes.size(); i++) {
+			conditions.add("(p.firstName LIKE CONCAT(:prefix" + i + ", '%') ESCAPE '!'"
+					+ " OR p.lastName LIKE CONCAT(:prefix" + i + ", '%') ESCAPE '!')");
+		}
+
+		var jpql = conditions.isEmpty() ? select : select + " WHERE " + String.join(" AND ", conditions);
+		// The sort properties come from the controllers, never from the request text
+		if (pageable.getSort().isSorted()) jpql = QueryUtils.applySorting(jpql, pageable.getSort(), "p");
+
+		var query = entityManager.createQuery(jpql, type);
+		if (term.hasFullTextWords()) query.setParameter("terms", term.toBooleanQuery());
+		for (int i = 0; i < prefixes.size(); i++) query.setParameter("prefix" + i, prefixes.get(i));
+		return query;
+	}
+}
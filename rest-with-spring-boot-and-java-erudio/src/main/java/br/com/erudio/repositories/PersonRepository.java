@@ -1,21 +1,70 @@
 package br.com.erudio.repositories;
 
-import org.springframework.data.domain.Page;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import br.com.erudio.model.Person;
+import jakarta.persistence.QueryHint;
+
+public interface PersonRepository extends JpaRepository<Person, Long>, PersonNameSearch {
+
+	/**
+	 * Query space of the single-row writes below. No entity is mapped to it, so
+	 * Hibernate doesn't evict the whole person cache region after them: callers
+	 * evict the row they wrote. Clearing keeps an instance loaded earlier in the
+	 * transaction from being read stale.
+	 */
+	String ROW_WRITE_SPACE = "person_row_write";
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROW_WRITE_SPACE))
+	@Query(value = "UPDATE person SET enabled = false, version = version + 1 WHERE id = :id AND (:version IS NULL OR version = :version)",
+			nativeQuery = true)
+	int disablePerson(@Param("id") Long id, @Param("version") Long version);
 
-public interface PersonRepository extends JpaRepository<Person, Long>{
+	default int disablePerson(Long id) {
+		return disablePerson(id, null);
+	}
 
-	@Modifying
-	@Query("UPDATE Person p SET p.enabled = false WHERE p.id =:id")
-	void disablePerson(@Param("id") Long id);
+	// Single-statement writes: the affected row count tells whether the person existed, at the
+	// expected version when one is given. Bulk updates don't touch @Version, so it is bumped here
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROW_WRITE_SPACE))
+	@Query(value = "UPDATE person SET first_name = :firstName, last_name = :lastName, address = :address, gender = :gender, "
+			+ "version = version + 1 WHERE id = :id AND (:version IS NULL OR version = :version)", nativeQuery = true)
+	int updatePerson(@Param("id") Long id, @Param("firstName") String firstName, @Param("lastName") String lastName,
+			@Param("address") String address, @Param("gender") String gender, @Param("version") Long version);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROW_WRITE_SPACE))
+	@Query(value = "DELETE FROM person WHERE id = :id AND (:version IS NULL OR version = :version)", nativeQuery = true)
+	int deletePerson(@Param("id") Long id, @Param("version") Long version);
+	
+	// Slices read one extra row instead of running a count query
+	@Query("SELECT p FROM Person p")
+	Slice<Person> findPersonsSlice(Pageable pageable);
+	
+	// Keyset pagination: the Pageable only carries the limit and the (firstName, id) ordering, so no count query runs
+	@Query("SELECT p FROM Person p")
+	List<Person> findPersonsFromStart(Pageable pageable);
+	
+	@Query("SELECT p FROM Person p WHERE p.firstName > :firstName OR (p.firstName = :firstName AND p.id > :id)")
+	List<Person> findPersonsAfter(@Param("firstName") String firstName, @Param("id") Long id, Pageable pageable);
 	
-	@Query("SELECT p FROM Person p WHERE p.firstName LIKE LOWER(CONCAT ('%',:firstName,'%'))")
-	Page<Person> findPersonsByName(@Param("firstName") String firstName, Pageable pageable);
+	@Query("SELECT p FROM Person p WHERE p.firstName < :firstName OR (p.firstName = :firstName AND p.id < :id)")
+	List<Person> findPersonsBefore(@Param("firstName") String firstName, @Param("id") Long id, Pageable pageable);
 	
+	// Reads the table in primary key ranges, without a count or an offset, and leaves the second-level cache alone
+	@Query("SELECT p FROM Person p WHERE p.id > :id ORDER BY p.id")
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	List<Person> findPersonsAfterId(@Param("id") Long id, Pageable pageable);
 }
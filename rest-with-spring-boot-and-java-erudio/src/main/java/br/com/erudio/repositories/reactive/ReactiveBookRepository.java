@@ -0,0 +1,103 @@
+package br.com.erudio.repositories.reactive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+
+import br.com.erudio.model.Book;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the books table through R2DBC, for the v2 API.
+ * launch_date is read and written as UTC, like the JDBC URL's serverTimezone.
+ */
+@Repository
+public class ReactiveBookRepository {
+
+	private static final String COLUMNS = "id, author, launch_date, price, title, version";
+
+	@Autowired
+	private DatabaseClient client;
+
+	// The direction comes from the enum, never from the request text, so it is safe to inline
+	public Flux<Book> findAll(Direction direction, int limit, long offset) {
+		return client.sql("SELECT " + COLUMNS + " FROM books ORDER BY title " + direction + ", id " + direction
+				+ " LIMIT :limit OFFSET :offset")
+			.bind("limit", limit)
+			.bind("offset", offset)
+			.map(ReactiveBookRepository::toBook)
+			.all();
+	}
+
+	public Mono<Book> findById(Long id) {
+		return client.sql("SELECT " + COLUMNS + " FROM books WHERE id = :id")
+			.bind("id", id)
+			.map(ReactiveBookRepository::toBook)
+			.one();
+	}
+
+	public Mono<Boolean> existsById(Long id) {
+		return client.sql("SELECT 1 FROM books WHERE id = :id")
+			.bind("id", id)
+			.map(row -> Boolean.TRUE)
+			.first()
+			.defaultIfEmpty(Boolean.FALSE);
+	}
+
+	public Mono<Long> insert(Book book) {
+		return client.sql("INSERT INTO books (author, launch_date, price, title) VALUES (:author, :launchDate, :price, :title)")
+			.filter(statement -> statement.returnGeneratedValues("id"))
+			.bind("author", Parameter.fromOrEmpty(book.getAuthor(), String.class))
+			.bind("launchDate", Parameter.fromOrEmpty(toDateTime(book.getLaunchDate()), LocalDateTime.class))
+			.bind("price", Parameter.fromOrEmpty(book.getPrice(), Double.class))
+			.bind("title", Parameter.fromOrEmpty(book.getTitle(), String.class))
+			.map(row -> row.get("id", Long.class))
+			.one();
+	}
+
+	// Like the v1 writes: one statement, at the expected version when one is given
+	public Mono<Long> update(Book book, Long version) {
+		var spec = client.sql("UPDATE books SET author = :author, launch_date = :launchDate, price = :price, title = :title,"
+				+ " version = version + 1 WHERE id = :id" + (version == null ? "" : " AND version = :version"))
+			.bind("author", Parameter.fromOrEmpty(book.getAuthor(), String.class))
+			.bind("launchDate", Parameter.fromOrEmpty(toDateTime(book.getLaunchDate()), LocalDateTime.class))
+			.bind("price", Parameter.fromOrEmpty(book.getPrice(), Double.class))
+			.bind("title", Parameter.fromOrEmpty(book.getTitle(), String.class))
+			.bind("id", book.getId());
+		if (version != null) spec = spec.bind("version", version);
+		return spec.fetch().rowsUpdated();
+	}
+
+	public Mono<Long> delete(Long id, Long version) {
+		var spec = client.sql("DELETE FROM books WHERE id = :id" + (version == null ? "" : " AND version = :version"))
+			.bind("id", id);
+		if (version != null) spec = spec.bind("version", version);
+		return spec.fetch().rowsUpdated();
+	}
+
+	private static LocalDateTime toDateTime(Date date) {
+		return date == null ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC);
+	}
+
+	private static Book toBook(Readable row) {
+		var book = new Book();
+		book.setId(row.get("id", Long.class));
+		book.setAuthor(row.get("author", String.class));
+		var launchDate = row.get("launch_date", LocalDateTime.class);
+		if (launchDate != null) book.setLaunchDate(Date.from(launchDate.toInstant(ZoneOffset.UTC)));
+		var price = row.get("price", BigDecimal.class);
+		if (price != null) book.setPrice(price.doubleValue());
+		book.setTitle(row.get("title", String.class));
+		book.setVersion(row.get("version", Long.class));
+		return book;
+	}
+}
@@ -0,0 +1,126 @@
+package br.com.erudio.repositories.reactive;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+
+import br.com.erudio.model.Person;
+import br.com.erudio.util.NameSearchTerm;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the person table through R2DBC, for the v2 API.
+ * Rows are mapped to detached {@link Person} instances, so the v1 mapper
+ * and search index work with them unchanged.
+ */
+@Repository
+public class ReactivePersonRepository {
+
+	private static final String COLUMNS = "id, first_name, last_name, address, gender, enabled, version";
+
+	@Autowired
+	private DatabaseClient client;
+
+	// The direction comes from the enum, never from the request text, so it is safe to inline
+	public Flux<Person> findAll(Direction direction, int limit, long offset) {
+		return client.sql("SELECT " + COLUMNS + " FROM person ORDER BY first_name " + direction + ", id " + direction
+				+ " LIMIT :limit OFFSET :offset")
+			.bind("limit", limit)
+			.bind("offset", offset)
+			.map(ReactivePersonRepository::toPerson)
+			.all();
+	}
+
+	// Like PersonNameSearch: the indexed words go to the full-text index, and each shorter word adds a prefix match
+	public Flux<Person> findByName(NameSearchTerm term, Direction direction, int limit, long offset) {
+		List<String> conditions = new ArrayList<>();
+		if (term.hasFullTextWords()) conditions.add("MATCH (first_name, last_name) AGAINST (:terms IN BOOLEAN MODE)");
+		var prefixes = term.toPrefixes();
+		for (int i = 0; i < prefixes.size(); i++) {
+			conditions.add("(first_name LIKE CONCAT(:prefix" + i + ", '%') ESCAPE '!' OR last_name LIKE CONCAT(:prefix" + i + ", '%') ESCAPE '!')");
+		}
+
+		var spec = client.sql("SELECT " + COLUMNS + " FROM person"
+				+ (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+				+ " ORDER BY first_name " + direction + ", id " + direction + " LIMIT :limit OFFSET :offset")
+			.bind("limit", limit)
+			.bind("offset", offset);
+		if (term.hasFullTextWords()) spec = spec.bind("terms", term.toBooleanQuery());
+		for (int i = 0; i < prefixes.size(); i++) spec = spec.bind("prefix" + i, prefixes.get(i));
+		return spec.map(ReactivePersonRepository::toPerson).all();
+	}
+
+	public Mono<Person> findById(Long id) {
+		return client.sql("SELECT " + COLUMNS + " FROM person WHERE id = :id")
+			.bind("id", id)
+			.map(ReactivePersonRepository::toPerson)
+			.one();
+	}
+
+	public Mono<Boolean> existsById(Long id) {
+		return client.sql("SELECT 1 FROM person WHERE id = :id")
+			.bind("id", id)
+			.map(row -> Boolean.TRUE)
+			.first()
+			.defaultIfEmpty(Boolean.FALSE);
+	}
+
+	public Mono<Long> insert(Person person) {
+		return client.sql("INSERT INTO person (first_name, last_name, address, gender, enabled) VALUES (:firstName, :lastName, :address, :gender, :enabled)")
+			.filter(statement -> statement.returnGeneratedValues("id"))
+			.bind("firstName", Parameter.fromOrEmpty(person.getFirstName(), String.class))
+			.bind("lastName", Parameter.fromOrEmpty(person.getLastName(), String.class))
+			.bind("address", Parameter.fromOrEmpty(person.getAddress(), String.class))
+			.bind("gender", Parameter.fromOrEmpty(person.getGender(), String.class))
+			.bind("enabled", person.getEnabled() == null || person.getEnabled())
+			.map(row -> row.get("id", Long.class))
+			.one();
+	}
+
+	// Like the v1 writes: one statement, at the expected version when one is given
+	public Mono<Long> update(Person person, Long version) {
+		var spec = client.sql("UPDATE person SET first_name = :firstName, last_name = :lastName, address = :address, gender = :gender,"
+				+ " version = version + 1 WHERE id = :id" + (version == null ? "" : " AND version = :version"))
+			.bind("firstName", Parameter.fromOrEmpty(person.getFirstName(), String.class))
+			.bind("lastName", Parameter.fromOrEmpty(person.getLastName(), String.class))
+			.bind("address", Parameter.fromOrEmpty(person.getAddress(), String.class))
+			.bind("gender", Parameter.fromOrEmpty(person.getGender(), String.class))
+			.bind("id", person.getId());
+		if (version != null) spec = spec.bind("version", version);
+		return spec.fetch().rowsUpdated();
+	}
+
+	public Mono<Long> disable(Long id, Long version) {
+		var spec = client.sql("UPDATE person SET enabled = false, version = version + 1 WHERE id = :id"
+				+ (version == null ? "" : " AND version = :version"))
+			.bind("id", id);
+		if (version != null) spec = spec.bind("version", version);
+		return spec.fetch().rowsUpdated();
+	}
+
+	public Mono<Long> delete(Long id, Long version) {
+		var spec = client.sql("DELETE FROM person WHERE id = :id" + (version == null ? "" : " AND version = :version"))
+			.bind("id", id);
+		if (version != null) spec = spec.bind("version", version);
+		return spec.fetch().rowsUpdated();
+	}
+
+	private static Person toPerson(Readable row) {
+		var person = new Person();
+		person.setId(row.get("id", Long.class));
+		person.setFirstName(row.get("first_name", String.class));
+		person.setLastName(row.get("last_name", String.class));
+		person.setAddress(row.get("address", String.class));
+		person.setGender(row.get("gender", String.class));
+		person.setEnabled(row.get("enabled", Boolean.class));
+		person.setVersion(row.get("version", Long.class));
+		return person;
+	}
+}
@@ -0,0 +1,341 @@
+package br.com.erudio.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory trigram index over the first name, last name and address of every
+ * person, so typeahead searches never reach MySQL. Built once the application
+ * is ready and kept current by PersonServices on every write.
+ */
+@Component
+public class PersonSearchIndex {
+
+	private Logger logger = Logger.getLogger(PersonSearchIndex.class.getName());
+
+	private static final int GRAM_SIZE = 3;
+	private static final int REBUILD_BATCH_SIZE = 1000;
+
+	// A word found in the first name is worth more than the same word in the address
+	private static final int FIRST_NAME_WEIGHT = 3;
+	private static final int LAST_NAME_WEIGHT = 2;
+	private static final int ADDRESS_WEIGHT = 1;
+
+	@Autowired
+	private PersonRepository repository;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Lock rebuildLock = new ReentrantLock();
+
+	// Guarded by lock. Ids written while a rebuild reads the table, null when none runs
+	private Index current = new Index();
+	private Set<Long> changedDuringRebuild;
+
+	@Autowired
+	public PersonSearchIndex(MeterRegistry registry) {
+		Gauge.builder("person.search.index.size", this, PersonSearchIndex::size)
+			.description("People in the in-memory search index")
+			.register(registry);
+	}
+
+	/**
+	 * Reads every person into a new index while searches and writes keep using
+	 * the current one, then swaps it in. People written in the meantime may have
+	 * been read before the write, so their entry is taken from the current index.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		rebuildLock.lock();
+		try {
+			lock.writeLock().lock();
+			try {
+				changedDuringRebuild = new HashSet<>();
+			} finally {
+				lock.writeLock().unlock();
+			}
+
+			var rebuilt = new Index();
+			Pageable limit = PageRequest.ofSize(REBUILD_BATCH_SIZE);
+			long lastId = 0;
+			List<Person> batch;
+			do {
+				batch = repository.findPersonsAfterId(lastId, limit);
+				batch.forEach(rebuilt::add);
+				if (!batch.isEmpty()) lastId = batch.get(batch.size() - 1).getId();
+			} while (batch.size() == REBUILD_BATCH_SIZE);
+
+			lock.writeLock().lock();
+			try {
+				for (Long id : changedDuringRebuild) {
+					rebuilt.remove(id);
+					var document = current.documents.get(id);
+					if (document != null) rebuilt.add(document.person);
+				}
+				current = rebuilt;
+			} finally {
+				lock.writeLock().unlock();
+			}
+		} finally {
+			lock.writeLock().lock();
+			try {
+				changedDuringRebuild = null;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			rebuildLock.unlock();
+		}
+		logger.info("Indexed " + size() + " people for search!");
+	}
+
+	public void index(Person person) {
+		lock.writeLock().lock();
+		try {
+			changed(person.getId());
+			current.remove(person.getId());
+			current.add(person);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Re-indexes a person after a write that didn't read it back. The enabled
+	 * flag isn't part of an update, so the one already indexed is kept.
+	 */
+	public void merge(Person person) {
+		lock.writeLock().lock();
+		try {
+			changed(person.getId());
+			var existing = current.documents.get(person.getId());
+			var merged = copyOf(person);
+			if (existing != null) merged.setEnabled(existing.person.getEnabled());
+			current.remove(person.getId());
+			current.add(merged);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void disable(Long id) {
+		lock.writeLock().lock();
+		try {
+			changed(id);
+			var existing = current.documents.get(id);
+			if (existing == null) return;
+			var disabled = copyOf(existing.person);
+			disabled.setEnabled(false);
+			current.remove(id);
+			current.add(disabled);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void delete(Long id) {
+		lock.writeLock().lock();
+		try {
+			changed(id);
+			current.remove(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Every word of the query must be found, as a substring, in one of the
+	 * indexed fields. Results are ranked by where and how well each word matched.
+	 */
+	public Page<Person> search(String query, Pageable pageable) {
+		var words = tokenize(query);
+		if (words.isEmpty()) return Page.empty(pageable);
+
+		List<ScoredPerson> hits = new ArrayList<>();
+		lock.readLock().lock();
+		try {
+			for (Long id : current.candidates(words)) {
+				var document = current.documents.get(id);
+				int score = document.score(words);
+				if (score > 0) hits.add(new ScoredPerson(document.person, score));
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		hits.sort(Comparator.comparingInt(ScoredPerson::score).reversed()
+				.thenComparing(hit -> hit.person().getFirstName(), String.CASE_INSENSITIVE_ORDER)
+				.thenComparing(hit -> hit.person().getId()));
+
+		int from = (int) Math.min(pageable.getOffset(), hits.size());
+		int to = Math.min(from + pageable.getPageSize(), hits.size());
+		var content = hits.subList(from, to).stream().map(ScoredPerson::person).toList();
+		return new PageImpl<>(content, pageable, hits.size());
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return current.documents.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void changed(Long id) {
+		if (changedDuringRebuild != null) changedDuringRebuild.add(id);
+	}
+
+	static List<String> tokenize(String text) {
+		if (text == null) return List.of();
+		var normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+				.replaceAll("\\p{M}", "")
+				.toLowerCase();
+		return Arrays.stream(normalized.split("[^\\p{L}\\p{N}]+"))
+				.filter(word -> !word.isEmpty())
+				.toList();
+	}
+
+	// Short words can't be split into trigrams, so they are looked up as word prefixes
+	private static List<String> queryGrams(String word) {
+		if (word.length() < GRAM_SIZE) return List.of("^" + word);
+		List<String> grams = new ArrayList<>();
+		for (int i = 0; i + GRAM_SIZE <= word.length(); i++) {
+			grams.add(word.substring(i, i + GRAM_SIZE));
+		}
+		return grams;
+	}
+
+	private static void addDocumentGrams(String word, Set<String> grams) {
+		for (int length = 1; length < GRAM_SIZE && length <= word.length(); length++) {
+			grams.add("^" + word.substring(0, length));
+		}
+		grams.addAll(queryGrams(word).stream().filter(gram -> !gram.startsWith("^")).toList());
+	}
+
+	private static Person copyOf(Person person) {
+		var copy = new Person();
+		copy.setId(person.getId());
+		copy.setFirstName(person.getFirstName());
+		copy.setLastName(person.getLastName());
+		copy.setAddress(person.getAddress());
+		copy.setGender(person.getGender());
+		copy.setEnabled(person.getEnabled());
+		copy.setVersion(person.getVersion());
+		return copy;
+	}
+
+	private static class Index {
+
+		private final Map<String, Set<Long>> postings = new HashMap<>();
+		private final Map<Long, IndexedPerson> documents = new HashMap<>();
+
+		void add(Person person) {
+			var document = new IndexedPerson(copyOf(person));
+			documents.put(person.getId(), document);
+			for (String gram : document.grams()) {
+				postings.computeIfAbsent(gram, g -> new HashSet<>()).add(person.getId());
+			}
+		}
+
+		void remove(Long id) {
+			var document = documents.remove(id);
+			if (document == null) return;
+			for (String gram : document.grams()) {
+				var ids = postings.get(gram);
+				if (ids == null) continue;
+				ids.remove(id);
+				if (ids.isEmpty()) postings.remove(gram);
+			}
+		}
+
+		Set<Long> candidates(List<String> words) {
+			Set<Long> result = null;
+			for (String word : words) {
+				for (String gram : queryGrams(word)) {
+					var ids = postings.get(gram);
+					if (ids == null) return Set.of();
+					if (result == null) {
+						result = new HashSet<>(ids);
+					} else {
+						result.retainAll(ids);
+					}
+					if (result.isEmpty()) return result;
+				}
+			}
+			return result;
+		}
+	}
+
+	private static class IndexedPerson {
+
+		private final Person person;
+		private final List<String> firstName;
+		private final List<String> lastName;
+		private final List<String> address;
+
+		IndexedPerson(Person person) {
+			this.person = person;
+			this.firstName = tokenize(person.getFirstName());
+			this.lastName = tokenize(person.getLastName());
+			this.address = tokenize(person.getAddress());
+		}
+
+		Set<String> grams() {
+			Set<String> grams = new HashSet<>();
+			firstName.forEach(word -> addDocumentGrams(word, grams));
+			lastName.forEach(word -> addDocumentGrams(word, grams));
+			address.forEach(word -> addDocumentGrams(word, grams));
+			return grams;
+		}
+
+		// Zero when some query word only matched the trigrams, not the text itself
+		int score(List<String> query) {
+			int total = 0;
+			for (String word : query) {
+				int best = Math.max(FIRST_NAME_WEIGHT * match(firstName, word),
+						Math.max(LAST_NAME_WEIGHT * match(lastName, word), ADDRESS_WEIGHT * match(address, word)));
+				if (best == 0) return 0;
+				total += best;
+			}
+			return total;
+		}
+
+		// 3 for the whole word, 2 for a prefix, 1 for any other substring
+		private static int match(List<String> words, String query) {
+			int best = 0;
+			for (String word : words) {
+				if (word.equals(query)) return 3;
+				if (word.startsWith(query)) best = Math.max(best, 2);
+				else if (query.length() >= GRAM_SIZE && word.contains(query)) best = Math.max(best, 1);
+			}
+			return best;
+		}
+	}
+
+	private record ScoredPerson(Person person, int score) {}
+}
@@ -0,0 +1,72 @@
+package br.com.erudio.security;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Dedicated, size-limited pool where the password hash of a signin is checked.
+ * PBKDF2 is CPU bound, so a login storm only queues here, and once the queue is
+ * full requests are rejected right away instead of holding Tomcat workers.
+ * Tasks run without the request bound, anything request scoped must be resolved
+ * before submitting them.
+ */
+@Component
+public class SigninExecutor {
+
+	private Logger logger = Logger.getLogger(SigninExecutor.class.getName());
+
+	private final ThreadPoolTaskExecutor executor;
+	private final Timer hashLatency;
+
+	@Autowired
+	public SigninExecutor(
+			@Value("${security.signin.pool-size:0}") int poolSize,
+			@Value("${security.signin.queue-capacity:100}") int queueCapacity,
+			MeterRegistry registry) {
+		if (poolSize <= 0) poolSize = Runtime.getRuntime().availableProcessors();
+
+		executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("signin-");
+		executor.initialize();
+
+		hashLatency = Timer.builder("auth.signin.hashing")
+			.description("Time spent checking the credentials of a signin")
+			.register(registry);
+		Gauge.builder("auth.signin.hashing.queue", executor,
+				e -> e.getThreadPoolExecutor().getQueue().size())
+			.description("Signins waiting for a hashing thread")
+			.register(registry);
+		Gauge.builder("auth.signin.hashing.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+			.register(registry);
+	}
+
+	public <T> CompletableFuture<T> submit(Supplier<T> task) {
+		try {
+			return executor.submitCompletable(() -> hashLatency.record(task));
+		} catch (TaskRejectedException e) {
+			logger.warning("Signin rejected, the hashing queue is full!");
+			throw new TooManyRequestsException("Too many signin requests, please try again later!", e);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+}
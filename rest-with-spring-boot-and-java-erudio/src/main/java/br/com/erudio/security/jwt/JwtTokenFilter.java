@@ -7,6 +7,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.GenericFilterBean;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -26,10 +28,14 @@ public class JwtTokenFilter extends GenericFilterBean {
 	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
 			throws IOException, ServletException {
 		String token = tokenProvider.resolveToken((HttpServletRequest) request);
-		if (token != null && tokenProvider.validateToken(token)) {
-			Authentication auth = tokenProvider.getAuthentication(token);
-			if (auth != null) {
-				SecurityContextHolder.getContext().setAuthentication(auth);
+		if (token != null) {
+			// Parses and verifies the token only once, then reuses it for the expiry check and the authentication
+			DecodedJWT decodedJWT = tokenProvider.decodedToken(token);
+			if (tokenProvider.validateToken(decodedJWT)) {
+				Authentication auth = tokenProvider.getAuthentication(decodedJWT);
+				if (auth != null) {
+					SecurityContextHolder.getContext().setAuthentication(auth);
+				}
 			}
 		}
 		chain.doFilter(request, response);
@@ -8,6 +8,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
@@ -32,21 +34,37 @@ public class JwtTokenProvider {
 	@Value("${security.jwt.token.expire-length:3600000}")
 	private long validityInMilliseconds = 3600000; // 1h
 	
+	// Builds the Authentication only from the verified token's subject and roles, without touching the database
+	@Value("${security.jwt.claims-trusted:false}")
+	private boolean claimsTrusted = false;
+	
 	@Autowired
 	private UserDetailsService userDetailsService;
 	
+	@Autowired
+	private PrincipalCache principalCache;
+	
 	Algorithm algorithm = null;
 	
+	// JWTVerifier is immutable and thread-safe, so one instance is shared by every request
+	JWTVerifier verifier = null;
+	
 	@PostConstruct
 	protected void init() {
 		secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
 		algorithm = Algorithm.HMAC256(secretKey.getBytes());
+		verifier = JWT.require(algorithm).build();
 	}
 
 	public TokenVO createAccessToken(String username, List<String> roles) {
+		return createAccessToken(username, roles, currentIssuer());
+	}
+	
+	// Outside a request thread the issuer has to be resolved by the caller beforehand
+	public TokenVO createAccessToken(String username, List<String> roles, String issuerUrl) {
 		Date now = new Date();
 		Date validity = new Date(now.getTime() + validityInMilliseconds);
-		var accessToken = getAccessToken(username, roles, now, validity);
+		var accessToken = getAccessToken(username, roles, now, validity, issuerUrl);
 		var refreshToken = getRefreshToken(username, roles, now);
 		
 		return new TokenVO(username, true, now, validity, accessToken, refreshToken);
@@ -57,16 +75,18 @@ public class JwtTokenProvider {
 		if (refreshToken.contains("Bearer ")) refreshToken =
 				refreshToken.substring("Bearer ".length());
 		
-		JWTVerifier verifier = JWT.require(algorithm).build();
-		DecodedJWT decodedJWT = verifier.verify(refreshToken);
+		DecodedJWT decodedJWT = decodedToken(refreshToken);
 		String username = decodedJWT.getSubject();
 		List<String> roles = decodedJWT.getClaim("roles").asList(String.class);
 		return createAccessToken(username, roles);
 	}
 	
-	private String getAccessToken(String username, List<String> roles, Date now, Date validity) {
-		String issuerUrl = ServletUriComponentsBuilder
+	public String currentIssuer() {
+		return ServletUriComponentsBuilder
 				.fromCurrentContextPath().build().toUriString();
+	}
+	
+	private String getAccessToken(String username, List<String> roles, Date now, Date validity, String issuerUrl) {
 		return JWT.create()
 				.withClaim("roles", roles)
 				.withIssuedAt(now)
@@ -89,17 +109,32 @@ public class JwtTokenProvider {
 	}
 	
 	public Authentication getAuthentication(String token) {
-		DecodedJWT decodedJWT = decodedToken(token);
-		UserDetails userDetails = this.userDetailsService
-				.loadUserByUsername(decodedJWT.getSubject());
+		return getAuthentication(decodedToken(token));
+	}
+	
+	public Authentication getAuthentication(DecodedJWT decodedJWT) {
+		if (claimsTrusted) return getAuthenticationFromClaims(decodedJWT);
+		UserDetails userDetails = principalCache.get(
+				decodedJWT.getSubject(),
+				decodedJWT.getIssuedAt(),
+				decodedJWT.getExpiresAt(),
+				userDetailsService::loadUserByUsername);
 		return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
 	}
 
-	private DecodedJWT decodedToken(String token) {
-		Algorithm alg = Algorithm.HMAC256(secretKey.getBytes());
-		JWTVerifier verifier = JWT.require(alg).build();
-		DecodedJWT decodedJWT = verifier.verify(token);
-		return decodedJWT;
+	private Authentication getAuthenticationFromClaims(DecodedJWT decodedJWT) {
+		List<String> roles = decodedJWT.getClaim("roles").asList(String.class);
+		List<SimpleGrantedAuthority> authorities = roles == null ? List.of() :
+				roles.stream().map(SimpleGrantedAuthority::new).toList();
+		UserDetails principal = User.withUsername(decodedJWT.getSubject())
+				.password("")
+				.authorities(authorities)
+				.build();
+		return new UsernamePasswordAuthenticationToken(principal, "", authorities);
+	}
+
+	public DecodedJWT decodedToken(String token) {
+		return verifier.verify(token);
 	}
 	
 	public String resolveToken(HttpServletRequest req) {
@@ -113,7 +148,10 @@ public class JwtTokenProvider {
 	}
 	
 	public boolean validateToken(String token) {
-		DecodedJWT decodedJWT = decodedToken(token);
+		return validateToken(decodedToken(token));
+	}
+	
+	public boolean validateToken(DecodedJWT decodedJWT) {
 		try {
 			if (decodedJWT.getExpiresAt().before(new Date())) {
 				return false;
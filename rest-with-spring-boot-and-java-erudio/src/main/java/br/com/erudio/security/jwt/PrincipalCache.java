@@ -0,0 +1,162 @@
+package br.com.erudio.security.jwt;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded, TTL-evicting cache of the {@link UserDetails} resolved for a JWT.
+ * Entries are keyed by subject and token issue time, so a valid token resolves
+ * its principal once and never outlives the token itself.
+ * <p>
+ * Only the password upgrade in UserServices invalidates entries, nothing in
+ * the application disables accounts or changes permissions. A change made
+ * directly in the database is seen once the entry expires, so the TTL is the
+ * bound on how long a disabled user keeps access with a valid token.
+ */
+@Component
+public class PrincipalCache {
+
+	private Logger logger = Logger.getLogger(PrincipalCache.class.getName());
+
+	private final long ttlInMilliseconds;
+
+	private final Cache<String, CachedPrincipal> entries;
+
+	// Bumped on every invalidation, so a principal loaded before it is never stored after it
+	private final AtomicLong generation = new AtomicLong();
+
+	@Autowired
+	public PrincipalCache(
+			@Value("${security.jwt.principal-cache.max-size:10000}") int maxSize,
+			@Value("${security.jwt.principal-cache.ttl:300000}") long ttlInMilliseconds,
+			MeterRegistry registry) {
+		this.entries = Caffeine.newBuilder()
+			.maximumSize(maxSize)
+			.expireAfter(new UntilExpiry())
+			// Maintenance runs on the calling thread, so the size and evictions are exact
+			.executor(Runnable::run)
+			.recordStats()
+			.build();
+		this.ttlInMilliseconds = ttlInMilliseconds;
+
+		FunctionCounter.builder("jwt.principal.cache.requests", this, PrincipalCache::getHits)
+			.tag("result", "hit").register(registry);
+		FunctionCounter.builder("jwt.principal.cache.requests", this, PrincipalCache::getMisses)
+			.tag("result", "miss").register(registry);
+		FunctionCounter.builder("jwt.principal.cache.evictions", this, PrincipalCache::getEvictions)
+			.register(registry);
+		Gauge.builder("jwt.principal.cache.size", this, PrincipalCache::size)
+			.register(registry);
+	}
+
+	public UserDetails get(String username, Date issuedAt, Date expiresAt,
+			Function<String, UserDetails> loader) {
+		String key = key(username, issuedAt);
+		long seenGeneration = generation.get();
+
+		CachedPrincipal cached = entries.getIfPresent(key);
+		if (cached != null) return cached.userDetails;
+
+		long now = System.currentTimeMillis();
+		UserDetails userDetails = loader.apply(username);
+
+		long expiry = now + ttlInMilliseconds;
+		if (expiresAt != null) expiry = Math.min(expiry, expiresAt.getTime());
+		if (expiry <= now) return userDetails;
+
+		if (generation.get() == seenGeneration) {
+			entries.put(key, new CachedPrincipal(username, userDetails, expiry));
+			// An invalidation arrived while storing, the principal may already be stale
+			if (generation.get() != seenGeneration) entries.invalidate(key);
+		}
+		return userDetails;
+	}
+
+	/**
+	 * Drops every cached principal of the given user. Must be called whenever
+	 * the user is disabled, locked or has its permissions changed.
+	 */
+	public void invalidate(String username) {
+		generation.incrementAndGet();
+		int before = size();
+		entries.asMap().values().removeIf(cached -> cached.username.equals(username));
+		int removed = before - size();
+		if (removed > 0) logger.info("Invalidated " + removed + " cached principal(s) of " + username + "!");
+	}
+
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		entries.invalidateAll();
+		logger.info("Invalidated all cached principals!");
+	}
+
+	public int size() {
+		entries.cleanUp();
+		return (int) entries.estimatedSize();
+	}
+
+	public long getHits() {
+		return entries.stats().hitCount();
+	}
+
+	public long getMisses() {
+		return entries.stats().missCount();
+	}
+
+	public long getEvictions() {
+		return entries.stats().evictionCount();
+	}
+
+	private String key(String username, Date issuedAt) {
+		return username + ":" + (issuedAt == null ? 0L : issuedAt.getTime());
+	}
+
+	// The TTL from the time of writing, cut short by the expiry of the token
+	private static class UntilExpiry implements Expiry<String, CachedPrincipal> {
+
+		@Override
+		public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+			long millis = Math.max(0, value.expiresAt - System.currentTimeMillis());
+			return TimeUnit.MILLISECONDS.toNanos(millis);
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+
+	private static class CachedPrincipal {
+
+		private final String username;
+		private final UserDetails userDetails;
+		private final long expiresAt;
+
+		CachedPrincipal(String username, UserDetails userDetails, long expiresAt) {
+			this.username = username;
+			this.userDetails = userDetails;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package br.com.erudio.services;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,6 +13,7 @@ import org.springframework.stereotype.Service;
 import br.com.erudio.data.vo.v1.security.AccountCredentialsVO;
 import br.com.erudio.data.vo.v1.security.TokenVO;
 import br.com.erudio.repositories.UserRepository;
+import br.com.erudio.security.SigninExecutor;
 import br.com.erudio.security.jwt.JwtTokenProvider;
 
 @Service
@@ -25,26 +28,34 @@ public class AuthServices {
 	@Autowired
 	private UserRepository repository;
 	
+	@Autowired
+	private SigninExecutor signinExecutor;
+	
+	// The password hash is checked on the signin pool, so Tomcat threads are released while it runs
 	@SuppressWarnings("rawtypes")
-	public ResponseEntity signin(AccountCredentialsVO data) {
-		try {
-			var username = data.getUsername();
-			var password = data.getPassword();
-			authenticationManager.authenticate(
-				new UsernamePasswordAuthenticationToken(username, password));
-			
-			var user = repository.findByUsername(username);
-			
-			var tokenResponse = new TokenVO();
-			if (user != null) {
-				tokenResponse = tokenProvider.createAccessToken(username, user.getRoles());
-			} else {
-				throw new UsernameNotFoundException("Username " + username + " not found!");
+	public CompletableFuture<ResponseEntity> signin(AccountCredentialsVO data) {
+		// Resolved here, the pool threads have no request bound to them
+		var issuerUrl = tokenProvider.currentIssuer();
+		return signinExecutor.submit(() -> {
+			try {
+				var username = data.getUsername();
+				var password = data.getPassword();
+				authenticationManager.authenticate(
+					new UsernamePasswordAuthenticationToken(username, password));
+				
+				var user = repository.findByUsername(username);
+				
+				var tokenResponse = new TokenVO();
+				if (user != null) {
+					tokenResponse = tokenProvider.createAccessToken(username, user.getRoles(), issuerUrl);
+				} else {
+					throw new UsernameNotFoundException("Username " + username + " not found!");
+				}
+				return ResponseEntity.ok(tokenResponse);
+			} catch (Exception e) {
+				throw new BadCredentialsException("Invalid username/password supplied!");
 			}
-			return ResponseEntity.ok(tokenResponse);
-		} catch (Exception e) {
-			throw new BadCredentialsException("Invalid username/password supplied!");
-		}
+		});
 	}
 	
 	@SuppressWarnings("rawtypes")
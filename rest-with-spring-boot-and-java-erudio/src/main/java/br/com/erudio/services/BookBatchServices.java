@@ -0,0 +1,112 @@
+package br.com.erudio.services;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import br.com.erudio.cache.CountCache;
+import br.com.erudio.cache.ResponseBodyCache;
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.batch.BatchItemResultVO;
+import br.com.erudio.data.vo.v1.batch.BatchResultVO;
+import br.com.erudio.exceptions.RequiredObjectIsNullException;
+import br.com.erudio.model.Book;
+import br.com.erudio.repositories.JdbcBatchWriter;
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+public class BookBatchServices {
+	
+	private Logger logger = Logger.getLogger(BookBatchServices.class.getName());
+	
+	private static final String INSERT = "INSERT INTO books (author, launch_date, price, title) VALUES (?, ?, ?, ?)";
+	private static final String UPDATE = "UPDATE books SET author = ?, launch_date = ?, price = ?, title = ?, version = version + 1 WHERE id = ?";
+	private static final String DELETE = "DELETE FROM books WHERE id = ?";
+	
+	@Autowired
+	JdbcBatchWriter writer;
+	
+	@Autowired
+	CountCache countCache;
+	
+	@Autowired
+	ResponseBodyCache responseCache;
+	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
+	public BatchResultVO create(List<BookVO> books) {
+		
+		if (books == null || books.isEmpty()) throw new RequiredObjectIsNullException();
+		
+		logger.info("Creating " + books.size() + " books!");
+		long start = System.currentTimeMillis();
+		
+		var items = writer.write(INSERT, books, this::validate, (ps, book) -> {
+			ps.setString(1, book.getAuthor());
+			ps.setDate(2, new Date(book.getLaunchDate().getTime()));
+			ps.setDouble(3, book.getPrice());
+			ps.setString(4, book.getTitle());
+		}, BookVO::getKey, true, 201);
+		
+		countCache.invalidate(CountCache.BOOK);
+		return new BatchResultVO(items, 201, System.currentTimeMillis() - start);
+	}
+	
+	public BatchResultVO update(List<BookVO> books) {
+		
+		if (books == null || books.isEmpty()) throw new RequiredObjectIsNullException();
+		
+		logger.info("Updating " + books.size() + " books!");
+		long start = System.currentTimeMillis();
+		
+		var items = writer.write(UPDATE, books, book -> book.getKey() == null ? "id is required!" : validate(book),
+			(ps, book) -> {
+				ps.setString(1, book.getAuthor());
+				ps.setDate(2, new Date(book.getLaunchDate().getTime()));
+				ps.setDouble(3, book.getPrice());
+				ps.setString(4, book.getTitle());
+				ps.setLong(5, book.getKey());
+			}, BookVO::getKey, false, 200);
+		
+		evict(items, 200);
+		return new BatchResultVO(items, 200, System.currentTimeMillis() - start);
+	}
+	
+	public BatchResultVO delete(List<Long> ids) {
+		
+		if (ids == null || ids.isEmpty()) throw new RequiredObjectIsNullException();
+		
+		logger.info("Deleting " + ids.size() + " books!");
+		long start = System.currentTimeMillis();
+		
+		var items = writer.write(DELETE, ids, id -> null, (ps, id) -> ps.setLong(1, id), id -> id, false, 204);
+		
+		countCache.invalidate(CountCache.BOOK);
+		evict(items, 204);
+		return new BatchResultVO(items, 204, System.currentTimeMillis() - start);
+	}
+	
+	// Required values and the column lengths of the books table
+	private String validate(BookVO book) {
+		if (book.getAuthor() == null || book.getLaunchDate() == null
+				|| book.getPrice() == null || book.getTitle() == null)
+			return "author, launchDate, price and title are required!";
+		if (book.getAuthor().length() > 180) return "author is longer than 180 characters!";
+		if (book.getTitle().length() > 250) return "title is longer than 250 characters!";
+		return null;
+	}
+	
+	// The JDBC writes bypass Hibernate, so its second-level cache has to be told
+	private void evict(List<BatchItemResultVO> items, int successStatus) {
+		var cache = entityManagerFactory.getCache();
+		for (var item : items) {
+			if (item.getStatus() != successStatus) continue;
+			cache.evict(Book.class, item.getId());
+			responseCache.evict(ResponseBodyCache.BOOK, item.getId());
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package br.com.erudio.services;
+
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.stereotype.Service;
+
+import br.com.erudio.cache.CountCache;
+import br.com.erudio.cache.ResponseBodyCache;
+import br.com.erudio.controllers.BookReactiveController;
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.exceptions.PreconditionFailedException;
+import br.com.erudio.exceptions.RequiredObjectIsNullException;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.mapper.BookMapper;
+import br.com.erudio.model.Book;
+import br.com.erudio.repositories.reactive.ReactiveBookRepository;
+import br.com.erudio.util.SelfLinkFactory;
+import jakarta.persistence.EntityManagerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The v2, non-blocking counterpart of {@link BookServices}. Self links are
+ * resolved on the request thread, since the rows arrive on R2DBC threads.
+ */
+@Service
+public class BookReactiveServices {
+	
+	private Logger logger = Logger.getLogger(BookReactiveServices.class.getName());
+	
+	@Autowired
+	ReactiveBookRepository repository;
+	
+	@Autowired
+	CountCache countCache;
+	
+	@Autowired
+	ResponseBodyCache responseCache;
+	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
+	public Flux<BookVO> findAll(Pageable pageable, Direction direction) {
+		
+		logger.info("Finding all book!");
+		
+		var selfLinks = SelfLinkFactory.of(BookReactiveController.class);
+		return repository.findAll(direction, pageable.getPageSize(), pageable.getOffset())
+				.map(book -> toVO(book, selfLinks));
+	}
+	
+	public Mono<BookVO> findById(Long id) {
+		logger.info("Finding one book!");
+		
+		var selfLinks = SelfLinkFactory.of(BookReactiveController.class);
+		return repository.findById(id)
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No records found for this ID!")))
+				.map(book -> toVO(book, selfLinks));
+	}
+	
+	public Mono<BookVO> create(BookVO book) {
+		
+		if (book == null) throw new RequiredObjectIsNullException();
+		
+		logger.info("Creating one book!");
+		var selfLinks = SelfLinkFactory.of(BookReactiveController.class);
+		var entity = BookMapper.INSTANCE.toEntity(book);
+		return repository.insert(entity)
+				.map(id -> {
+					entity.setId(id);
+					entity.setVersion(0L);
+					countCache.invalidate(CountCache.BOOK);
+					return toVO(entity, selfLinks);
+				});
+	}
+	
+	public Mono<BookVO> update(BookVO book, Long expectedVersion) {
+		
+		if (book == null) throw new RequiredObjectIsNullException();
+		if (book.getKey() == null) throw new ResourceNotFoundException("No records found for this ID!");
+		
+		logger.info("Updating one book!");
+		var selfLinks = SelfLinkFactory.of(BookReactiveController.class);
+		Long id = book.getKey();
+		return repository.update(BookMapper.INSTANCE.toEntity(book), expectedVersion)
+				.flatMap(updated -> updated == 0 ? this.<Book>writeFailed(id, expectedVersion) : findAfterWrite(id))
+				.map(saved -> {
+					evict(id);
+					return toVO(saved, selfLinks);
+				});
+	}
+	
+	public Mono<Void> delete(Long id, Long expectedVersion) {
+		
+		logger.info("Deleting one book!");
+		
+		return repository.delete(id, expectedVersion)
+				.flatMap(deleted -> deleted == 0 ? this.<Void>writeFailed(id, expectedVersion) : Mono.<Void>fromRunnable(() -> {
+					countCache.invalidate(CountCache.BOOK);
+					evict(id);
+				}));
+	}
+	
+	private Mono<Book> findAfterWrite(Long id) {
+		return repository.findById(id)
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No records found for this ID!")));
+	}
+	
+	// Nothing matched: either there is no such book or it is no longer at the expected version
+	private <T> Mono<T> writeFailed(Long id, Long expectedVersion) {
+		if (expectedVersion == null) return Mono.error(new ResourceNotFoundException("No records found for this ID!"));
+		return repository.existsById(id).flatMap(exists -> Mono.error(exists
+				? new PreconditionFailedException("The book was changed since it was read!")
+				: new ResourceNotFoundException("No records found for this ID!")));
+	}
+	
+	// R2DBC writes bypass Hibernate, so the v1 caches have to be told
+	private void evict(Long id) {
+		entityManagerFactory.getCache().evict(Book.class, id);
+		responseCache.evict(ResponseBodyCache.BOOK, id);
+	}
+	
+	private BookVO toVO(Book book, SelfLinkFactory selfLinks) {
+		var vo = BookMapper.INSTANCE.toVO(book);
+		vo.add(selfLinks.forId(vo.getKey()));
+		return vo;
+	}
+}
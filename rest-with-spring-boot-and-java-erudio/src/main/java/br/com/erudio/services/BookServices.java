@@ -3,28 +3,50 @@ package br.com.erudio.services;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.util.List;
 import java.util.logging.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.com.erudio.cache.CountCache;
+import br.com.erudio.cache.ResponseBodyCache;
 import br.com.erudio.controllers.BookController;
 import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.exceptions.PreconditionFailedException;
 import br.com.erudio.exceptions.RequiredObjectIsNullException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
-import br.com.erudio.mapper.DozerMapper;
+import br.com.erudio.exports.ExportFormat;
+import br.com.erudio.exports.TableExporter;
+import br.com.erudio.mapper.BookMapper;
 import br.com.erudio.model.Book;
 import br.com.erudio.repositories.BookRepository;
+import br.com.erudio.util.CountMode;
+import br.com.erudio.util.CountedPageMetadata;
+import br.com.erudio.util.KeysetPages;
+import br.com.erudio.util.SeekCursor;
+import br.com.erudio.util.SelfLinkFactory;
+import br.com.erudio.util.SlicedModels;
+import br.com.erudio.util.Transactions;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
 
 @Service
 public class BookServices {
 	
 	private Logger logger = Logger.getLogger(BookServices.class.getName());
+
+	private static final String EXPORT_SQL = "SELECT id, author, launch_date, price, title FROM books ORDER BY id";
+	private static final List<String> EXPORT_FIELDS = List.of("id", "author", "launchDate", "price", "title");
 	
 	@Autowired
 	BookRepository repository;
@@ -32,33 +54,86 @@ public class BookServices {
 	@Autowired
 	PagedResourcesAssembler<BookVO> assembler;
 	
-	public PagedModel<EntityModel<BookVO>> findAll(Pageable pageable) {
+	@Autowired
+	CountCache countCache;
+	
+	@Autowired
+	ResponseBodyCache responseCache;
+	
+	@Autowired
+	TableExporter exporter;
+	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
+	public PagedModel<EntityModel<BookVO>> findAll(Pageable pageable, CountMode countMode) {
 		
 		logger.info("Finding all book!");
 		
-		var booksPage = repository.findAll(pageable);
+		var selfLinks = SelfLinkFactory.of(BookController.class);
+		
+		if (countMode == CountMode.NONE) {
+			var booksSlice = repository.findBooksSlice(pageable).map(BookMapper.INSTANCE::toVO);
+			booksSlice.forEach(p -> p.add(selfLinks.forId(p.getKey())));
+			return SlicedModels.toModel(booksSlice, page -> linkTo(
+					methodOn(BookController.class).findAll(page, pageable.getPageSize(), "asc", null, null, countMode.toLinkParam())).withSelfRel().expand());
+		}
+		
+		Page<Book> booksPage;
+		if (countMode == CountMode.CACHED) {
+			long total = countCache.get(CountCache.BOOK, repository::count);
+			booksPage = new PageImpl<>(repository.findBooksSlice(pageable).getContent(), pageable, total);
+		} else {
+			booksPage = repository.findAll(pageable);
+		}
 
-		var booksVOs = booksPage.map(p -> DozerMapper.parseObject(p, BookVO.class));
-		booksVOs.map(p -> p.add(linkTo(methodOn(BookController.class).findById(p.getKey())).withSelfRel()));
+		var booksVOs = booksPage.map(BookMapper.INSTANCE::toVO);
+		booksVOs.forEach(p -> p.add(selfLinks.forId(p.getKey())));
 		
+		// Expanding drops the unset optional parameters (after, before, count) instead of templating them
 		Link findAllLink = linkTo(
 		          methodOn(BookController.class)
 		          	.findAll(pageable.getPageNumber(),
 	                         pageable.getPageSize(),
-	                         "asc")).withSelfRel();
+	                         "asc", null, null, countMode.toLinkParam())).withSelfRel().expand();
 		
-		return assembler.toModel(booksVOs, findAllLink);
+		return CountedPageMetadata.of(assembler.toModel(booksVOs, findAllLink), countMode);
+	}
+
+	public PagedModel<EntityModel<BookVO>> findAllByCursor(String after, String before, int size, Direction direction) {
 		
+		logger.info("Finding all books by cursor!");
 		
+		var selfLinks = SelfLinkFactory.of(BookController.class);
+		var directionParam = direction.name().toLowerCase();
+		return KeysetPages.read(after, before, size, direction, "title",
+				(cursor, readDirection, limit) -> cursor == null ? repository.findBooksFromStart(limit)
+						: readDirection.isAscending() ? repository.findBooksAfter(cursor.getSortKey(), cursor.getId(), limit)
+						: repository.findBooksBefore(cursor.getSortKey(), cursor.getId(), limit),
+				books -> {
+					var vos = BookMapper.INSTANCE.toVOList(books);
+					vos.forEach(p -> p.add(selfLinks.forId(p.getKey())));
+					return vos;
+				},
+				vo -> new SeekCursor(vo.getTitle(), vo.getKey()),
+				(afterParam, beforeParam) -> linkTo(methodOn(BookController.class)
+						.findAll(null, size, directionParam, afterParam, beforeParam, null)).withSelfRel());
 	}
 
+	public StreamingResponseBody export(ExportFormat format) {
+
+		logger.info("Exporting all books as " + format + "!");
+
+		return out -> exporter.export(EXPORT_SQL, EXPORT_FIELDS, "books", "book", format, out);
+	}
+	
 	public BookVO findById(Long id) {
 		logger.info("Finding one book!");
 
 		var entity = repository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-		var vo = DozerMapper.parseObject(entity, BookVO.class);
-		vo.add(linkTo(methodOn(BookController.class).findById(id)).withSelfRel());
+		var vo = BookMapper.INSTANCE.toVO(entity);
+		vo.add(SelfLinkFactory.of(BookController.class).forId(id));
 		return vo;
 	}
 	
@@ -67,38 +142,74 @@ public class BookServices {
 		if (book == null) throw new RequiredObjectIsNullException();
 		
 		logger.info("Creating one book!");
-		var entity = DozerMapper.parseObject(book, Book.class);
-		var vo = DozerMapper.parseObject(repository.save(entity), BookVO.class);
-		vo.add(linkTo(methodOn(BookController.class).findById(vo.getKey())).withSelfRel());
+		var entity = BookMapper.INSTANCE.toEntity(book);
+		var vo = BookMapper.INSTANCE.toVO(repository.save(entity));
+		countCache.invalidate(CountCache.BOOK);
+		vo.add(SelfLinkFactory.of(BookController.class).forId(vo.getKey()));
 		return vo;
 	}
 	
+	@Transactional
 	public BookVO update(BookVO book) {
+		return update(book, null, true);
+	}
+	
+	/**
+	 * Writes the book with a single UPDATE, only if it is still at the
+	 * expected version when one is given. The row is only read back when the
+	 * caller wants the body; otherwise {@code null} is returned.
+	 */
+	@Transactional
+	public BookVO update(BookVO book, Long expectedVersion, boolean returnBody) {
 		
 		if (book == null) throw new RequiredObjectIsNullException();
 
 		logger.info("Updating one book!");
 		
-		var entity = repository.findById(book.getKey())
-		.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
+		int updated = repository.updateBook(book.getKey(), book.getAuthor(), book.getLaunchDate(),
+				book.getPrice(), book.getTitle(), expectedVersion);
+		if (updated == 0) throw writeFailed(book.getKey(), expectedVersion);
+		evict(book.getKey());
 		
-		entity.setAuthor(book.getAuthor());
-		entity.setLaunchDate(book.getLaunchDate());
-		entity.setTitle(book.getTitle());
-		entity.setPrice(book.getPrice());
+		if (!returnBody) return null;
 		
-		var vo = DozerMapper.parseObject(repository.save(entity), BookVO.class);
-		vo.add(linkTo(methodOn(BookController.class).findById(vo.getKey())).withSelfRel());
+		var entity = repository.findById(book.getKey())
+				.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
+		var vo = BookMapper.INSTANCE.toVO(entity);
+		vo.add(SelfLinkFactory.of(BookController.class).forId(vo.getKey()));
 		return vo;
 	}
 	
+	@Transactional
 	public void delete(Long id) {
+		delete(id, null);
+	}
+	
+	@Transactional
+	public void delete(Long id, Long expectedVersion) {
 		
 		logger.info("Deleting one book!");
 		
-		var entity = repository.findById(id)
-				.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-		repository.delete(entity);
+		if (repository.deleteBook(id, expectedVersion) == 0) throw writeFailed(id, expectedVersion);
+		countCache.invalidate(CountCache.BOOK);
+		evict(id);
+	}
+	
+	// The single-row writes leave the cache region alone (see BookRepository), so the row is evicted
+	// now for the read back, and again at the end for any GET that cached the old row meanwhile
+	private void evict(Long id) {
+		var cache = entityManagerFactory.getCache();
+		cache.evict(Book.class, id);
+		Transactions.afterCompletion(() -> cache.evict(Book.class, id));
+		responseCache.evict(ResponseBodyCache.BOOK, id);
+	}
+	
+	// Nothing matched: either there is no such book or it is no longer at the expected version
+	private RuntimeException writeFailed(Long id, Long expectedVersion) {
+		if (expectedVersion != null && id != null && repository.existsById(id)) {
+			return new PreconditionFailedException("The book was changed since it was read!");
+		}
+		return new ResourceNotFoundException("No records found for this ID!");
 	}
 	
 }
@@ -1,67 +1,284 @@
 package br.com.erudio.services;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import br.com.erudio.config.FileStorageConfig;
 import br.com.erudio.exceptions.FileStorageException;
+import br.com.erudio.exceptions.FileTooLargeException;
 import br.com.erudio.exceptions.MyFileNotFoundException;
+import br.com.erudio.files.BlobStorage;
+import br.com.erudio.files.FileIndex;
+import br.com.erudio.files.LocalBlobStorage;
+import br.com.erudio.files.StoredFile;
+import br.com.erudio.model.FileEntry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
+/**
+ * Content-addressed file store. Bytes live once per distinct content in the
+ * {@link BlobStorage} under {@code ab/cd/<sha256>}, two levels of 256 directories
+ * so a few million blobs stay at a few hundred entries per directory, and the
+ * {@link FileIndex} maps logical names to blobs and counts their references.
+ * An upload takes its reference in the database before it looks at the bytes,
+ * and the orphan sweep deletes bytes under the lock of the blob row, so nodes
+ * sharing the storage never delete a blob another one is linking.
+ */
 @Service
 public class FileStorageService {
 	
+	private Logger logger = Logger.getLogger(FileStorageService.class.getName());
+	
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int MAX_FILENAME_LENGTH = 255;
+	private static final int ORPHANS_PER_SWEEP = 500;
+	private static final int LINK_ATTEMPTS = 3;
+	
 	private final Path fileStorageLocation;
+	private final Path tempLocation;
+	private final long maxFileSize;
+	private final long orphanGracePeriod;
+	
+	private final FileIndex index;
+	private final BlobStorage storage;
+	// Files uploaded before the content-addressed layout, kept flat under uploadDir
+	private final BlobStorage legacyStorage;
+	
+	private final Timer uploadTimer;
+	private final DistributionSummary uploadThroughput;
 
 	@Autowired
-	public FileStorageService(FileStorageConfig fileStorageConfig) {
+	public FileStorageService(FileStorageConfig fileStorageConfig, FileIndex index, BlobStorage storage,
+			MeterRegistry registry) {
 		Path path = Paths.get(fileStorageConfig.getUploadDir())
 			.toAbsolutePath().normalize();
 		
 		this.fileStorageLocation = path;
+		this.tempLocation = path.resolve("tmp");
+		this.maxFileSize = fileStorageConfig.getMaxFileSize().toBytes();
+		this.orphanGracePeriod = fileStorageConfig.getOrphanGracePeriod().toMillis();
+		this.index = index;
+		this.storage = storage;
 		
 		try {
-			Files.createDirectories(this.fileStorageLocation);
+			Files.createDirectories(this.tempLocation);
 		} catch (Exception e) {
 			throw new FileStorageException(
 				"Could not create the directory where the uploaded files will be stored!", e);
 		}
+		this.legacyStorage = new LocalBlobStorage(path);
+		
+		uploadTimer = Timer.builder("file.upload")
+			.description("Time spent streaming an upload to disk")
+			.register(registry);
+		uploadThroughput = DistributionSummary.builder("file.upload.throughput")
+			.description("Throughput of each upload")
+			.baseUnit("bytes/s")
+			.register(registry);
 	}
 	
-	public String storeFile(MultipartFile file) {
-		String filename = StringUtils.cleanPath(file.getOriginalFilename());
+	/**
+	 * Multipart parts have already been spooled by the servlet container, so
+	 * their bytes are written twice. Only the raw body upload avoids that.
+	 */
+	public StoredFile storeFile(MultipartFile file) {
+		try (InputStream content = file.getInputStream()) {
+			return storeFile(file.getOriginalFilename(), content);
+		} catch (IOException e) {
+			throw new FileStorageException(
+				"Could not store file " + file.getOriginalFilename() + ". Please try again!", e);
+		}
+	}
+	
+	/**
+	 * Streams the content into a temporary file while hashing it. New content is
+	 * then handed to the blob storage; content already stored is dropped, and
+	 * the upload only costs an index write.
+	 */
+	public StoredFile storeFile(String originalFilename, InputStream content) {
+		String filename = validFilename(originalFilename);
+		
+		long start = System.nanoTime();
+		Path temp = null;
 		try {
-			// Filename..txt
-			if (filename.contains("..")) {
-				throw new FileStorageException(
-					"Sorry! Filename contains invalid path sequence " + filename);
+			temp = Files.createTempFile(this.tempLocation, "upload-", ".part");
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			long size = 0;
+			byte[] buffer = new byte[BUFFER_SIZE];
+			try (OutputStream out = Files.newOutputStream(temp)) {
+				int read;
+				while ((read = content.read(buffer)) != -1) {
+					size += read;
+					if (size > maxFileSize) {
+						throw new FileTooLargeException(
+							"File " + filename + " is larger than " + maxFileSize + " bytes!");
+					}
+					digest.update(buffer, 0, read);
+					out.write(buffer, 0, read);
+				}
+			}
+			String sha256 = HexFormat.of().formatHex(digest.digest());
+			
+			String key = blobKey(sha256);
+			FileEntry entry;
+			index.acquire(sha256, size);
+			try {
+				if (storage.exists(key)) {
+					logger.info("Content of " + filename + " is already stored as " + sha256);
+				} else {
+					storage.put(key, temp);
+				}
+				entry = link(filename, sha256, size);
+			} catch (Exception e) {
+				releaseQuietly(sha256);
+				throw e;
 			}
-			Path targetLocation = this.fileStorageLocation.resolve(filename);
-			Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-			return filename;
+			
+			StoredFile stored = new StoredFile(filename, storage, key, size, sha256,
+				entry.getCreatedAt().getTime(), System.nanoTime() - start);
+			uploadTimer.record(stored.getElapsedNanos(), TimeUnit.NANOSECONDS);
+			uploadThroughput.record(stored.getBytesPerSecond());
+			logger.info("Stored " + filename + " (" + size + " bytes) at "
+				+ String.format("%.1f", stored.getBytesPerSecond() / 1048576d) + " MB/s");
+			return stored;
+		} catch (FileTooLargeException e) {
+			throw e;
 		} catch (Exception e) {
 			throw new FileStorageException(
 				"Could not store file " + filename + ". Please try again!", e);
+		} finally {
+			deleteQuietly(temp);
 		}
 	}
 	
-	public Resource loadFileAsResource(String filename) {
+	/**
+	 * Resolves a logical name through the index. Files uploaded before the
+	 * content-addressed layout are still served from their flat path.
+	 */
+	public StoredFile loadFile(String filename) {
+		Optional<FileEntry> entry = index.find(filename);
+		if (entry.isPresent()) {
+			String key = blobKey(entry.get().getSha256());
+			Path local = storage.localPath(key);
+			if (local != null && !Files.isRegularFile(local)) {
+				logger.warning("Blob " + entry.get().getSha256() + " of " + filename + " is missing!");
+				throw new MyFileNotFoundException("File not found " + filename);
+			}
+			return new StoredFile(filename, storage, key, entry.get().getSize(), entry.get().getSha256(),
+				entry.get().getCreatedAt().getTime(), 0);
+		}
+		
+		Path filePath = this.fileStorageLocation.resolve(filename).normalize();
+		if (!this.fileStorageLocation.equals(filePath.getParent()) || !Files.isRegularFile(filePath)) {
+			throw new MyFileNotFoundException("File not found " + filename);
+		}
 		try {
-			Path filePath = this.fileStorageLocation.resolve(filename).normalize();
-			Resource resource = new UrlResource(filePath.toUri());
-			if (resource.exists()) return resource;
-			else throw new MyFileNotFoundException("File not found");
+			BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+			return new StoredFile(filename, legacyStorage, filename, attributes.size(), null,
+				attributes.lastModifiedTime().toMillis(), 0);
+		} catch (IOException e) {
+			throw new MyFileNotFoundException("File not found " + filename, e);
+		}
+	}
+	
+	/**
+	 * Removes the name from the index. Its blob is deleted by the orphan sweep
+	 * once no other name references it.
+	 */
+	public void deleteFile(String filename) {
+		if (!index.unlink(filename)) throw new MyFileNotFoundException("File not found " + filename);
+	}
+	
+	@Scheduled(fixedDelayString = "${file.orphan-sweep-interval:600000}")
+	public void deleteOrphanBlobs() {
+		List<String> orphans = index.findOrphans(orphanGracePeriod, ORPHANS_PER_SWEEP);
+		int deleted = 0;
+		for (String sha256 : orphans) {
+			try {
+				if (index.deleteOrphan(sha256, orphanGracePeriod, () -> deleteBlob(sha256))) deleted++;
+			} catch (Exception e) {
+				logger.warning("Could not delete the orphan blob " + sha256 + "!");
+			}
+		}
+		if (deleted > 0) logger.info("Deleted " + deleted + " orphan blob(s)!");
+	}
+	
+	private String validFilename(String originalFilename) {
+		String filename = StringUtils.cleanPath(originalFilename == null ? "" : originalFilename);
+		// Filename..txt
+		if (filename.isBlank() || filename.contains("..") || filename.contains("/")
+				|| filename.length() > MAX_FILENAME_LENGTH) {
+			throw new FileStorageException(
+				"Sorry! Filename contains invalid path sequence " + filename);
+		}
+		return filename;
+	}
+	
+	/**
+	 * Uploads of the same new name on several nodes all find no row to lock.
+	 * Either one inserts it first and the others hit the primary key, or
+	 * InnoDB's gap locks make them deadlock and all but one are rolled back.
+	 * Both losers retry, find the row the winner created and replace it.
+	 */
+	private FileEntry link(String filename, String sha256, long size) {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return index.link(filename, sha256, size);
+			} catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+				if (attempt == LINK_ATTEMPTS) throw e;
+				logger.info("Linking " + filename + " raced with another upload, retrying!");
+			}
+		}
+	}
+	
+	private String blobKey(String sha256) {
+		return sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+	}
+	
+	// Failing keeps the blob row, so the next sweep tries again
+	private void deleteBlob(String sha256) {
+		try {
+			storage.delete(blobKey(sha256));
+		} catch (IOException e) {
+			throw new FileStorageException("Could not delete the blob " + sha256 + "!", e);
+		}
+	}
+	
+	private void releaseQuietly(String sha256) {
+		try {
+			index.release(sha256);
 		} catch (Exception e) {
-			throw new MyFileNotFoundException("File not found" + filename, e);
+			logger.warning("Could not release the reference on blob " + sha256 + ", the sweep will not reclaim it!");
+		}
+	}
+	
+	private void deleteQuietly(Path temp) {
+		if (temp == null) return;
+		try {
+			Files.deleteIfExists(temp);
+		} catch (IOException e) {
+			logger.warning("Could not delete the temporary upload " + temp + "!");
 		}
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package br.com.erudio.services;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import br.com.erudio.config.PasswordEncodingConfig;
+import br.com.erudio.config.SecurityConfig;
+import br.com.erudio.data.vo.v1.security.PasswordHashCalibrationVO;
+import br.com.erudio.exceptions.InvalidParameterValueException;
+import br.com.erudio.exceptions.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class PasswordHashCalibrationService {
+	
+	private Logger logger = Logger.getLogger(PasswordHashCalibrationService.class.getName());
+	
+	private static final int PROBE_ITERATIONS = 20000;
+	private static final int MIN_ITERATIONS = 10000;
+	private static final int MAX_ITERATIONS = 2000000;
+	private static final long MAX_TARGET_MILLIS = 1000;
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int MEASURED_ROUNDS = 5;
+	
+	@Autowired
+	PasswordEncodingConfig config;
+	
+	// Calibrations hash for seconds, so they run one at a time off the Tomcat threads
+	private final ThreadPoolTaskExecutor executor = calibrationExecutor();
+	
+	// The suggestion is meant for a new encoder id, the iterations of an existing id can't change
+	// without breaking the hashes already stored with it
+	public CompletableFuture<PasswordHashCalibrationVO> calibrate(long targetMillis) {
+		
+		if (targetMillis <= 0) throw new InvalidParameterValueException("The target latency must be greater than zero!");
+		
+		// Every measurement runs several full hashes, so the target is capped to keep the request short
+		long target = Math.min(targetMillis, MAX_TARGET_MILLIS);
+		try {
+			return executor.submitCompletable(() -> calibrateNow(target));
+		} catch (TaskRejectedException e) {
+			logger.warning("Calibration rejected, another one is running!");
+			throw new TooManyRequestsException("A calibration is already running, please try again later!", e);
+		}
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+	
+	private PasswordHashCalibrationVO calibrateNow(long targetMillis) {
+		
+		logger.info("Calibrating the password hash cost for " + targetMillis + "ms!");
+		
+		int suggested = suggestIterations(targetMillis, measure(PROBE_ITERATIONS) / PROBE_ITERATIONS);
+		
+		String encodingId = config.getEncodingId();
+		int currentIterations = config.getIterations().getOrDefault(encodingId, 0);
+		
+		return new PasswordHashCalibrationVO(
+				targetMillis,
+				encodingId,
+				currentIterations,
+				currentIterations > 0 ? measure(currentIterations) : 0,
+				suggested,
+				measure(suggested));
+	}
+	
+	private static ThreadPoolTaskExecutor calibrationExecutor() {
+		var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.setQueueCapacity(0);
+		executor.setThreadNamePrefix("password-hash-calibration-");
+		executor.initialize();
+		return executor;
+	}
+	
+	// PBKDF2 cost is linear in the iteration count, rounded down to whole thousands
+	public static int suggestIterations(long targetMillis, double millisPerIteration) {
+		double iterations = Math.min(targetMillis, MAX_TARGET_MILLIS) / millisPerIteration;
+		int suggested = (int) Math.min(iterations, MAX_ITERATIONS);
+		return Math.max(MIN_ITERATIONS, suggested - suggested % 1000);
+	}
+	
+	// Median of a few encodes after warm-up, so JIT and outliers don't skew the result
+	private double measure(int iterations) {
+		Pbkdf2PasswordEncoder encoder = SecurityConfig.pbkdf2Encoder(iterations);
+		for (int i = 0; i < WARMUP_ROUNDS; i++) encoder.encode("calibration");
+		
+		double[] samples = new double[MEASURED_ROUNDS];
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			long start = System.nanoTime();
+			encoder.encode("calibration");
+			samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+		}
+		Arrays.sort(samples);
+		return samples[MEASURED_ROUNDS / 2];
+	}
+}
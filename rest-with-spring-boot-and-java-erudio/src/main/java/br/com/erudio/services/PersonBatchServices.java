@@ -0,0 +1,139 @@
+package br.com.erudio.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import br.com.erudio.cache.CountCache;
+import br.com.erudio.cache.ResponseBodyCache;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.data.vo.v1.batch.BatchItemResultVO;
+import br.com.erudio.data.vo.v1.batch.BatchResultVO;
+import br.com.erudio.exceptions.RequiredObjectIsNullException;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.JdbcBatchWriter;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.search.PersonSearchIndex;
+import br.com.erudio.util.PersonConstraints;
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+public class PersonBatchServices {
+	
+	private Logger logger = Logger.getLogger(PersonBatchServices.class.getName());
+	
+	private static final String INSERT = "INSERT INTO person (first_name, last_name, address, gender, enabled) VALUES (?, ?, ?, ?, ?)";
+	private static final String UPDATE = "UPDATE person SET first_name = ?, last_name = ?, address = ?, gender = ?, version = version + 1 WHERE id = ?";
+	private static final String DELETE = "DELETE FROM person WHERE id = ?";
+	
+	@Autowired
+	JdbcBatchWriter writer;
+	
+	@Autowired
+	PersonRepository repository;
+	
+	@Autowired
+	CountCache countCache;
+	
+	@Autowired
+	ResponseBodyCache responseCache;
+	
+	@Autowired
+	PersonSearchIndex searchIndex;
+	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
+	public BatchResultVO create(List<PersonVO> people) {
+		
+		if (people == null || people.isEmpty()) throw new RequiredObjectIsNullException();
+		
+		logger.info("Creating " + people.size() + " people!");
+		long start = System.currentTimeMillis();
+		
+		var items = writer.write(INSERT, people, PersonConstraints::check, (ps, person) -> {
+			ps.setString(1, person.getFirstName());
+			ps.setString(2, person.getLastName());
+			ps.setString(3, person.getAddress());
+			ps.setString(4, person.getGender());
+			ps.setBoolean(5, person.getEnabled() == null || person.getEnabled());
+		}, PersonVO::getKey, true, 201);
+		
+		countCache.invalidate(CountCache.PERSON);
+		for (var item : items) {
+			if (item.getStatus() != 201) continue;
+			var person = people.get(item.getIndex());
+			var entity = new Person();
+			entity.setId(item.getId());
+			entity.setFirstName(person.getFirstName());
+			entity.setLastName(person.getLastName());
+			entity.setAddress(person.getAddress());
+			entity.setGender(person.getGender());
+			entity.setEnabled(person.getEnabled() == null || person.getEnabled());
+			searchIndex.index(entity);
+		}
+		return new BatchResultVO(items, 201, System.currentTimeMillis() - start);
+	}
+	
+	public BatchResultVO update(List<PersonVO> people) {
+		
+		if (people == null || people.isEmpty()) throw new RequiredObjectIsNullException();
+		
+		logger.info("Updating " + people.size() + " people!");
+		long start = System.currentTimeMillis();
+		
+		var items = writer.write(UPDATE, people, person -> person.getKey() == null ? "id is required!" : PersonConstraints.check(person),
+			(ps, person) -> {
+				ps.setString(1, person.getFirstName());
+				ps.setString(2, person.getLastName());
+				ps.setString(3, person.getAddress());
+				ps.setString(4, person.getGender());
+				ps.setLong(5, person.getKey());
+			}, PersonVO::getKey, false, 200);
+		
+		var updated = succeededIds(items, 200);
+		evict(updated);
+		// Reloaded rather than built from the request, which doesn't carry "enabled"
+		for (int from = 0; from < updated.size(); from += writer.getChunkSize()) {
+			repository.findAllById(updated.subList(from, Math.min(from + writer.getChunkSize(), updated.size())))
+				.forEach(searchIndex::index);
+		}
+		return new BatchResultVO(items, 200, System.currentTimeMillis() - start);
+	}
+	
+	public BatchResultVO delete(List<Long> ids) {
+		
+		if (ids == null || ids.isEmpty()) throw new RequiredObjectIsNullException();
+		
+		logger.info("Deleting " + ids.size() + " people!");
+		long start = System.currentTimeMillis();
+		
+		var items = writer.write(DELETE, ids, id -> null, (ps, id) -> ps.setLong(1, id), id -> id, false, 204);
+		
+		var deleted = succeededIds(items, 204);
+		countCache.invalidate(CountCache.PERSON);
+		evict(deleted);
+		deleted.forEach(searchIndex::delete);
+		return new BatchResultVO(items, 204, System.currentTimeMillis() - start);
+	}
+	
+	private List<Long> succeededIds(List<BatchItemResultVO> items, int successStatus) {
+		List<Long> ids = new ArrayList<>();
+		for (var item : items) {
+			if (item.getStatus() == successStatus) ids.add(item.getId());
+		}
+		return ids;
+	}
+	
+	// The JDBC writes bypass Hibernate, so its second-level cache has to be told
+	private void evict(List<Long> ids) {
+		var cache = entityManagerFactory.getCache();
+		for (Long id : ids) {
+			cache.evict(Person.class, id);
+			responseCache.evict(ResponseBodyCache.PERSON, id);
+		}
+	}
+}
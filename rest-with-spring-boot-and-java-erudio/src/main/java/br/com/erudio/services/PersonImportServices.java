@@ -0,0 +1,144 @@
+package br.com.erudio.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.data.vo.v1.imports.ImportJobVO;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.imports.ImportExecutor;
+import br.com.erudio.imports.ImportFormat;
+import br.com.erudio.imports.ImportJob;
+import br.com.erudio.imports.ImportJobRegistry;
+import br.com.erudio.imports.PersonRowReader;
+import br.com.erudio.util.PersonConstraints;
+
+@Service
+public class PersonImportServices {
+	
+	private Logger logger = Logger.getLogger(PersonImportServices.class.getName());
+	
+	@Autowired
+	PersonBatchServices batchServices;
+	
+	@Autowired
+	ImportJobRegistry registry;
+	
+	@Autowired
+	ImportExecutor executor;
+	
+	@Autowired
+	ObjectMapper objectMapper;
+	
+	@Value("${batch.chunk-size:1000}")
+	private int chunkSize = 1000;
+	
+	@Value("${batch.import-timeout:1h}")
+	private Duration timeout = Duration.ofHours(1);
+	
+	/**
+	 * Reserves a place among the running imports or in their queue, hands the
+	 * new job to {@code accepted} so the caller gets its id before a byte is
+	 * read, then parses the body on the calling thread as it arrives. The body is
+	 * only read as fast as the chunks are written, so TCP flow control slows the
+	 * client down, and a queued import leaves its body unread until its turn.
+	 * An import still going after {@code batch.import-timeout} is stopped and
+	 * marked failed.
+	 * 
+	 * @return the final job
+	 */
+	public ImportJobVO importPeople(InputStream body, ImportFormat format, Consumer<ImportJobVO> accepted) {
+		
+		executor.reserve();
+		var job = registry.start(format);
+		long deadline = System.nanoTime() + timeout.toNanos();
+		logger.info("Queueing import of people from " + format + ", job " + job.getId() + "!");
+		
+		try {
+			accepted.accept(job.toVO());
+		} catch (RuntimeException e) {
+			executor.cancel();
+			job.failed(e.getMessage());
+			throw e;
+		}
+		
+		try {
+			if (!executor.run(() -> run(job, body, format, deadline), timeout)) {
+				job.failed("The import waited longer than " + timeout + " for its turn!");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			job.failed("The import was interrupted!");
+		}
+		return job.toVO();
+	}
+	
+	/**
+	 * Reads the stream row by row and writes a chunk as soon as it is full, so
+	 * memory use doesn't depend on the size of the file.
+	 */
+	private void run(ImportJob job, InputStream body, ImportFormat format, long deadline) {
+		
+		job.running();
+		logger.info("Importing people from " + format + ", job " + job.getId() + "!");
+		
+		List<PersonVO> chunk = new ArrayList<>(chunkSize);
+		List<Long> lines = new ArrayList<>(chunkSize);
+		
+		// Closing the reader closes the body, so a stopped import reads no further
+		try (var rows = PersonRowReader.of(format, body, objectMapper)) {
+			PersonRowReader.Row row;
+			while ((row = rows.next()) != null) {
+				if (System.nanoTime() - deadline > 0) {
+					logger.warning("Import " + job.getId() + " timed out!");
+					job.failed("The import took longer than " + timeout + "!");
+					return;
+				}
+				job.read();
+				String error = row.error() != null ? row.error() : PersonConstraints.check(row.person());
+				if (error != null) {
+					job.rejected(row.line(), error);
+					continue;
+				}
+				chunk.add(row.person());
+				lines.add(row.line());
+				if (chunk.size() == chunkSize) write(job, chunk, lines);
+			}
+			if (!chunk.isEmpty()) write(job, chunk, lines);
+			job.completed();
+		} catch (IOException | RuntimeException e) {
+			logger.warning("Import " + job.getId() + " failed: " + e.getMessage());
+			job.failed(e.getMessage());
+		}
+	}
+	
+	public ImportJobVO findJob(String id) {
+		return registry.find(id).map(ImportJob::toVO)
+			.orElseThrow(() -> new ResourceNotFoundException("No import job found for this ID!"));
+	}
+	
+	public List<ImportJobVO> findAllJobs() {
+		return registry.findAll().stream().map(ImportJob::toVO).toList();
+	}
+	
+	private void write(ImportJob job, List<PersonVO> chunk, List<Long> lines) {
+		var result = batchServices.create(chunk);
+		job.imported(result.getSucceeded());
+		for (var item : result.getItems()) {
+			if (item.getStatus() != 201) job.rejected(lines.get(item.getIndex()), item.getError());
+		}
+		chunk.clear();
+		lines.clear();
+	}
+}
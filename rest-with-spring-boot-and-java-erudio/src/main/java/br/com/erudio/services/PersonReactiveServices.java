@@ -0,0 +1,162 @@
+package br.com.erudio.services;
+
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.stereotype.Service;
+
+import br.com.erudio.cache.CountCache;
+import br.com.erudio.cache.ResponseBodyCache;
+import br.com.erudio.controllers.PersonReactiveController;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.exceptions.PreconditionFailedException;
+import br.com.erudio.exceptions.RequiredObjectIsNullException;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.mapper.PersonMapper;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.reactive.ReactivePersonRepository;
+import br.com.erudio.search.PersonSearchIndex;
+import br.com.erudio.util.NameSearchTerm;
+import br.com.erudio.util.SelfLinkFactory;
+import jakarta.persistence.EntityManagerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The v2, non-blocking counterpart of {@link PersonServices}. Self links are
+ * resolved on the request thread, since the rows arrive on R2DBC threads.
+ */
+@Service
+public class PersonReactiveServices {
+	
+	private Logger logger = Logger.getLogger(PersonReactiveServices.class.getName());
+	
+	@Autowired
+	ReactivePersonRepository repository;
+	
+	@Autowired
+	CountCache countCache;
+	
+	@Autowired
+	ResponseBodyCache responseCache;
+	
+	@Autowired
+	PersonSearchIndex searchIndex;
+	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
+	public Flux<PersonVO> findAll(Pageable pageable, Direction direction) {
+		
+		logger.info("Finding all people!");
+		
+		var selfLinks = SelfLinkFactory.of(PersonReactiveController.class);
+		return repository.findAll(direction, pageable.getPageSize(), pageable.getOffset())
+				.map(person -> toVO(person, selfLinks));
+	}
+	
+	public Flux<PersonVO> findPersonByName(String firstname, Pageable pageable, Direction direction) {
+		
+		logger.info("Finding people by name!");
+		
+		var selfLinks = SelfLinkFactory.of(PersonReactiveController.class);
+		return repository.findByName(NameSearchTerm.of(firstname), direction, pageable.getPageSize(), pageable.getOffset())
+				.map(person -> toVO(person, selfLinks));
+	}
+	
+	public Mono<PersonVO> findById(Long id) {
+		logger.info("Finding one person!");
+		
+		var selfLinks = SelfLinkFactory.of(PersonReactiveController.class);
+		return repository.findById(id)
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No records found for this ID!")))
+				.map(person -> toVO(person, selfLinks));
+	}
+	
+	public Mono<PersonVO> create(PersonVO person) {
+		
+		if (person == null) throw new RequiredObjectIsNullException();
+		
+		logger.info("Creating one person!");
+		var selfLinks = SelfLinkFactory.of(PersonReactiveController.class);
+		var entity = PersonMapper.INSTANCE.toEntity(person);
+		if (entity.getEnabled() == null) entity.setEnabled(true);
+		return repository.insert(entity)
+				.map(id -> {
+					entity.setId(id);
+					entity.setVersion(0L);
+					countCache.invalidate(CountCache.PERSON);
+					searchIndex.index(entity);
+					return toVO(entity, selfLinks);
+				});
+	}
+	
+	public Mono<PersonVO> update(PersonVO person, Long expectedVersion) {
+		
+		if (person == null) throw new RequiredObjectIsNullException();
+		if (person.getKey() == null) throw new ResourceNotFoundException("No records found for this ID!");
+		
+		logger.info("Updating one person!");
+		var selfLinks = SelfLinkFactory.of(PersonReactiveController.class);
+		Long id = person.getKey();
+		return repository.update(PersonMapper.INSTANCE.toEntity(person), expectedVersion)
+				.flatMap(updated -> updated == 0 ? this.<Person>writeFailed(id, expectedVersion) : findAfterWrite(id))
+				.map(saved -> {
+					evict(id);
+					searchIndex.index(saved);
+					return toVO(saved, selfLinks);
+				});
+	}
+	
+	public Mono<PersonVO> disablePerson(Long id, Long expectedVersion) {
+		logger.info("Disabling one person!");
+		
+		var selfLinks = SelfLinkFactory.of(PersonReactiveController.class);
+		return repository.disable(id, expectedVersion)
+				.flatMap(updated -> updated == 0 ? this.<Person>writeFailed(id, expectedVersion) : findAfterWrite(id))
+				.map(saved -> {
+					evict(id);
+					searchIndex.index(saved);
+					return toVO(saved, selfLinks);
+				});
+	}
+	
+	public Mono<Void> delete(Long id, Long expectedVersion) {
+		
+		logger.info("Deleting one person!");
+		
+		return repository.delete(id, expectedVersion)
+				.flatMap(deleted -> deleted == 0 ? this.<Void>writeFailed(id, expectedVersion) : Mono.<Void>fromRunnable(() -> {
+					countCache.invalidate(CountCache.PERSON);
+					searchIndex.delete(id);
+					evict(id);
+				}));
+	}
+	
+	private Mono<Person> findAfterWrite(Long id) {
+		return repository.findById(id)
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No records found for this ID!")));
+	}
+	
+	// Nothing matched: either there is no such person or it is no longer at the expected version
+	private <T> Mono<T> writeFailed(Long id, Long expectedVersion) {
+		if (expectedVersion == null) return Mono.error(new ResourceNotFoundException("No records found for this ID!"));
+		return repository.existsById(id).flatMap(exists -> Mono.error(exists
+				? new PreconditionFailedException("The person was changed since it was read!")
+				: new ResourceNotFoundException("No records found for this ID!")));
+	}
+	
+	// R2DBC writes bypass Hibernate, so the v1 caches have to be told
+	private void evict(Long id) {
+		entityManagerFactory.getCache().evict(Person.class, id);
+		responseCache.evict(ResponseBodyCache.PERSON, id);
+	}
+	
+	private PersonVO toVO(Person person, SelfLinkFactory selfLinks) {
+		var vo = PersonMapper.INSTANCE.toVO(person);
+		vo.add(selfLinks.forId(vo.getKey()));
+		return vo;
+	}
+}
@@ -3,29 +3,52 @@ package br.com.erudio.services;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.util.List;
 import java.util.logging.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.com.erudio.cache.CountCache;
+import br.com.erudio.cache.ResponseBodyCache;
 import br.com.erudio.controllers.PersonController;
 import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.exceptions.PreconditionFailedException;
 import br.com.erudio.exceptions.RequiredObjectIsNullException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
-import br.com.erudio.mapper.DozerMapper;
+import br.com.erudio.exports.ExportFormat;
+import br.com.erudio.exports.TableExporter;
+import br.com.erudio.mapper.PersonMapper;
 import br.com.erudio.model.Person;
 import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.search.PersonSearchIndex;
+import br.com.erudio.util.CountMode;
+import br.com.erudio.util.CountedPageMetadata;
+import br.com.erudio.util.KeysetPages;
+import br.com.erudio.util.NameSearchTerm;
+import br.com.erudio.util.SeekCursor;
+import br.com.erudio.util.SelfLinkFactory;
+import br.com.erudio.util.SlicedModels;
+import br.com.erudio.util.Transactions;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
 
 @Service
 public class PersonServices {
 	
 	private Logger logger = Logger.getLogger(PersonServices.class.getName());
+
+	private static final String EXPORT_SQL = "SELECT id, first_name, last_name, address, gender, enabled FROM person ORDER BY id";
+	private static final List<String> EXPORT_FIELDS = List.of("id", "firstName", "lastName", "address", "gender", "enabled");
 	
 	@Autowired
 	PersonRepository repository;
@@ -33,50 +56,127 @@ public class PersonServices {
 	@Autowired
 	PagedResourcesAssembler<PersonVO> assembler;
 	
-	public PagedModel<EntityModel<PersonVO>> findAll(Pageable pageable) {
+	@Autowired
+	CountCache countCache;
+	
+	@Autowired
+	ResponseBodyCache responseCache;
+	
+	@Autowired
+	PersonSearchIndex searchIndex;
+	
+	@Autowired
+	TableExporter exporter;
+	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
+	public PagedModel<EntityModel<PersonVO>> findAll(Pageable pageable, CountMode countMode) {
+		
+		logger.info("Finding all people!");
+		
+		var selfLinks = SelfLinkFactory.of(PersonController.class);
 		
-		logger.info("Finds People by Name!");
+		if (countMode == CountMode.NONE) {
+			var personVosSlice = repository.findPersonsSlice(pageable).map(PersonMapper.INSTANCE::toVO);
+			personVosSlice.forEach(p -> p.add(selfLinks.forId(p.getKey())));
+			return SlicedModels.toModel(personVosSlice, page -> linkTo(
+					methodOn(PersonController.class).findAll(page, pageable.getPageSize(), "asc", null, null, countMode.toLinkParam())).withSelfRel().expand());
+		}
 		
-		var personPage = repository.findAll(pageable);
-		var personVosPage = personPage.map(p -> DozerMapper.parseObject(p, PersonVO.class));
-		personVosPage.map(
-				p -> p.add(
-						linkTo(methodOn(PersonController.class)
-								.findById(p.getKey())).withSelfRel()));
+		Page<Person> personPage;
+		if (countMode == CountMode.CACHED) {
+			long total = countCache.get(CountCache.PERSON, repository::count);
+			personPage = new PageImpl<>(repository.findPersonsSlice(pageable).getContent(), pageable, total);
+		} else {
+			personPage = repository.findAll(pageable);
+		}
+		
+		var personVosPage = personPage.map(PersonMapper.INSTANCE::toVO);
+		personVosPage.forEach(p -> p.add(selfLinks.forId(p.getKey())));
 
+		// Expanding drops the unset optional parameters (after, before, count) instead of templating them
 		Link link = linkTo(
-				methodOn(PersonController.class).findAll(pageable.getPageNumber(), pageable.getPageSize(), "asc")).withSelfRel();
-		return assembler.toModel(personVosPage, link);
+				methodOn(PersonController.class).findAll(pageable.getPageNumber(), pageable.getPageSize(), "asc", null, null, countMode.toLinkParam())).withSelfRel().expand();
+		return CountedPageMetadata.of(assembler.toModel(personVosPage, link), countMode);
 	}
 	
-	public PagedModel<EntityModel<PersonVO>> findPersonByName(String firstname, Pageable pageable) {
+	public PagedModel<EntityModel<PersonVO>> findPersonByName(String firstname, Pageable pageable, CountMode countMode) {
 		
-		logger.info("Finding all people!");
+		logger.info("Finding people by name!");
+		
+		var selfLinks = SelfLinkFactory.of(PersonController.class);
+		var term = NameSearchTerm.of(firstname);
 		
-		var personPage = repository.findPersonsByName(firstname, pageable);
+		if (countMode == CountMode.NONE) {
+			var personVosSlice = repository.findPersonsSliceByName(term, pageable).map(PersonMapper.INSTANCE::toVO);
+			personVosSlice.forEach(p -> p.add(selfLinks.forId(p.getKey())));
+			return SlicedModels.toModel(personVosSlice, page -> linkTo(
+					methodOn(PersonController.class).findPersonByName(firstname, page, pageable.getPageSize(), "asc", countMode.toLinkParam())).withSelfRel().expand());
+		}
 		
-		var personVosPage = personPage.map(p -> DozerMapper.parseObject(p, PersonVO.class));
-		personVosPage.map(
-				p -> p.add(
-						linkTo(methodOn(PersonController.class)
-								.findById(p.getKey())).withSelfRel()));
+		var personVosPage = repository.findPersonsByName(term, pageable).map(PersonMapper.INSTANCE::toVO);
+		personVosPage.forEach(p -> p.add(selfLinks.forId(p.getKey())));
 		
 		Link link = linkTo(
 				methodOn(PersonController.class)
-				.findAll(pageable.getPageNumber(),
+				.findPersonByName(firstname,
+						pageable.getPageNumber(),
 						pageable.getPageSize(),
-						"asc")).withSelfRel();
+						"asc", countMode.toLinkParam())).withSelfRel().expand();
+		
+		return CountedPageMetadata.of(assembler.toModel(personVosPage, link), countMode);
+	}
+
+	public PagedModel<EntityModel<PersonVO>> search(String query, Pageable pageable) {
 		
+		logger.info("Searching people!");
+		
+		var personPage = searchIndex.search(query, pageable);
+		
+		var selfLinks = SelfLinkFactory.of(PersonController.class);
+		var personVosPage = personPage.map(PersonMapper.INSTANCE::toVO);
+		personVosPage.forEach(p -> p.add(selfLinks.forId(p.getKey())));
+		
+		Link link = linkTo(
+				methodOn(PersonController.class).search(query, pageable.getPageNumber(), pageable.getPageSize())).withSelfRel();
 		return assembler.toModel(personVosPage, link);
 	}
+	
+	public PagedModel<EntityModel<PersonVO>> findAllByCursor(String after, String before, int size, Direction direction) {
+		
+		logger.info("Finding all people by cursor!");
+		
+		var selfLinks = SelfLinkFactory.of(PersonController.class);
+		var directionParam = direction.name().toLowerCase();
+		return KeysetPages.read(after, before, size, direction, "firstName",
+				(cursor, readDirection, limit) -> cursor == null ? repository.findPersonsFromStart(limit)
+						: readDirection.isAscending() ? repository.findPersonsAfter(cursor.getSortKey(), cursor.getId(), limit)
+						: repository.findPersonsBefore(cursor.getSortKey(), cursor.getId(), limit),
+				people -> {
+					var vos = PersonMapper.INSTANCE.toVOList(people);
+					vos.forEach(p -> p.add(selfLinks.forId(p.getKey())));
+					return vos;
+				},
+				vo -> new SeekCursor(vo.getFirstName(), vo.getKey()),
+				(afterParam, beforeParam) -> linkTo(methodOn(PersonController.class)
+						.findAll(null, size, directionParam, afterParam, beforeParam, null)).withSelfRel());
+	}
+
+	public StreamingResponseBody export(ExportFormat format) {
 
+		logger.info("Exporting all people as " + format + "!");
+
+		return out -> exporter.export(EXPORT_SQL, EXPORT_FIELDS, "people", "person", format, out);
+	}
+	
 	public PersonVO findById(Long id) {
 		logger.info("Finding one person!");
 
 		var entity = repository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-		var vo = DozerMapper.parseObject(entity, PersonVO.class);
-		vo.add(linkTo(methodOn(PersonController.class).findById(id)).withSelfRel());
+		var vo = PersonMapper.INSTANCE.toVO(entity);
+		vo.add(SelfLinkFactory.of(PersonController.class).forId(id));
 		return vo;
 	}
 	
@@ -85,50 +185,106 @@ public class PersonServices {
 		if (person == null) throw new RequiredObjectIsNullException();
 		
 		logger.info("Creating one person!");
-		var entity = DozerMapper.parseObject(person, Person.class);
-		var vo = DozerMapper.parseObject(repository.save(entity), PersonVO.class);
-		vo.add(linkTo(methodOn(PersonController.class).findById(vo.getKey())).withSelfRel());
+		var entity = PersonMapper.INSTANCE.toEntity(person);
+		var saved = repository.save(entity);
+		countCache.invalidate(CountCache.PERSON);
+		Transactions.afterCommit(() -> searchIndex.index(saved));
+		var vo = PersonMapper.INSTANCE.toVO(saved);
+		vo.add(SelfLinkFactory.of(PersonController.class).forId(vo.getKey()));
 		return vo;
 	}
 	
+	@Transactional
 	public PersonVO update(PersonVO person) {
+		return update(person, null, true);
+	}
+	
+	/**
+	 * Writes the person with a single UPDATE, only if it is still at the
+	 * expected version when one is given. The row is only read back when the
+	 * caller wants the body; otherwise {@code null} is returned.
+	 */
+	@Transactional
+	public PersonVO update(PersonVO person, Long expectedVersion, boolean returnBody) {
 		
 		if (person == null) throw new RequiredObjectIsNullException();
 
 		logger.info("Updating one person!");
-		var entity = repository.findById(person.getKey())
-		.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
+		int updated = repository.updatePerson(person.getKey(), person.getFirstName(),
+				person.getLastName(), person.getAddress(), person.getGender(), expectedVersion);
+		if (updated == 0) throw writeFailed(person.getKey(), expectedVersion);
+		evict(person.getKey());
 		
-		entity.setFirstName(person.getFirstName());
-		entity.setLastName(person.getLastName());
-		entity.setAddress(person.getAddress());
-		entity.setGender(person.getGender());
-
-		var vo = DozerMapper.parseObject(repository.save(entity), PersonVO.class);
-		vo.add(linkTo(methodOn(PersonController.class).findById(vo.getKey())).withSelfRel());
+		if (!returnBody) {
+			var merged = PersonMapper.INSTANCE.toEntity(person);
+			Transactions.afterCommit(() -> searchIndex.merge(merged));
+			return null;
+		}
+		
+		var entity = repository.findById(person.getKey())
+				.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
+		Transactions.afterCommit(() -> searchIndex.index(entity));
+		var vo = PersonMapper.INSTANCE.toVO(entity);
+		vo.add(SelfLinkFactory.of(PersonController.class).forId(vo.getKey()));
 		return vo;
 	}
 	
 	@Transactional
 	public PersonVO disablePerson(Long id) {
+		return disablePerson(id, null, true);
+	}
+	
+	@Transactional
+	public PersonVO disablePerson(Long id, Long expectedVersion, boolean returnBody) {
 		logger.info("Disabling one person!");
 
-		repository.disablePerson(id);
+		if (repository.disablePerson(id, expectedVersion) == 0) throw writeFailed(id, expectedVersion);
+		evict(id);
+		
+		if (!returnBody) {
+			Transactions.afterCommit(() -> searchIndex.disable(id));
+			return null;
+		}
 		
 		var entity = repository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-		var vo = DozerMapper.parseObject(entity, PersonVO.class);
-		vo.add(linkTo(methodOn(PersonController.class).findById(id)).withSelfRel());
+		Transactions.afterCommit(() -> searchIndex.index(entity));
+		var vo = PersonMapper.INSTANCE.toVO(entity);
+		vo.add(SelfLinkFactory.of(PersonController.class).forId(id));
 		return vo;
 	}
 	
+	@Transactional
 	public void delete(Long id) {
+		delete(id, null);
+	}
+	
+	@Transactional
+	public void delete(Long id, Long expectedVersion) {
 		
 		logger.info("Deleting one person!");
 		
-		var entity = repository.findById(id)
-				.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-		repository.delete(entity);
+		if (repository.deletePerson(id, expectedVersion) == 0) throw writeFailed(id, expectedVersion);
+		countCache.invalidate(CountCache.PERSON);
+		evict(id);
+		Transactions.afterCommit(() -> searchIndex.delete(id));
+	}
+	
+	// The single-row writes leave the cache region alone (see PersonRepository), so the row is evicted
+	// now for the read back, and again at the end for any GET that cached the old row meanwhile
+	private void evict(Long id) {
+		var cache = entityManagerFactory.getCache();
+		cache.evict(Person.class, id);
+		Transactions.afterCompletion(() -> cache.evict(Person.class, id));
+		responseCache.evict(ResponseBodyCache.PERSON, id);
+	}
+	
+	// Nothing matched: either there is no such person or it is no longer at the expected version
+	private RuntimeException writeFailed(Long id, Long expectedVersion) {
+		if (expectedVersion != null && id != null && repository.existsById(id)) {
+			return new PreconditionFailedException("The person was changed since it was read!");
+		}
+		return new ResourceNotFoundException("No records found for this ID!");
 	}
 	
 }
@@ -4,20 +4,25 @@ import java.util.logging.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import br.com.erudio.repositories.UserRepository;
+import br.com.erudio.security.jwt.PrincipalCache;
 
 @Service
-public class UserServices implements UserDetailsService {
+public class UserServices implements UserDetailsService, UserDetailsPasswordService {
 	
 	private Logger logger = Logger.getLogger(UserServices.class.getName());
 	
 	@Autowired
 	UserRepository repository;
 	
+	@Autowired
+	PrincipalCache principalCache;
+	
 	public UserServices(UserRepository repository) {
 		this.repository = repository;
 	}
@@ -32,4 +37,18 @@ public class UserServices implements UserDetailsService {
 			throw new UsernameNotFoundException("Username " + username + " not found!");
 		}
 	}
+
+	// Called by the DaoAuthenticationProvider after a successful signin whose stored hash is outdated
+	@Override
+	public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+		logger.info("Upgrading the password hash of " + userDetails.getUsername() + "!");
+		var user = repository.findByUsername(userDetails.getUsername());
+		if (user == null) {
+			throw new UsernameNotFoundException("Username " + userDetails.getUsername() + " not found!");
+		}
+		user.setPassword(newPassword);
+		user = repository.save(user);
+		principalCache.invalidate(user.getUsername());
+		return user;
+	}
 }
@@ -0,0 +1,34 @@
+package br.com.erudio.util;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Lets a single handler give its async request a timeout of its own, so a
+ * long running response such as a streamed export does not have to raise
+ * {@code spring.mvc.async.request-timeout} for every async endpoint.
+ * The timeout is picked up right before the request goes async.
+ */
+public class AsyncRequestTimeout implements CallableProcessingInterceptor {
+
+	private static final String ATTRIBUTE = AsyncRequestTimeout.class.getName();
+
+	public static void set(HttpServletRequest request, Duration timeout) {
+		request.setAttribute(ATTRIBUTE, timeout);
+	}
+
+	@Override
+	public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+		if (request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Duration timeout
+				&& request instanceof AsyncWebRequest asyncRequest) {
+			asyncRequest.setTimeout(timeout.toMillis());
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package br.com.erudio.util;
+
+/**
+ * How the total of a paged listing is obtained: an exact count query, the
+ * short-TTL cached count, or no total at all (slice-style page). The mode used
+ * is echoed in the {@link #HEADER} header and in the page metadata.
+ */
+public enum CountMode {
+
+	EXACT, CACHED, NONE;
+
+	public static final String HEADER = "X-Total-Count-Mode";
+
+	// Unknown values fall back to the exact count, like the direction parameter falls back to asc
+	public static CountMode from(String value) {
+		if ("cached".equalsIgnoreCase(value)) return CACHED;
+		if ("none".equalsIgnoreCase(value)) return NONE;
+		return EXACT;
+	}
+
+	public String toParam() {
+		return name().toLowerCase();
+	}
+
+	// The default is left out of links, so an exact listing keeps its plain self link
+	public String toLinkParam() {
+		return this == EXACT ? null : toParam();
+	}
+}
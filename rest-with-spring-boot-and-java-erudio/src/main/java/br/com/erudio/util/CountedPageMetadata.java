@@ -0,0 +1,44 @@
+package br.com.erudio.util;
+
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.PagedModel.PageMetadata;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Page metadata that also tells how totalElements was obtained, so clients
+ * reading only the body know when the total may be a few seconds stale.
+ * Pages without a total (count=none) have no metadata at all.
+ */
+@JsonPropertyOrder({ "size", "totalElements", "totalPages", "number", "countMode" })
+public class CountedPageMetadata extends PageMetadata {
+
+	@JsonProperty
+	private final String countMode;
+
+	public CountedPageMetadata(PageMetadata metadata, CountMode countMode) {
+		super(metadata.getSize(), metadata.getNumber(), metadata.getTotalElements(), metadata.getTotalPages());
+		this.countMode = countMode.toParam();
+	}
+
+	public String getCountMode() {
+		return countMode;
+	}
+
+	public static <T> PagedModel<EntityModel<T>> of(PagedModel<EntityModel<T>> model, CountMode countMode) {
+		if (model.getMetadata() == null) return model;
+		return PagedModel.of(model.getContent(), new CountedPageMetadata(model.getMetadata(), countMode), model.getLinks());
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return super.equals(obj) && obj instanceof CountedPageMetadata other && countMode.equals(other.countMode);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * super.hashCode() + countMode.hashCode();
+	}
+}
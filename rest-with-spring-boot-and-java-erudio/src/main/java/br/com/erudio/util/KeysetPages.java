@@ -0,0 +1,70 @@
+package br.com.erudio.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+
+/**
+ * Reads one keyset page ordered by a sort property and the id, and renders it
+ * like {@link SlicedModels} with "next"/"prev" links carrying {@link SeekCursor}s.
+ * Walking backwards ("before") reads in the opposite order and reverses the rows.
+ */
+public class KeysetPages {
+
+	private KeysetPages() {}
+
+	@FunctionalInterface
+	public interface Query<E> {
+		// A null cursor reads from the start, otherwise rows after it when ascending and before it when not
+		List<E> find(SeekCursor cursor, Direction readDirection, Pageable limit);
+	}
+
+	public static <E, V> PagedModel<EntityModel<V>> read(String after, String before, int size,
+			Direction direction, String sortProperty, Query<E> query,
+			Function<List<E>, List<V>> mapper, Function<V, SeekCursor> cursorOf,
+			BiFunction<String, String, Link> linkTo) {
+
+		boolean backwards = before != null;
+		var cursor = SeekCursor.decode(backwards ? before : after);
+		var readDirection = backwards == direction.isAscending() ? Direction.DESC : Direction.ASC;
+
+		// One extra row tells whether there is more to read, without a count query
+		Pageable limit = PageRequest.of(0, size + 1,
+				Sort.by(readDirection, sortProperty).and(Sort.by(readDirection, "id")));
+
+		List<E> rows = query.find(cursor, readDirection, limit);
+		boolean hasMore = rows.size() > size;
+		rows = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+		if (backwards) Collections.reverse(rows);
+
+		var vos = mapper.apply(rows);
+
+		List<Link> links = new ArrayList<>();
+		links.add(linkTo.apply(backwards ? null : after, before).withSelfRel());
+
+		boolean hasNext = backwards ? cursor != null : hasMore;
+		boolean hasPrevious = backwards ? hasMore : cursor != null;
+		if (hasNext && !vos.isEmpty()) {
+			var next = cursorOf.apply(vos.get(vos.size() - 1)).encode();
+			links.add(linkTo.apply(next, null).withRel(IanaLinkRelations.NEXT));
+		}
+		if (hasPrevious && !vos.isEmpty()) {
+			var previous = cursorOf.apply(vos.get(0)).encode();
+			links.add(linkTo.apply(null, previous).withRel(IanaLinkRelations.PREV));
+		}
+
+		var content = vos.stream().map(EntityModel::of).toList();
+		return PagedModel.of(content, (PagedModel.PageMetadata) null, links);
+	}
+}
@@ -0,0 +1,64 @@
+package br.com.erudio.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A name search typed by the user, turned into what the person name indexes
+ * understand: a boolean full-text query over the ngram index for the words
+ * long enough to be indexed, and an escaped prefix for each shorter word.
+ * Every word has to match, whichever of the two serves it.
+ */
+public class NameSearchTerm {
+
+	// MySQL's default ngram_token_size, shorter words are not in the full-text index
+	private static final int NGRAM_TOKEN_SIZE = 2;
+
+	public static final char LIKE_ESCAPE = '!';
+
+	private final List<String> fullTextWords;
+	private final List<String> shortWords;
+
+	private NameSearchTerm(List<String> words) {
+		this.fullTextWords = words.stream().filter(word -> word.length() >= NGRAM_TOKEN_SIZE).toList();
+		this.shortWords = words.stream().filter(word -> word.length() < NGRAM_TOKEN_SIZE).toList();
+	}
+
+	public static NameSearchTerm of(String term) {
+		var words = term == null ? List.<String>of() : Arrays.stream(term.trim().split("\\s+"))
+				.map(word -> word.replace("\"", ""))
+				.filter(word -> !word.isEmpty())
+				.toList();
+		return new NameSearchTerm(words);
+	}
+
+	public boolean hasFullTextWords() {
+		return !fullTextWords.isEmpty();
+	}
+
+	/**
+	 * Every indexed word must appear somewhere in the first or last name.
+	 * Quoting each one keeps boolean mode operators typed by the user from
+	 * being interpreted.
+	 */
+	public String toBooleanQuery() {
+		return fullTextWords.stream()
+				.map(word -> "+\"" + word + "\"")
+				.collect(Collectors.joining(" "));
+	}
+
+	// One per word too short for the index, to be ANDed as a first or last name prefix
+	public List<String> toPrefixes() {
+		return shortWords.stream().map(NameSearchTerm::escape).toList();
+	}
+
+	private static String escape(String word) {
+		var prefix = new StringBuilder();
+		for (char c : word.toCharArray()) {
+			if (c == LIKE_ESCAPE || c == '%' || c == '_') prefix.append(LIKE_ESCAPE);
+			prefix.append(c);
+		}
+		return prefix.toString();
+	}
+}
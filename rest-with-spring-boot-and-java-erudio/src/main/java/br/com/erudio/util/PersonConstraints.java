@@ -0,0 +1,29 @@
+package br.com.erudio.util;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+
+/**
+ * The constraints of the person table (required values and the 80/80/100/6
+ * column lengths), checked before a row is written so a bad one is rejected
+ * on its own instead of failing the JDBC batch it would have been part of.
+ */
+public class PersonConstraints {
+
+	private PersonConstraints() {}
+
+	// null when the person can be written, otherwise what is wrong with it
+	public static String check(PersonVO person) {
+		if (isBlank(person.getFirstName()) || isBlank(person.getLastName())
+				|| isBlank(person.getAddress()) || isBlank(person.getGender()))
+			return "firstName, lastName, address and gender are required!";
+		if (person.getFirstName().length() > 80) return "firstName is longer than 80 characters!";
+		if (person.getLastName().length() > 80) return "lastName is longer than 80 characters!";
+		if (person.getAddress().length() > 100) return "address is longer than 100 characters!";
+		if (person.getGender().length() > 6) return "gender is longer than 6 characters!";
+		return null;
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+}
@@ -0,0 +1,22 @@
+package br.com.erudio.util;
+
+/**
+ * The RFC 7240 {@code Prefer} request header. Writes honour
+ * {@code return=minimal} by skipping the read back of the changed resource.
+ */
+public final class Prefer {
+
+	public static final String HEADER = "Prefer";
+	public static final String APPLIED_HEADER = "Preference-Applied";
+	public static final String RETURN_MINIMAL = "return=minimal";
+
+	private Prefer() {}
+
+	public static boolean returnMinimal(String header) {
+		if (header == null) return false;
+		for (String preference : header.split(",")) {
+			if (RETURN_MINIMAL.equalsIgnoreCase(preference.trim().replace(" ", ""))) return true;
+		}
+		return false;
+	}
+}
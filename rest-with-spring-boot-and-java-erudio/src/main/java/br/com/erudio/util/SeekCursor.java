@@ -0,0 +1,48 @@
+package br.com.erudio.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import br.com.erudio.exceptions.InvalidCursorException;
+
+/**
+ * Opaque keyset pagination cursor: the sort key and the id of the row a page
+ * starts after (or ends before), encoded as URL-safe Base64.
+ */
+public class SeekCursor {
+
+	private final String sortKey;
+	private final Long id;
+
+	public SeekCursor(String sortKey, Long id) {
+		this.sortKey = sortKey;
+		this.id = id;
+	}
+
+	public String getSortKey() {
+		return sortKey;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String encode() {
+		String raw = id + ":" + sortKey;
+		return Base64.getUrlEncoder().withoutPadding()
+			.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// A blank token means "from the start" and decodes to null
+	public static SeekCursor decode(String token) {
+		if (token == null || token.isBlank()) return null;
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.indexOf(':');
+			if (separator < 1) throw new InvalidCursorException();
+			return new SeekCursor(raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator)));
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException("Invalid pagination cursor!", e);
+		}
+	}
+}
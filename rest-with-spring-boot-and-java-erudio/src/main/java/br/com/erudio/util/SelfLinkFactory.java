@@ -0,0 +1,28 @@
+package br.com.erudio.util;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+import org.springframework.hateoas.Link;
+
+/**
+ * Builds the self links of a controller's "{id}" resources. The base URI is
+ * resolved once, from the controller mapping and the current request, and only
+ * the id is appended per element, so large pages don't pay for one
+ * linkTo(methodOn(...)) proxy invocation per item.
+ */
+public class SelfLinkFactory {
+
+	private final String baseUri;
+
+	private SelfLinkFactory(String baseUri) {
+		this.baseUri = baseUri.endsWith("/") ? baseUri : baseUri + "/";
+	}
+
+	public static SelfLinkFactory of(Class<?> controller) {
+		return new SelfLinkFactory(linkTo(controller).toUri().toString());
+	}
+
+	public Link forId(Object id) {
+		return Link.of(baseUri + id).withSelfRel();
+	}
+}
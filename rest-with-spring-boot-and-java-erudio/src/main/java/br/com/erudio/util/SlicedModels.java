@@ -0,0 +1,30 @@
+package br.com.erudio.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+
+/**
+ * Renders a {@link Slice} with the same shape as PagedResourcesAssembler output,
+ * minus the page metadata, since the total is not known.
+ */
+public class SlicedModels {
+
+	private SlicedModels() {}
+
+	public static <T> PagedModel<EntityModel<T>> toModel(Slice<T> slice, IntFunction<Link> linkToPage) {
+		List<Link> links = new ArrayList<>();
+		links.add(linkToPage.apply(slice.getNumber()).withSelfRel());
+		if (slice.hasNext()) links.add(linkToPage.apply(slice.getNumber() + 1).withRel(IanaLinkRelations.NEXT));
+		if (slice.hasPrevious()) links.add(linkToPage.apply(slice.getNumber() - 1).withRel(IanaLinkRelations.PREV));
+
+		var content = slice.getContent().stream().map(EntityModel::of).toList();
+		return PagedModel.of(content, (PagedModel.PageMetadata) null, links);
+	}
+}
@@ -0,0 +1,101 @@
+package br.com.erudio.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.MediaType;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * ETags of Person and Book are their version column, like Spring Data REST
+ * does, plus the representation they were sent in ({@code "3-json"}), so each
+ * one is a strong validator of its own bytes. Controllers set the bare
+ * version and {@link VersionETagAdvice} adds the negotiated representation.
+ * If-Match uses the strong comparison: a weak {@code W/} tag never matches,
+ * and the write itself checks the version against the row.
+ */
+public final class VersionETag {
+
+	// Can never match a version, so a malformed If-Match fails the precondition
+	public static final long NO_MATCH = -1L;
+
+	private static final Pattern TAG = Pattern.compile("\"(\\d+)(?:-[a-z0-9]+)?\"");
+
+	private VersionETag() {}
+
+	public static String of(Long version) {
+		return version == null ? null : "\"" + version + "\"";
+	}
+
+	public static String of(Long version, MediaType mediaType) {
+		if (version == null) return null;
+		String subtype = mediaType.getSubtype().toLowerCase();
+		if (subtype.startsWith("x-")) subtype = subtype.substring(2);
+		return "\"" + version + "-" + subtype.replaceAll("[^a-z0-9]", "") + "\"";
+	}
+
+	// The version of a tag sent by of(Long), or null when the tag is anything else
+	public static Long versionOf(String eTag) {
+		if (eTag == null || !eTag.matches("\"\\d+\"")) return null;
+		return parse(eTag);
+	}
+
+	/**
+	 * The versions an {@code If-Match} header lists, or {@code null} when the
+	 * write is unconditional (no header or {@code *}). Malformed entries are
+	 * left out, so a header with none of them valid matches nothing.
+	 */
+	public static List<Long> fromIfMatch(String header) {
+		if (header == null || header.isBlank()) return null;
+		if ("*".equals(header.trim())) return null;
+		var versions = new ArrayList<Long>();
+		for (String entry : header.split(",")) {
+			Long version = parse(entry.trim());
+			if (version != null) versions.add(version);
+		}
+		return versions;
+	}
+
+	/**
+	 * The version the write must find, or {@code null} when it is
+	 * unconditional. When several versions are listed the current one is
+	 * read, and the write then requires it only if it is among them.
+	 */
+	public static Long expectedVersion(String header, Supplier<Long> currentVersion) {
+		var versions = fromIfMatch(header);
+		if (versions == null) return null;
+		if (versions.size() == 1) return versions.get(0);
+		return versions.isEmpty() ? NO_MATCH : match(versions, currentVersion.get());
+	}
+
+	/**
+	 * Same as {@link #expectedVersion(String, Supplier)}, subscribing to the
+	 * current version only when several are listed. Empty means unconditional.
+	 */
+	public static Mono<Optional<Long>> expectedVersion(String header, Mono<Long> currentVersion) {
+		var versions = fromIfMatch(header);
+		if (versions == null) return Mono.just(Optional.empty());
+		if (versions.size() == 1) return Mono.just(Optional.of(versions.get(0)));
+		if (versions.isEmpty()) return Mono.just(Optional.of(NO_MATCH));
+		return currentVersion.map(current -> Optional.of(match(versions, current)));
+	}
+
+	private static Long match(List<Long> versions, Long current) {
+		return current != null && versions.contains(current) ? current : NO_MATCH;
+	}
+
+	private static Long parse(String entry) {
+		Matcher matcher = TAG.matcher(entry);
+		if (!matcher.matches()) return null;
+		try {
+			return Long.valueOf(matcher.group(1));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package br.com.erudio.util;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Turns the version ETag a controller set into the one of the representation
+ * actually written, which is only known once the message converter is picked.
+ * Spring's own If-None-Match check runs before that, against the bare version,
+ * so the check is repeated here against the final tag.
+ */
+@ControllerAdvice
+public class VersionETagAdvice implements ResponseBodyAdvice<Object> {
+
+	@Override
+	public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+		return true;
+	}
+
+	@Override
+	public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+			Class<? extends HttpMessageConverter<?>> selectedConverterType,
+			ServerHttpRequest request, ServerHttpResponse response) {
+
+		Long version = VersionETag.versionOf(response.getHeaders().getETag());
+		if (version == null) return body;
+
+		String eTag = VersionETag.of(version, selectedContentType);
+		response.getHeaders().setETag(eTag);
+
+		boolean read = HttpMethod.GET.equals(request.getMethod()) || HttpMethod.HEAD.equals(request.getMethod());
+		if (read && request instanceof ServletServerHttpRequest servletRequest
+				&& response instanceof ServletServerHttpResponse servletResponse) {
+			// Sets 304 on a match, and nothing is written for a null body
+			var webRequest = new ServletWebRequest(servletRequest.getServletRequest(), servletResponse.getServletResponse());
+			if (webRequest.checkNotModified(eTag)) return null;
+		}
+		return body;
+	}
+}
@@ -0,0 +1,8 @@
+ALTER TABLE `person`
+	MODIFY COLUMN `first_name` VARCHAR(80) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL,
+	MODIFY COLUMN `last_name` VARCHAR(80) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL;
+
+ALTER TABLE `person`
+	ADD FULLTEXT INDEX `ft_person_name` (`first_name`, `last_name`) WITH PARSER ngram;
+
+CREATE INDEX `idx_person_last_name_id` ON `person` (`last_name`, `id`);
@@ -0,0 +1,17 @@
+CREATE TABLE `file_blob` (
+  `sha256` CHAR(64) NOT NULL PRIMARY KEY,
+  `size` BIGINT NOT NULL,
+  `ref_count` INT NOT NULL DEFAULT 0,
+  `updated_at` DATETIME(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=latin1;
+
+CREATE INDEX `idx_file_blob_ref_count_updated_at` ON `file_blob` (`ref_count`, `updated_at`);
+
+CREATE TABLE `file_entry` (
+  `name` VARCHAR(255) NOT NULL PRIMARY KEY,
+  `sha256` CHAR(64) NOT NULL,
+  `size` BIGINT NOT NULL,
+  `created_at` DATETIME(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE INDEX `idx_file_entry_sha256` ON `file_entry` (`sha256`);
@@ -0,0 +1,9 @@
+-- The ngram parser skips every token that contains a stopword, and the default
+-- list has single letters like "a" and "i", so names such as "Ana" were never
+-- indexed. The stopword setting is read when the index is created.
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+ALTER TABLE `person` DROP INDEX `ft_person_name`;
+
+ALTER TABLE `person`
+	ADD FULLTEXT INDEX `ft_person_name` (`first_name`, `last_name`) WITH PARSER ngram;
@@ -0,0 +1,5 @@
+-- File names are case sensitive on disk and in S3, but the default utf8mb4
+-- collation made "Report.pdf" and "report.pdf" the same primary key, so one
+-- upload silently replaced the other.
+ALTER TABLE `file_entry`
+	MODIFY `name` VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL;
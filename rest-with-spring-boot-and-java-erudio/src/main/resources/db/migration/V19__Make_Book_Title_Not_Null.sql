@@ -0,0 +1,9 @@
+-- Keyset pages compare titles, and a NULL one would fall out of every page
+UPDATE `books` SET `title` = '' WHERE `title` IS NULL;
+
+-- V13 narrowed the column to what the API accepts; keep it at least as wide as the longest title already stored
+SET @title_length = (SELECT GREATEST(250, COALESCE(MAX(CHAR_LENGTH(`title`)), 0)) FROM `books`);
+SET @alter_title = CONCAT('ALTER TABLE `books` MODIFY COLUMN `title` VARCHAR(', @title_length, ') NOT NULL');
+PREPARE alter_title FROM @alter_title;
+EXECUTE alter_title;
+DEALLOCATE PREPARE alter_title;
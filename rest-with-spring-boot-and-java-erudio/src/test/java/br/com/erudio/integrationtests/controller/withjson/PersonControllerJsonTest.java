@@ -365,6 +365,29 @@ public class PersonControllerJsonTest extends AbstractIntegrationTest {
 
 	}
 
+	@Test
+	@Order(10)
+	public void testUpdateWithWeakIfMatchFailsThePrecondition() throws JsonMappingException, JsonProcessingException {
+		
+		var response = given().spec(specification)
+				.contentType(TestsConfigs.CONTENT_TYPE_JSON)
+				.accept(TestsConfigs.CONTENT_TYPE_JSON)
+				.pathParam("id", 1).when().get("{id}").then().statusCode(200).extract();
+		
+		String eTag = response.header("ETag");
+		assertTrue(eTag.startsWith("\"") && eTag.endsWith("-json\""));
+		
+		// If-Match uses the strong comparison, so the weak form of the current tag must not match
+		given().spec(specification)
+				.contentType(TestsConfigs.CONTENT_TYPE_JSON)
+				.header("If-Match", "W/" + eTag)
+					.body(objectMapper.readValue(response.body().asString(), PersonVO.class))
+					.when()
+					.put()
+				.then()
+					.statusCode(412);
+	}
+
 	private void mockPerson() {
 		person.setFirstName("Joelton");
 		person.setLastName("Kennedy");
@@ -286,7 +286,7 @@ public class BookControllerYamlTest extends AbstractIntegrationTest {
 		assertTrue(content.contains("rel: \"next\"  href: \"http://localhost:8888/api/book/v1?direction=asc&page=1&size=12&sort=title,asc\""));
 		assertTrue(content.contains("rel: \"last\"  href: \"http://localhost:8888/api/book/v1?direction=asc&page=1&size=12&sort=title,asc\""));
 		
-		assertTrue(content.contains("page:  size: 12  totalElements: 15  totalPages: 2  number: 0"));
+		assertTrue(content.contains("page:  size: 12  totalElements: 15  totalPages: 2  number: 0  countMode: \"exact\""));
 	}
      
     private void mockBook() {
@@ -0,0 +1,90 @@
+package br.com.erudio.integrationtests.files;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+import br.com.erudio.files.S3BlobStorage;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+public class S3BlobStorageMinioTest {
+
+	private static final String USER = "erudio";
+	private static final String PASSWORD = "erudio-secret";
+	private static final int PART_SIZE = 5 * 1024 * 1024;
+
+	static GenericContainer<?> minio = new GenericContainer<>("minio/minio:RELEASE.2023-09-04T19-57-37Z")
+		.withEnv("MINIO_ROOT_USER", USER)
+		.withEnv("MINIO_ROOT_PASSWORD", PASSWORD)
+		.withCommand("server", "/data")
+		.withExposedPorts(9000)
+		.waitingFor(Wait.forHttp("/minio/health/live").forPort(9000));
+
+	private static S3BlobStorage storage;
+
+	@TempDir
+	Path dir;
+
+	@BeforeAll
+	public static void setup() {
+		minio.start();
+		S3Client client = S3Client.builder()
+			.endpointOverride(URI.create("http://" + minio.getHost() + ":" + minio.getMappedPort(9000)))
+			.region(Region.US_EAST_1)
+			.forcePathStyle(true)
+			.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(USER, PASSWORD)))
+			.build();
+		client.createBucket(b -> b.bucket("erudio-files"));
+		storage = new S3BlobStorage(client, "erudio-files", "blobs/", PART_SIZE, 4);
+	}
+
+	@AfterAll
+	public static void tearDown() {
+		storage.close();
+		minio.stop();
+	}
+
+	@Test
+	public void testMultipartUploadAndRangeRead() throws Exception {
+		byte[] content = new byte[2 * PART_SIZE + 1234];
+		new Random(42).nextBytes(content);
+		Path source = Files.write(dir.resolve("blob.part"), content);
+
+		storage.put("ab/cd/abcd", source);
+
+		assertTrue(storage.exists("ab/cd/abcd"));
+		try (InputStream in = storage.read("ab/cd/abcd", PART_SIZE - 10, 20)) {
+			assertArrayEquals(Arrays.copyOfRange(content, PART_SIZE - 10, PART_SIZE + 10), in.readAllBytes());
+		}
+		try (InputStream in = storage.read("ab/cd/abcd", 0, content.length)) {
+			assertArrayEquals(content, in.readAllBytes());
+		}
+	}
+
+	@Test
+	public void testDelete() throws Exception {
+		Path source = Files.writeString(dir.resolve("small.part"), "hello");
+
+		storage.put("12/34/1234", source);
+		storage.delete("12/34/1234");
+
+		assertFalse(storage.exists("12/34/1234"));
+	}
+}
@@ -0,0 +1,34 @@
+package br.com.erudio.integrationtests.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.model.FileEntry;
+import br.com.erudio.repositories.FileEntryRepository;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class FileEntryRepositoryTest extends AbstractIntegrationTest {
+
+	@Autowired
+	public FileEntryRepository repository;
+
+	@Test
+	public void testNamesDifferingOnlyByCaseCoexist() {
+		repository.saveAndFlush(new FileEntry("Report.pdf", "a".repeat(64), 1L, new Date()));
+		repository.saveAndFlush(new FileEntry("report.pdf", "b".repeat(64), 2L, new Date()));
+
+		assertEquals("a".repeat(64), repository.findForUpdate("Report.pdf").get().getSha256());
+		assertEquals("b".repeat(64), repository.findForUpdate("report.pdf").get().getSha256());
+	}
+}
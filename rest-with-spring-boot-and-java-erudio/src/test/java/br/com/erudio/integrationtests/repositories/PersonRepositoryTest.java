@@ -26,6 +26,7 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
 import br.com.erudio.model.Person;
 import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.util.NameSearchTerm;
 
 
 @ExtendWith(SpringExtension.class)
@@ -49,7 +50,7 @@ public class PersonRepositoryTest extends AbstractIntegrationTest {
 	public void testFindByName() throws JsonMappingException, JsonProcessingException {
 		
 		Pageable pageable = PageRequest.of(0, 6, Sort.by(Direction.ASC, "firstName"));
-		person = repository.findPersonsByName("joel", pageable).getContent().get(0);
+		person = repository.findPersonsByName(NameSearchTerm.of("joel"), pageable).getContent().get(0);
 		
 		assertNotNull(person.getId());
 		assertNotNull(person.getFirstName());
@@ -74,7 +75,7 @@ public class PersonRepositoryTest extends AbstractIntegrationTest {
 		repository.disablePerson(person.getId());
 		
 		Pageable pageable = PageRequest.of(0, 6, Sort.by(Direction.ASC, "firstName"));
-		person = repository.findPersonsByName("joel", pageable).getContent().get(0);
+		person = repository.findPersonsByName(NameSearchTerm.of("joel"), pageable).getContent().get(0);
 		
 		assertNotNull(person.getId());
 		assertNotNull(person.getFirstName());
@@ -91,4 +92,37 @@ public class PersonRepositoryTest extends AbstractIntegrationTest {
 		assertEquals("São Paulo", person.getAddress());
 		assertEquals("Male", person.getGender());
 	}
-}
\ No newline at end of file
+	
+	@Test
+	@Order(3)
+	public void testFindByNameMatchesWordsWithStopwords() {
+		
+		Pageable pageable = PageRequest.of(0, 50, Sort.by(Direction.ASC, "firstName"));
+		
+		// "an" and "to" contain the stopwords "a" and "to", which the ngram index must not skip
+		var byAna = repository.findPersonsByName(NameSearchTerm.of("Ana"), pageable)
+				.map(Person::getFirstName).getContent();
+		assertTrue(byAna.contains("Anabal"));
+		assertTrue(byAna.contains("Anastasia"));
+		
+		var byTon = repository.findPersonsByName(NameSearchTerm.of("ton"), pageable)
+				.map(p -> p.getFirstName() + " " + p.getLastName()).getContent();
+		assertTrue(byTon.contains("Joelton Gomes"));
+		assertTrue(byTon.contains("Anabal Gurton"));
+	}
+	
+	@Test
+	@Order(4)
+	public void testFindByNameKeepsEveryWord() {
+		
+		Pageable pageable = PageRequest.of(0, 50, Sort.by(Direction.ASC, "firstName"));
+		
+		// "G" is too short for the index and must still narrow the full-text match on "joel"
+		var byJoelG = repository.findPersonsByName(NameSearchTerm.of("joel G"), pageable)
+				.map(p -> p.getFirstName() + " " + p.getLastName()).getContent();
+		assertTrue(byJoelG.contains("Joelton Gomes"));
+		
+		assertTrue(repository.findPersonsByName(NameSearchTerm.of("joel X"), pageable).isEmpty());
+		assertTrue(repository.findPersonsSliceByName(NameSearchTerm.of("joel X"), pageable).isEmpty());
+	}
+}
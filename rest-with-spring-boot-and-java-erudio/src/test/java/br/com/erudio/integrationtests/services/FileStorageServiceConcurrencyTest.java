@@ -0,0 +1,73 @@
+package br.com.erudio.integrationtests.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.com.erudio.files.FileIndex;
+import br.com.erudio.files.StoredFile;
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.repositories.FileBlobRepository;
+import br.com.erudio.services.FileStorageService;
+
+@SpringBootTest
+public class FileStorageServiceConcurrencyTest extends AbstractIntegrationTest {
+	
+	private static final String NAME = "concurrent-upload.txt";
+	private static final int UPLOADS = 4;
+	
+	@Autowired
+	private FileStorageService service;
+	
+	@Autowired
+	private FileIndex index;
+	
+	@Autowired
+	private FileBlobRepository blobs;
+	
+	@AfterEach
+	public void cleanup() {
+		index.unlink(NAME);
+	}
+	
+	@Test
+	public void testConcurrentUploadsOfTheSameNewName() throws Exception {
+		
+		var barrier = new CyclicBarrier(UPLOADS);
+		var executor = Executors.newFixedThreadPool(UPLOADS);
+		List<Future<StoredFile>> uploads = new ArrayList<>();
+		try {
+			for (int i = 0; i < UPLOADS; i++) {
+				var content = ("upload " + i).getBytes(StandardCharsets.UTF_8);
+				uploads.add(executor.submit(() -> {
+					barrier.await();
+					return service.storeFile(NAME, new ByteArrayInputStream(content));
+				}));
+			}
+			
+			List<String> checksums = new ArrayList<>();
+			for (var upload : uploads) checksums.add(upload.get().getChecksum());
+			
+			// Every upload succeeded, the name ends up on one of them and only that blob is referenced
+			String linked = index.find(NAME).get().getSha256();
+			assertTrue(checksums.contains(linked));
+			for (String sha256 : checksums) {
+				assertEquals(sha256.equals(linked) ? 1 : 0, blobs.findById(sha256).get().getRefCount());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
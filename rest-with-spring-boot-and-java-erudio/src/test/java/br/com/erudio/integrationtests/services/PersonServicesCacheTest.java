@@ -0,0 +1,72 @@
+package br.com.erudio.integrationtests.services;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.services.PersonServices;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@TestMethodOrder(OrderAnnotation.class)
+public class PersonServicesCacheTest extends AbstractIntegrationTest {
+	
+	@Autowired
+	private PersonServices service;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	private Statistics statistics;
+	
+	@BeforeEach
+	public void setup() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+	
+	@Test
+	@Order(1)
+	public void testFindByIdIsServedFromCache() {
+		
+		service.findById(1L);
+		service.findById(1L);
+		
+		assertTrue(statistics.getSecondLevelCacheHitCount() >= 1);
+	}
+	
+	@Test
+	@Order(2)
+	public void testNoStaleReadAfterDisablePerson() {
+		
+		var person = new PersonVO();
+		person.setFirstName("Cached");
+		person.setLastName("Person");
+		person.setAddress("Uberlândia - Minas Gerais - Brasil");
+		person.setGender("Male");
+		person.setEnabled(true);
+		
+		var id = service.create(person).getKey();
+		
+		assertTrue(service.findById(id).getEnabled());
+		assertTrue(service.findById(id).getEnabled());
+		assertTrue(statistics.getSecondLevelCacheHitCount() >= 1);
+		
+		service.disablePerson(id);
+		
+		assertFalse(service.findById(id).getEnabled());
+		
+		service.delete(id);
+	}
+}
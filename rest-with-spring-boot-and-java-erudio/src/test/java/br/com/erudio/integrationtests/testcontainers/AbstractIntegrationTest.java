@@ -24,7 +24,9 @@ public class AbstractIntegrationTest {
 
 		private static Map<String, String> createConnectionConfiguration() {
 			return Map.of("spring.datasource.url", mysql.getJdbcUrl(), "spring.datasource.username",
-					mysql.getUsername(), "spring.datasource.password", mysql.getPassword());
+					mysql.getUsername(), "spring.datasource.password", mysql.getPassword(),
+					"spring.r2dbc.url", mysql.getJdbcUrl().replace("jdbc:", "r2dbc:"),
+					"spring.r2dbc.username", mysql.getUsername(), "spring.r2dbc.password", mysql.getPassword());
 		}
 
 		@SuppressWarnings({ "unchecked", "rawtypes" })
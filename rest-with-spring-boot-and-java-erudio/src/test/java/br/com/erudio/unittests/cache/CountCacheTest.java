@@ -0,0 +1,62 @@
+package br.com.erudio.unittests.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.erudio.cache.CountCache;
+
+class CountCacheTest {
+
+	private CountCache cache;
+	private AtomicLong rows;
+
+	@BeforeEach
+	void setUp() {
+		cache = new CountCache();
+		rows = new AtomicLong(14);
+		cache.get(CountCache.PERSON, rows::get);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	@Test
+	void testInvalidateWithoutATransaction() {
+		rows.set(15);
+		cache.invalidate(CountCache.PERSON);
+
+		assertEquals(15, cache.get(CountCache.PERSON, rows::get));
+	}
+
+	@Test
+	void testInvalidateWaitsForTheCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		rows.set(15);
+		cache.invalidate(CountCache.PERSON);
+
+		// Until the commit other requests can only count the old rows anyway
+		assertEquals(14, cache.get(CountCache.PERSON, () -> 14));
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		assertEquals(15, cache.get(CountCache.PERSON, rows::get));
+	}
+
+	@Test
+	void testRolledBackWritesKeepTheCount() {
+		TransactionSynchronizationManager.initSynchronization();
+		cache.invalidate(CountCache.PERSON);
+		TransactionSynchronizationManager.getSynchronizations()
+			.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		assertEquals(14, cache.get(CountCache.PERSON, () -> 99));
+	}
+}
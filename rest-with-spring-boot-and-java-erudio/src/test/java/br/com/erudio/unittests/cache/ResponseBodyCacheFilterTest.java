@@ -0,0 +1,114 @@
+package br.com.erudio.unittests.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.accept.ContentNegotiationManager;
+
+import br.com.erudio.cache.ResponseBodyCache;
+import br.com.erudio.cache.ResponseBodyCacheFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class ResponseBodyCacheFilterTest {
+
+	private ResponseBodyCache cache;
+	private ResponseBodyCacheFilter filter;
+	private AtomicInteger renders;
+	private FilterChain controller;
+
+	@BeforeEach
+	void setUp() {
+		cache = new ResponseBodyCache(100, new SimpleMeterRegistry());
+		filter = new ResponseBodyCacheFilter();
+		ReflectionTestUtils.setField(filter, "cache", cache);
+		ReflectionTestUtils.setField(filter, "contentNegotiationManager", new ContentNegotiationManager());
+
+		renders = new AtomicInteger();
+		controller = (request, response) -> {
+			renders.incrementAndGet();
+			response.setContentType(((HttpServletRequest) request).getHeader("Accept"));
+			response.getOutputStream().write(("person " + renders.get()).getBytes(StandardCharsets.UTF_8));
+		};
+	}
+
+	private MockHttpServletResponse get(String accept, String ifNoneMatch) throws Exception {
+		var request = new MockHttpServletRequest("GET", "/api/person/v1/1");
+		request.addHeader("Accept", accept);
+		if (ifNoneMatch != null) request.addHeader("If-None-Match", ifNoneMatch);
+		var response = new MockHttpServletResponse();
+		filter.doFilter(request, response, controller);
+		return response;
+	}
+
+	@Test
+	void testSecondRequestIsServedFromCache() throws Exception {
+		var first = get("application/xml", null);
+		var second = get("application/xml", null);
+
+		assertEquals(1, renders.get());
+		assertNotNull(first.getHeader("ETag"));
+		assertEquals(first.getHeader("ETag"), second.getHeader("ETag"));
+		assertArrayEquals(first.getContentAsByteArray(), second.getContentAsByteArray());
+		assertEquals("application/xml", second.getContentType());
+	}
+
+	@Test
+	void testMediaTypesAreCachedSeparately() throws Exception {
+		get("application/xml", null);
+		var yaml = get("application/x-yaml", null);
+
+		assertEquals(2, renders.get());
+		assertEquals("application/x-yaml", yaml.getContentType());
+	}
+
+	@Test
+	void testIfNoneMatch() throws Exception {
+		var eTag = get("application/json", null).getHeader("ETag");
+		var notModified = get("application/json", eTag);
+
+		assertEquals(304, notModified.getStatus());
+		assertEquals(0, notModified.getContentAsByteArray().length);
+		assertEquals(1, renders.get());
+	}
+
+	@Test
+	void testKeepsTheControllerETag() throws Exception {
+		FilterChain versioned = (request, response) -> {
+			renders.incrementAndGet();
+			((HttpServletResponse) response).setHeader("ETag", "\"3-json\"");
+			response.setContentType("application/json");
+			response.getOutputStream().write("person".getBytes(StandardCharsets.UTF_8));
+		};
+		var request = new MockHttpServletRequest("GET", "/api/person/v1/1");
+		request.addHeader("Accept", "application/json");
+		var first = new MockHttpServletResponse();
+		filter.doFilter(request, first, versioned);
+		var cached = get("application/json", null);
+
+		assertEquals("\"3-json\"", first.getHeader("ETag"));
+		assertEquals("\"3-json\"", cached.getHeader("ETag"));
+		assertEquals(1, renders.get());
+	}
+
+	@Test
+	void testEvict() throws Exception {
+		get("application/json", null);
+		cache.evict(ResponseBodyCache.PERSON, 1L);
+		var fresh = get("application/json", null);
+
+		assertEquals(2, renders.get());
+		assertEquals("person 2", fresh.getContentAsString());
+	}
+}
@@ -0,0 +1,32 @@
+package br.com.erudio.unittests.exports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.exports.ExportFormat;
+
+class ExportFormatTest {
+
+	@Test
+	void testFormatParameterWinsOverAccept() {
+		assertEquals(ExportFormat.XML, ExportFormat.negotiate("xml", "text/csv"));
+		assertEquals(ExportFormat.JSONL, ExportFormat.negotiate("unknown", "text/csv"));
+	}
+
+	@Test
+	void testAcceptPicksTheFormat() {
+		assertEquals(ExportFormat.CSV, ExportFormat.negotiate(null, "text/csv"));
+		assertEquals(ExportFormat.XML, ExportFormat.negotiate(null, "text/csv;q=0.5, application/xml"));
+		assertEquals(ExportFormat.CSV, ExportFormat.negotiate(null, "application/json, text/csv;q=0.8"));
+	}
+
+	@Test
+	void testOtherAcceptsGetJsonLines() {
+		assertEquals(ExportFormat.JSONL, ExportFormat.negotiate(null, null));
+		assertEquals(ExportFormat.JSONL, ExportFormat.negotiate(null, "application/json"));
+		assertEquals(ExportFormat.JSONL, ExportFormat.negotiate(null, "*/*"));
+		assertEquals(ExportFormat.JSONL, ExportFormat.negotiate(null, "text/csv;q=0"));
+		assertEquals(ExportFormat.JSONL, ExportFormat.negotiate(null, "not a media type"));
+	}
+}
@@ -0,0 +1,74 @@
+package br.com.erudio.unittests.exports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.exports.ExportFormat;
+import br.com.erudio.exports.TableExporter;
+
+class TableExporterTest {
+
+	private static final List<String> FIELDS = List.of("id", "firstName", "enabled");
+
+	private TableExporter exporter;
+	private Statement statement;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		DataSource dataSource = mock(DataSource.class);
+		Connection connection = mock(Connection.class);
+		statement = mock(Statement.class);
+		ResultSet rs = mock(ResultSet.class);
+
+		when(dataSource.getConnection()).thenReturn(connection);
+		when(connection.createStatement()).thenReturn(statement);
+		when(statement.executeQuery(anyString())).thenReturn(rs);
+		when(rs.next()).thenReturn(true, true, false);
+		when(rs.getObject(1)).thenReturn(1L, 2L);
+		when(rs.getObject(2)).thenReturn("Ayrton", "Senna, \"Beco\"");
+		when(rs.getObject(3)).thenReturn(true).thenReturn(null);
+
+		exporter = new TableExporter(dataSource);
+	}
+
+	private String export(ExportFormat format) throws Exception {
+		var out = new ByteArrayOutputStream();
+		exporter.export("SELECT id, first_name, enabled FROM person ORDER BY id", FIELDS, "people", "person", format, out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void testJsonLines() throws Exception {
+		assertEquals("{\"id\":1,\"firstName\":\"Ayrton\",\"enabled\":true}\n"
+				+ "{\"id\":2,\"firstName\":\"Senna, \\\"Beco\\\"\",\"enabled\":null}\n", export(ExportFormat.JSONL));
+		verify(statement).setFetchSize(Integer.MIN_VALUE);
+	}
+
+	@Test
+	void testCsv() throws Exception {
+		assertEquals("id,firstName,enabled\r\n1,Ayrton,true\r\n2,\"Senna, \"\"Beco\"\"\",\r\n", export(ExportFormat.CSV));
+	}
+
+	@Test
+	void testXml() throws Exception {
+		String xml = export(ExportFormat.XML);
+		assertEquals("<people><person><id>1</id><firstName>Ayrton</firstName><enabled>true</enabled></person>"
+				+ "<person><id>2</id><firstName>Senna, \"Beco\"</firstName></person></people>",
+				xml.substring(xml.indexOf("<people>")));
+	}
+}
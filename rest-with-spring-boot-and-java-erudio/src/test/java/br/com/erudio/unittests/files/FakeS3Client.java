@@ -0,0 +1,138 @@
+package br.com.erudio.unittests.files;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+/**
+ * In-memory stand-in for the handful of S3 calls the blob storage makes.
+ */
+public class FakeS3Client implements S3Client {
+
+	final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+	final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+	final AtomicInteger partsUploaded = new AtomicInteger();
+	final AtomicInteger aborted = new AtomicInteger();
+	volatile int failPart = -1;
+
+	@Override
+	public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+		objects.put(request.key(), bytes(body));
+		return PutObjectResponse.builder().eTag(UUID.randomUUID().toString()).build();
+	}
+
+	@Override
+	public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+		String uploadId = UUID.randomUUID().toString();
+		uploads.put(uploadId, new ConcurrentHashMap<>());
+		return CreateMultipartUploadResponse.builder().uploadId(uploadId).key(request.key()).build();
+	}
+
+	@Override
+	public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody body) {
+		if (request.partNumber() == failPart) throw new IllegalStateException("Part " + failPart + " failed");
+		uploads.get(request.uploadId()).put(request.partNumber(), bytes(body));
+		partsUploaded.incrementAndGet();
+		return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+	}
+
+	@Override
+	public CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+		Map<Integer, byte[]> parts = uploads.remove(request.uploadId());
+		ByteArrayOutputStream object = new ByteArrayOutputStream();
+		int expected = 1;
+		for (CompletedPart part : request.multipartUpload().parts()) {
+			if (part.partNumber() != expected++) throw new IllegalStateException("Parts out of order");
+			object.writeBytes(parts.get(part.partNumber()));
+		}
+		objects.put(request.key(), object.toByteArray());
+		return CompleteMultipartUploadResponse.builder().key(request.key()).build();
+	}
+
+	@Override
+	public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+		uploads.remove(request.uploadId());
+		aborted.incrementAndGet();
+		return AbortMultipartUploadResponse.builder().build();
+	}
+
+	@Override
+	public HeadObjectResponse headObject(HeadObjectRequest request) {
+		byte[] object = object(request.key());
+		return HeadObjectResponse.builder().contentLength((long) object.length).build();
+	}
+
+	@Override
+	public ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+		byte[] object = object(request.key());
+		int start = 0;
+		int end = object.length - 1;
+		if (request.range() != null) {
+			String[] range = request.range().substring("bytes=".length()).split("-");
+			start = Integer.parseInt(range[0]);
+			end = Math.min(end, Integer.parseInt(range[1]));
+		}
+		byte[] slice = Arrays.copyOfRange(object, start, end + 1);
+		return new ResponseInputStream<>(GetObjectResponse.builder().contentLength((long) slice.length).build(),
+			AbortableInputStream.create(new ByteArrayInputStream(slice)));
+	}
+
+	@Override
+	public DeleteObjectResponse deleteObject(DeleteObjectRequest request) {
+		objects.remove(request.key());
+		return DeleteObjectResponse.builder().build();
+	}
+
+	@Override
+	public String serviceName() {
+		return "s3";
+	}
+
+	@Override
+	public void close() {
+	}
+
+	private byte[] object(String key) {
+		byte[] object = objects.get(key);
+		if (object == null) throw NoSuchKeyException.builder().message("No such key " + key).build();
+		return object;
+	}
+
+	private byte[] bytes(RequestBody body) {
+		try (InputStream in = body.contentStreamProvider().newStream()) {
+			return in.readAllBytes();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
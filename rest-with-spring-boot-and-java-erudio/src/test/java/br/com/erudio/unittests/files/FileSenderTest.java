@@ -0,0 +1,187 @@
+package br.com.erudio.unittests.files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import br.com.erudio.files.FileSender;
+import br.com.erudio.files.LocalBlobStorage;
+import br.com.erudio.files.S3BlobStorage;
+import br.com.erudio.files.StoredFile;
+
+class FileSenderTest {
+
+	@TempDir
+	Path dir;
+
+	private Path file;
+	private StoredFile stored;
+	private FileSender sender;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		file = Files.writeString(dir.resolve("alphabet.txt"), "abcdefghijklmnopqrstuvwxyz");
+		// No checksum, like the files of the flat layout, so the ETag comes from the size and modification time
+		stored = new StoredFile("alphabet.txt", new LocalBlobStorage(dir), "alphabet.txt", 26, null,
+			Files.getLastModifiedTime(file).toMillis(), 0);
+		sender = new FileSender();
+	}
+
+	private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		sender.send(stored, request, response);
+		return response;
+	}
+
+	private MockHttpServletRequest get() {
+		return new MockHttpServletRequest("GET", "/api/file/v1/downloadFile/alphabet.txt");
+	}
+
+	@Test
+	void testSendsTheWholeFile() throws Exception {
+		MockHttpServletResponse response = send(get());
+
+		assertEquals(200, response.getStatus());
+		assertEquals("text/plain", response.getContentType());
+		assertEquals(26, response.getContentLengthLong());
+		assertEquals("bytes", response.getHeader("Accept-Ranges"));
+		assertTrue(response.getHeader("ETag") != null);
+		assertTrue(response.getHeader("Last-Modified") != null);
+		assertEquals("abcdefghijklmnopqrstuvwxyz", response.getContentAsString());
+	}
+
+	@Test
+	void testNotModified() throws Exception {
+		String eTag = send(get()).getHeader("ETag");
+
+		MockHttpServletRequest request = get();
+		request.addHeader("If-None-Match", eTag);
+		MockHttpServletResponse response = send(request);
+
+		assertEquals(304, response.getStatus());
+		assertEquals(0, response.getContentAsByteArray().length);
+	}
+
+	@Test
+	void testSingleRange() throws Exception {
+		MockHttpServletRequest request = get();
+		request.addHeader("Range", "bytes=2-5");
+		MockHttpServletResponse response = send(request);
+
+		assertEquals(206, response.getStatus());
+		assertEquals("bytes 2-5/26", response.getHeader("Content-Range"));
+		assertEquals(4, response.getContentLengthLong());
+		assertEquals("cdef", response.getContentAsString());
+	}
+
+	@Test
+	void testSuffixRange() throws Exception {
+		MockHttpServletRequest request = get();
+		request.addHeader("Range", "bytes=-3");
+		MockHttpServletResponse response = send(request);
+
+		assertEquals(206, response.getStatus());
+		assertEquals("bytes 23-25/26", response.getHeader("Content-Range"));
+		assertEquals("xyz", response.getContentAsString());
+	}
+
+	@Test
+	void testMultipleRanges() throws Exception {
+		MockHttpServletRequest request = get();
+		request.addHeader("Range", "bytes=0-1,24-");
+		MockHttpServletResponse response = send(request);
+
+		assertEquals(206, response.getStatus());
+		assertTrue(response.getContentType().startsWith("multipart/byteranges; boundary="));
+		String boundary = response.getContentType().substring("multipart/byteranges; boundary=".length());
+		String body = response.getContentAsString(StandardCharsets.US_ASCII);
+		assertEquals(body.length(), response.getContentLengthLong());
+		assertEquals(
+			"\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Range: bytes 0-1/26\r\n\r\nab"
+			+ "\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Range: bytes 24-25/26\r\n\r\nyz"
+			+ "\r\n--" + boundary + "--\r\n",
+			body);
+	}
+
+	@Test
+	void testUnsatisfiableRange() throws Exception {
+		MockHttpServletRequest request = get();
+		request.addHeader("Range", "bytes=30-40");
+		MockHttpServletResponse response = send(request);
+
+		assertEquals(416, response.getStatus());
+		assertEquals("bytes */26", response.getHeader("Content-Range"));
+	}
+
+	@Test
+	void testStaleIfRangeSendsTheWholeFile() throws Exception {
+		MockHttpServletRequest request = get();
+		request.addHeader("Range", "bytes=2-5");
+		request.addHeader("If-Range", "\"stale\"");
+		MockHttpServletResponse response = send(request);
+
+		assertEquals(200, response.getStatus());
+		assertEquals(26, response.getContentAsByteArray().length);
+	}
+
+	@Test
+	void testHandsTheRegionToSendfile() throws Exception {
+		MockHttpServletRequest request = get();
+		request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		request.addHeader("Range", "bytes=10-");
+		MockHttpServletResponse response = send(request);
+
+		assertEquals(206, response.getStatus());
+		assertEquals(0, response.getContentAsByteArray().length);
+		assertEquals(file.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+		assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+		assertEquals(26L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+	}
+
+	@Test
+	void testChecksumIsTheETag() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		sender.send(new StoredFile("alphabet.txt", new LocalBlobStorage(dir), "alphabet.txt", 26, "abc123", 1000, 0),
+			get(), response);
+
+		assertEquals("\"abc123\"", response.getHeader("ETag"));
+		assertEquals(1000, response.getDateHeader("Last-Modified"));
+	}
+
+	@Test
+	void testStreamsRangesOfARemoteBlob() throws Exception {
+		S3BlobStorage storage = new S3BlobStorage(new FakeS3Client(), "erudio-files", "", 1024, 1);
+		storage.put("alphabet", file);
+		MockHttpServletRequest request = get();
+		request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		request.addHeader("Range", "bytes=0-1,24-");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		sender.send(new StoredFile("alphabet.txt", storage, "alphabet", 26, "abc123", 1000, 0), request, response);
+		storage.close();
+
+		assertEquals(206, response.getStatus());
+		assertNull(request.getAttribute("org.apache.tomcat.sendfile.filename"));
+		String body = response.getContentAsString(StandardCharsets.US_ASCII);
+		assertEquals(body.length(), response.getContentLengthLong());
+		assertTrue(body.contains("Content-Range: bytes 0-1/26\r\n\r\nab\r\n"));
+		assertTrue(body.contains("Content-Range: bytes 24-25/26\r\n\r\nyz\r\n"));
+	}
+
+	@Test
+	void testContentTypeLookup() {
+		assertEquals(MediaType.APPLICATION_PDF, sender.contentType("report.PDF"));
+		assertEquals(MediaType.APPLICATION_OCTET_STREAM, sender.contentType("no-extension"));
+	}
+}
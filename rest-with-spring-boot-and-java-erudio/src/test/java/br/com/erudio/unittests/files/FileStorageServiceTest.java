@@ -0,0 +1,251 @@
+package br.com.erudio.unittests.files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.util.unit.DataSize;
+
+import br.com.erudio.config.FileStorageConfig;
+import br.com.erudio.exceptions.FileStorageException;
+import br.com.erudio.exceptions.FileTooLargeException;
+import br.com.erudio.exceptions.MyFileNotFoundException;
+import br.com.erudio.files.FileIndex;
+import br.com.erudio.files.LocalBlobStorage;
+import br.com.erudio.files.StoredFile;
+import br.com.erudio.model.FileEntry;
+import br.com.erudio.services.FileStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class FileStorageServiceTest {
+
+	private static final String HELLO_SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+	@TempDir
+	Path dir;
+
+	@Mock
+	private FileIndex index;
+
+	private FileStorageService service;
+
+	@BeforeEach
+	void setUp() {
+		FileStorageConfig config = new FileStorageConfig();
+		config.setUploadDir(dir.toString());
+		config.setMaxFileSize(DataSize.ofBytes(16));
+		service = new FileStorageService(config, index, new LocalBlobStorage(dir.resolve("blobs")), new SimpleMeterRegistry());
+	}
+
+	private ByteArrayInputStream content(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private Path blob(String sha256) {
+		return dir.resolve("blobs").resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+	}
+
+	private void linkAnything() {
+		when(index.link(anyString(), anyString(), anyLong()))
+			.thenAnswer(i -> new FileEntry(i.getArgument(0), i.getArgument(1), i.getArgument(2), new Date()));
+	}
+
+	private long countFiles(Path directory) throws Exception {
+		try (var files = Files.walk(directory)) {
+			return files.filter(Files::isRegularFile).count();
+		}
+	}
+
+	@Test
+	void testStreamsIntoAShardedBlob() throws Exception {
+		linkAnything();
+
+		StoredFile stored = service.storeFile("hello.txt", content("hello"));
+
+		assertEquals("hello.txt", stored.getFilename());
+		assertEquals(5, stored.getSize());
+		assertEquals(HELLO_SHA256, stored.getChecksum());
+		assertEquals(blob(HELLO_SHA256), stored.getPath());
+		assertEquals("hello", Files.readString(blob(HELLO_SHA256)));
+		assertEquals(0, countFiles(dir.resolve("tmp")));
+		verify(index).link("hello.txt", HELLO_SHA256, 5L);
+	}
+
+	@Test
+	void testDuplicateContentIsStoredOnce() throws Exception {
+		linkAnything();
+
+		service.storeFile("hello.txt", content("hello"));
+		service.storeFile("copy-of-hello.txt", content("hello"));
+
+		assertEquals(1, countFiles(dir));
+		verify(index).link("copy-of-hello.txt", HELLO_SHA256, 5L);
+	}
+
+	@Test
+	void testRetriesWhenTheNameWasCreatedConcurrently() {
+		when(index.link("hello.txt", HELLO_SHA256, 5L))
+			.thenThrow(new DataIntegrityViolationException("Duplicate entry"))
+			.thenReturn(new FileEntry("hello.txt", HELLO_SHA256, 5L, new Date()));
+
+		service.storeFile("hello.txt", content("hello"));
+
+		verify(index, times(2)).link("hello.txt", HELLO_SHA256, 5L);
+	}
+
+	@Test
+	void testRetriesWhenConcurrentUploadsOfTheNameDeadlocked() {
+		when(index.link("hello.txt", HELLO_SHA256, 5L))
+			.thenThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"))
+			.thenReturn(new FileEntry("hello.txt", HELLO_SHA256, 5L, new Date()));
+
+		service.storeFile("hello.txt", content("hello"));
+
+		verify(index, times(2)).link("hello.txt", HELLO_SHA256, 5L);
+		verify(index, never()).release(HELLO_SHA256);
+	}
+
+	@Test
+	void testGivesUpLinkingAfterRepeatedDeadlocks() {
+		when(index.link("hello.txt", HELLO_SHA256, 5L))
+			.thenThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"));
+
+		assertThrows(FileStorageException.class, () -> service.storeFile("hello.txt", content("hello")));
+
+		verify(index, times(3)).link("hello.txt", HELLO_SHA256, 5L);
+		verify(index).release(HELLO_SHA256);
+	}
+
+	@Test
+	void testTooLargeLeavesNothingBehind() throws Exception {
+		assertThrows(FileTooLargeException.class,
+			() -> service.storeFile("big.txt", content("more than sixteen bytes")));
+
+		assertEquals(0, countFiles(dir));
+		verifyNoInteractions(index);
+	}
+
+	@Test
+	void testRejectsInvalidNames() {
+		assertThrows(FileStorageException.class, () -> service.storeFile("../escape.txt", content("x")));
+		assertThrows(FileStorageException.class, () -> service.storeFile("nested/file.txt", content("x")));
+		assertThrows(FileStorageException.class, () -> service.storeFile("", content("x")));
+	}
+
+	@Test
+	void testLoadFileResolvesThroughTheIndex() throws Exception {
+		linkAnything();
+		service.storeFile("hello.txt", content("hello"));
+		Date createdAt = new Date(1000);
+		when(index.find("hello.txt")).thenReturn(Optional.of(new FileEntry("hello.txt", HELLO_SHA256, 5L, createdAt)));
+
+		StoredFile stored = service.loadFile("hello.txt");
+
+		assertEquals(blob(HELLO_SHA256), stored.getPath());
+		assertEquals(HELLO_SHA256, stored.getChecksum());
+		assertEquals(1000, stored.getLastModified());
+	}
+
+	@Test
+	void testLoadsFilesOfTheFlatLayout() throws Exception {
+		Files.writeString(dir.resolve("legacy.txt"), "legacy");
+		when(index.find(anyString())).thenReturn(Optional.empty());
+
+		StoredFile stored = service.loadFile("legacy.txt");
+
+		assertEquals(dir.resolve("legacy.txt"), stored.getPath());
+		assertNull(stored.getChecksum());
+		assertThrows(MyFileNotFoundException.class, () -> service.loadFile("../legacy.txt"));
+		assertThrows(MyFileNotFoundException.class, () -> service.loadFile("missing.txt"));
+	}
+
+	@Test
+	void testDeleteFile() {
+		when(index.unlink("hello.txt")).thenReturn(true);
+
+		service.deleteFile("hello.txt");
+
+		assertThrows(MyFileNotFoundException.class, () -> service.deleteFile("missing.txt"));
+	}
+
+	@Test
+	void testDeletesOrphanBlobs() throws Exception {
+		linkAnything();
+		service.storeFile("hello.txt", content("hello"));
+		when(index.findOrphans(anyLong(), anyInt())).thenReturn(List.of(HELLO_SHA256));
+		when(index.deleteOrphan(eq(HELLO_SHA256), anyLong(), any(Runnable.class))).thenAnswer(i -> {
+			i.<Runnable>getArgument(2).run();
+			return true;
+		});
+
+		service.deleteOrphanBlobs();
+
+		assertFalse(Files.exists(blob(HELLO_SHA256)));
+		assertTrue(Files.isDirectory(dir.resolve("blobs")));
+	}
+
+	@Test
+	void testKeepsOrphansThatTookANewReference() throws Exception {
+		linkAnything();
+		service.storeFile("hello.txt", content("hello"));
+		when(index.findOrphans(anyLong(), anyInt())).thenReturn(List.of(HELLO_SHA256));
+		when(index.deleteOrphan(eq(HELLO_SHA256), anyLong(), any(Runnable.class))).thenReturn(false);
+
+		service.deleteOrphanBlobs();
+
+		assertTrue(Files.exists(blob(HELLO_SHA256)));
+	}
+
+	@Test
+	void testTakesTheReferenceBeforeTheBytes() {
+		linkAnything();
+
+		service.storeFile("hello.txt", content("hello"));
+
+		InOrder order = inOrder(index);
+		order.verify(index).acquire(HELLO_SHA256, 5L);
+		order.verify(index).link("hello.txt", HELLO_SHA256, 5L);
+		verify(index, never()).release(anyString());
+	}
+
+	@Test
+	void testReleasesTheReferenceWhenLinkingFails() {
+		when(index.link("hello.txt", HELLO_SHA256, 5L)).thenThrow(new IllegalStateException("Database is down"));
+
+		assertThrows(FileStorageException.class, () -> service.storeFile("hello.txt", content("hello")));
+
+		verify(index).acquire(HELLO_SHA256, 5L);
+		verify(index).release(HELLO_SHA256);
+	}
+}
@@ -0,0 +1,119 @@
+package br.com.erudio.unittests.files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.config.FileStorageConfig;
+import br.com.erudio.exceptions.FileStorageException;
+import br.com.erudio.files.FileUploadExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class FileUploadExecutorTest {
+
+	private FileUploadExecutor executor;
+
+	@BeforeEach
+	void setUp() {
+		FileStorageConfig config = new FileStorageConfig();
+		config.setUploadParallelism(2);
+		executor = new FileUploadExecutor(config, new SimpleMeterRegistry());
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void testKeepsTheOrderOfTheItems() {
+		List<CompletableFuture<String>> futures = executor.submitAll(List.of(30, 0, 20, 10), delay -> {
+			sleep(delay);
+			return "file-" + delay;
+		});
+
+		assertEquals(List.of("file-30", "file-0", "file-20", "file-10"),
+			futures.stream().map(CompletableFuture::join).toList());
+	}
+
+	@Test
+	void testEachItemFailsOnItsOwn() {
+		List<CompletableFuture<String>> futures = executor.submitAll(List.of("a", "bad", "c"), name -> {
+			if (name.equals("bad")) throw new FileStorageException("Could not store file " + name);
+			return name;
+		});
+
+		assertEquals("a", futures.get(0).join());
+		CompletionException e = assertThrows(CompletionException.class, () -> futures.get(1).join());
+		assertInstanceOf(FileStorageException.class, e.getCause());
+		assertEquals("c", futures.get(2).join());
+	}
+
+	@Test
+	void testBoundsTheParallelism() {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+
+		executor.submitAll(List.of(1, 2, 3, 4, 5, 6), item -> {
+			peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+			sleep(20);
+			running.decrementAndGet();
+			return item;
+		}).forEach(CompletableFuture::join);
+
+		assertTrue(peak.get() <= 2, "peak was " + peak.get());
+	}
+
+	@Test
+	void testFullQueueFailsOnlyTheRejectedFile() throws Exception {
+		FileStorageConfig config = new FileStorageConfig();
+		config.setUploadParallelism(1);
+		config.setUploadQueueCapacity(1);
+		FileUploadExecutor bounded = new FileUploadExecutor(config, new SimpleMeterRegistry());
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			List<CompletableFuture<String>> futures = bounded.submitAll(List.of("running", "queued", "rejected"), name -> {
+				await(release);
+				return name;
+			});
+
+			CompletionException e = assertThrows(CompletionException.class, () -> futures.get(2).join());
+			assertInstanceOf(FileStorageException.class, e.getCause());
+
+			release.countDown();
+			assertEquals("running", futures.get(0).join());
+			assertEquals("queued", futures.get(1).join());
+		} finally {
+			release.countDown();
+			bounded.shutdown();
+		}
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package br.com.erudio.unittests.files;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import br.com.erudio.files.S3BlobStorage;
+
+class S3BlobStorageTest {
+
+	@TempDir
+	Path dir;
+
+	private FakeS3Client client;
+	private S3BlobStorage storage;
+
+	@BeforeEach
+	void setUp() {
+		client = new FakeS3Client();
+		storage = new S3BlobStorage(client, "erudio-files", "blobs/", 10, 3);
+	}
+
+	@AfterEach
+	void tearDown() {
+		storage.close();
+	}
+
+	private Path source(String content) throws IOException {
+		return Files.writeString(dir.resolve("source.part"), content);
+	}
+
+	@Test
+	void testSmallBlobIsASinglePut() throws Exception {
+		storage.put("ab/cd/abcd", source("hello"));
+
+		assertArrayEquals("hello".getBytes(StandardCharsets.UTF_8), client.objects.get("blobs/ab/cd/abcd"));
+		assertEquals(0, client.partsUploaded.get());
+		assertTrue(storage.exists("ab/cd/abcd"));
+		assertNull(storage.localPath("ab/cd/abcd"));
+	}
+
+	@Test
+	void testLargeBlobIsUploadedInParts() throws Exception {
+		String alphabet = "abcdefghijklmnopqrstuvwxyz";
+		storage.put("ab/cd/abcd", source(alphabet));
+
+		assertEquals(3, client.partsUploaded.get());
+		assertEquals(alphabet, new String(client.objects.get("blobs/ab/cd/abcd"), StandardCharsets.UTF_8));
+		assertTrue(client.uploads.isEmpty());
+	}
+
+	@Test
+	void testFailedPartAbortsTheUpload() throws Exception {
+		client.failPart = 2;
+
+		assertThrows(IOException.class, () -> storage.put("ab/cd/abcd", source("abcdefghijklmnopqrstuvwxyz")));
+
+		assertEquals(1, client.aborted.get());
+		assertFalse(storage.exists("ab/cd/abcd"));
+		assertTrue(client.uploads.isEmpty());
+	}
+
+	@Test
+	void testRangeRead() throws Exception {
+		storage.put("ab/cd/abcd", source("abcdefghijklmnopqrstuvwxyz"));
+
+		try (InputStream in = storage.read("ab/cd/abcd", 23, 3)) {
+			assertEquals("xyz", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	void testDelete() throws Exception {
+		storage.put("ab/cd/abcd", source("hello"));
+		storage.delete("ab/cd/abcd");
+
+		assertFalse(storage.exists("ab/cd/abcd"));
+	}
+}
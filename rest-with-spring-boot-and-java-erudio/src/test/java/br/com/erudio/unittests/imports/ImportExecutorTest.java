@@ -0,0 +1,89 @@
+package br.com.erudio.unittests.imports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.exceptions.TooManyRequestsException;
+import br.com.erudio.imports.ImportExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ImportExecutorTest {
+
+	private ImportExecutor executor;
+
+	@BeforeEach
+	void setUp() {
+		executor = new ImportExecutor(1, 1, new SimpleMeterRegistry());
+	}
+
+	@Test
+	void testReservesAPlaceInThePoolOrTheQueue() {
+		executor.reserve();
+		executor.reserve();
+
+		assertThrows(TooManyRequestsException.class, executor::reserve);
+
+		executor.cancel();
+		executor.reserve();
+	}
+
+	@Test
+	void testFinishedImportFreesItsPlace() throws Exception {
+		executor.reserve();
+		executor.reserve();
+		AtomicBoolean ran = new AtomicBoolean();
+
+		assertTrue(executor.run(() -> ran.set(true), Duration.ofSeconds(5)));
+
+		assertTrue(ran.get());
+		executor.reserve();
+	}
+
+	@Test
+	void testQueuedImportWaitsForItsTurn() throws Exception {
+		executor.reserve();
+		executor.reserve();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		var first = new Thread(() -> {
+			try {
+				executor.run(() -> {
+					started.countDown();
+					awaitQuietly(release);
+				}, Duration.ofSeconds(5));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		first.start();
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		assertEquals(1, executor.getActive());
+		assertEquals(1, executor.getQueued());
+		assertFalse(executor.run(() -> {}, Duration.ofMillis(50)));
+
+		release.countDown();
+		first.join(5000);
+		assertEquals(0, executor.getActive());
+		executor.reserve();
+		executor.reserve();
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
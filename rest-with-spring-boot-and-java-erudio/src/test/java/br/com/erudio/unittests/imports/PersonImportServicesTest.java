@@ -0,0 +1,190 @@
+package br.com.erudio.unittests.imports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.data.vo.v1.batch.BatchItemResultVO;
+import br.com.erudio.data.vo.v1.batch.BatchResultVO;
+import br.com.erudio.data.vo.v1.imports.ImportJobVO;
+import br.com.erudio.exceptions.TooManyRequestsException;
+import br.com.erudio.imports.ImportExecutor;
+import br.com.erudio.imports.ImportFormat;
+import br.com.erudio.imports.ImportJobRegistry;
+import br.com.erudio.services.PersonBatchServices;
+import br.com.erudio.services.PersonImportServices;
+
+@ExtendWith(MockitoExtension.class)
+class PersonImportServicesTest {
+
+	@InjectMocks
+	private PersonImportServices service;
+
+	@Mock
+	PersonBatchServices batchServices;
+
+	@Spy
+	ImportJobRegistry registry = new ImportJobRegistry();
+
+	@Spy
+	ObjectMapper objectMapper = new ObjectMapper();
+
+	@Mock
+	ImportExecutor executor;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "chunkSize", 2);
+	}
+
+	@Test
+	void testWritesInChunksAndReportsRejectedLines() throws Exception {
+		runInline();
+		when(batchServices.create(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+
+		var csv = "firstName,lastName,address,gender\n"
+				+ "Ayrton,Senna,São Paulo,Male\n"
+				+ "Nelson,Piquet,Rio de Janeiro,Male\n"
+				+ "Emerson,Fittipaldi,São Paulo,Unknown\n"
+				+ "Rubens,Barrichello,São Paulo,Male\n";
+
+		var job = service.importPeople(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV, accepted -> {});
+
+		assertEquals("COMPLETED", job.getStatus());
+		assertEquals(4, job.getRowsRead());
+		assertEquals(3, job.getRowsImported());
+		assertEquals(1, job.getRowsRejected());
+		assertEquals(4, job.getErrors().get(0).getLine());
+		verify(batchServices, times(2)).create(anyList());
+	}
+
+	@Test
+	void testAnswersWithTheJobBeforeReadingTheBody() throws Exception {
+		runInline();
+		when(batchServices.create(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+		var body = new ByteArrayInputStream("{\"firstName\":\"Ayrton\",\"lastName\":\"Senna\",\"address\":\"São Paulo\",\"gender\":\"Male\"}\n"
+				.getBytes(StandardCharsets.UTF_8));
+		int size = body.available();
+		List<ImportJobVO> answered = new ArrayList<>();
+
+		var job = service.importPeople(body, ImportFormat.NDJSON, accepted -> {
+			assertEquals(size, body.available());
+			answered.add(accepted);
+		});
+
+		assertEquals(1, answered.size());
+		assertEquals(job.getId(), answered.get(0).getId());
+		assertEquals("QUEUED", answered.get(0).getStatus());
+		assertEquals("COMPLETED", job.getStatus());
+	}
+
+	@Test
+	void testFullQueueRejectsBeforeReadingTheBody() throws Exception {
+		doThrow(new TooManyRequestsException("Too many imports running, please try again later!"))
+			.when(executor).reserve();
+		var body = new ByteArrayInputStream("{}\n".getBytes(StandardCharsets.UTF_8));
+
+		assertThrows(TooManyRequestsException.class, () -> service.importPeople(body, ImportFormat.NDJSON,
+			accepted -> fail("A rejected import is never answered with a job")));
+
+		assertEquals(3, body.available());
+		assertTrue(service.findAllJobs().isEmpty());
+		verify(executor, never()).run(any(), any());
+	}
+
+	@Test
+	void testImportThatCantBeAnsweredGivesBackItsPlace() throws Exception {
+		var body = new ByteArrayInputStream("{}\n".getBytes(StandardCharsets.UTF_8));
+
+		assertThrows(UncheckedIOException.class, () -> service.importPeople(body, ImportFormat.NDJSON, accepted -> {
+			throw new UncheckedIOException(new IOException("Broken pipe"));
+		}));
+
+		assertEquals(3, body.available());
+		assertEquals("FAILED", service.findAllJobs().get(0).getStatus());
+		verify(executor).cancel();
+		verify(executor, never()).run(any(), any());
+	}
+
+	@Test
+	void testImportQueuedTooLongIsMarkedFailed() throws Exception {
+		when(executor.run(any(), any())).thenReturn(false);
+		var body = new ByteArrayInputStream("{}\n".getBytes(StandardCharsets.UTF_8));
+
+		var job = service.importPeople(body, ImportFormat.NDJSON, accepted -> {});
+
+		assertEquals("FAILED", job.getStatus());
+		assertEquals(3, body.available());
+		verify(batchServices, never()).create(anyList());
+	}
+
+	@Test
+	void testTimedOutImportStopsReading() throws Exception {
+		ReflectionTestUtils.setField(service, "timeout", Duration.ofMillis(200));
+		runInline();
+		// The first chunk outlasts the timeout
+		when(batchServices.create(anyList())).thenAnswer(invocation -> {
+			Thread.sleep(300);
+			return created(invocation.getArgument(0));
+		});
+		var csv = new StringBuilder("firstName,lastName,address,gender\n");
+		for (int i = 0; i < 6; i++) csv.append("Ayrton,Senna,São Paulo,Male\n");
+		var closed = new AtomicBoolean();
+		var body = new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)) {
+			@Override
+			public void close() {
+				closed.set(true);
+			}
+		};
+
+		var job = service.importPeople(body, ImportFormat.CSV, accepted -> {});
+
+		assertEquals("FAILED", job.getStatus());
+		assertTrue(job.getFailure().contains("longer than"));
+		assertEquals(2, job.getRowsImported());
+		assertTrue(closed.get());
+		verify(batchServices, times(1)).create(anyList());
+	}
+
+	private void runInline() throws Exception {
+		when(executor.run(any(), any())).thenAnswer(invocation -> {
+			invocation.<Runnable>getArgument(0).run();
+			return true;
+		});
+	}
+
+	private BatchResultVO created(List<PersonVO> chunk) {
+		List<BatchItemResultVO> items = new ArrayList<>();
+		for (int i = 0; i < chunk.size(); i++) items.add(new BatchItemResultVO(i, (long) i + 1, 201, null));
+		return new BatchResultVO(items, 201, 0);
+	}
+}
@@ -0,0 +1,117 @@
+package br.com.erudio.unittests.imports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.imports.ImportFormat;
+import br.com.erudio.imports.PersonRowReader;
+
+class PersonRowReaderTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper()
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+	private PersonRowReader reader(ImportFormat format, String content) throws Exception {
+		return PersonRowReader.of(format, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), objectMapper);
+	}
+
+	@Test
+	void testCsv() throws Exception {
+		var csv = "\uFEFFfirst_name,lastName,address,gender,enabled\n"
+				+ "Ayrton,Senna,\"São Paulo, \"\"SP\"\"\",Male,false\n"
+				+ "\n"
+				+ "Ana,Costa,\"Unterminated,Female\n";
+
+		try (var rows = reader(ImportFormat.CSV, csv)) {
+			var first = rows.next();
+			assertEquals(2, first.line());
+			assertEquals("Ayrton", first.person().getFirstName());
+			assertEquals("São Paulo, \"SP\"", first.person().getAddress());
+			assertEquals("Male", first.person().getGender());
+			assertFalse(first.person().getEnabled());
+
+			var second = rows.next();
+			assertEquals(4, second.line());
+			assertNull(second.person());
+			assertNotNull(second.error());
+
+			assertNull(rows.next());
+		}
+	}
+
+	@Test
+	void testCsvQuotedLineBreaks() throws Exception {
+		var csv = "firstName,lastName,address,gender\n"
+				+ "Ayrton,Senna,\"Rua A, 10\n\nBloco B\",Male\n"
+				+ "Nelson,Piquet,Brasília,Male\n";
+
+		try (var rows = reader(ImportFormat.CSV, csv)) {
+			var first = rows.next();
+			assertEquals(2, first.line());
+			assertEquals("Rua A, 10\n\nBloco B", first.person().getAddress());
+			assertEquals("Male", first.person().getGender());
+
+			var second = rows.next();
+			assertEquals(5, second.line());
+			assertEquals("Piquet", second.person().getLastName());
+
+			assertNull(rows.next());
+		}
+	}
+
+	@Test
+	void testLongLinesStopTheImport() throws Exception {
+		var longLine = "x".repeat(70 * 1024);
+
+		try (var rows = reader(ImportFormat.NDJSON, "{}\n" + longLine + "\n")) {
+			rows.next();
+			var e = assertThrows(IOException.class, rows::next);
+			assertTrue(e.getMessage().startsWith("Line 2 "));
+		}
+		try (var rows = reader(ImportFormat.CSV, "firstName,lastName,address,gender\n"
+				+ "Ayrton,Senna,\"" + "Rua A\n".repeat(20 * 1024))) {
+			assertThrows(IOException.class, rows::next);
+		}
+	}
+
+	@Test
+	void testCrLfLineEnds() throws Exception {
+		try (var rows = reader(ImportFormat.CSV, "firstName,lastName,address,gender\r\nAyrton,Senna,São Paulo,Male\r\n")) {
+			var row = rows.next();
+			assertEquals(2, row.line());
+			assertEquals("Male", row.person().getGender());
+			assertNull(rows.next());
+		}
+	}
+
+	@Test
+	void testNdjson() throws Exception {
+		var ndjson = "{\"firstName\":\"Ayrton\",\"lastName\":\"Senna\",\"address\":\"São Paulo\",\"gender\":\"Male\"}\n"
+				+ "{\"firstName\":\n";
+
+		try (var rows = reader(ImportFormat.NDJSON, ndjson)) {
+			var first = rows.next();
+			assertEquals("Senna", first.person().getLastName());
+			assertNull(first.error());
+
+			var second = rows.next();
+			assertEquals(2, second.line());
+			assertNotNull(second.error());
+
+			assertNull(rows.next());
+		}
+	}
+}
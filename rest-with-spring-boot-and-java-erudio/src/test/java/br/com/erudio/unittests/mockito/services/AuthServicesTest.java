@@ -0,0 +1,77 @@
+package br.com.erudio.unittests.mockito.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.erudio.data.vo.v1.security.AccountCredentialsVO;
+import br.com.erudio.data.vo.v1.security.TokenVO;
+import br.com.erudio.model.User;
+import br.com.erudio.repositories.UserRepository;
+import br.com.erudio.security.SigninExecutor;
+import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.services.AuthServices;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServicesTest {
+
+	@Mock
+	private AuthenticationManager authenticationManager;
+
+	@Mock
+	private JwtTokenProvider tokenProvider;
+
+	@Mock
+	private UserRepository repository;
+
+	private SigninExecutor signinExecutor;
+	private AuthServices service;
+
+	@BeforeEach
+	void setUp() {
+		signinExecutor = new SigninExecutor(1, 1, new SimpleMeterRegistry());
+		service = new AuthServices();
+		ReflectionTestUtils.setField(service, "authenticationManager", authenticationManager);
+		ReflectionTestUtils.setField(service, "tokenProvider", tokenProvider);
+		ReflectionTestUtils.setField(service, "repository", repository);
+		ReflectionTestUtils.setField(service, "signinExecutor", signinExecutor);
+	}
+
+	@AfterEach
+	void tearDown() {
+		signinExecutor.shutdown();
+	}
+
+	@Test
+	void testSigninResolvesTheIssuerBeforeLeavingTheRequestThread() throws Exception {
+		var user = new User();
+		user.setUserName("leandro");
+		user.setPermissions(List.of());
+		var token = new TokenVO();
+		when(tokenProvider.currentIssuer()).thenReturn("http://localhost:8080");
+		when(repository.findByUsername("leandro")).thenReturn(user);
+		when(tokenProvider.createAccessToken("leandro", user.getRoles(), "http://localhost:8080"))
+			.thenReturn(token);
+
+		var response = service.signin(new AccountCredentialsVO("leandro", "admin123"))
+			.get(5, TimeUnit.SECONDS);
+
+		assertNotNull(response);
+		assertEquals(token, response.getBody());
+		verify(tokenProvider).currentIssuer();
+	}
+}
@@ -4,6 +4,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
@@ -13,17 +16,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import br.com.erudio.cache.CountCache;
+import br.com.erudio.cache.ResponseBodyCache;
 import br.com.erudio.data.vo.v1.BookVO;
 import br.com.erudio.exceptions.RequiredObjectIsNullException;
+import br.com.erudio.exceptions.ResourceNotFoundException;
 import br.com.erudio.model.Book;
 import br.com.erudio.repositories.BookRepository;
 import br.com.erudio.services.BookServices;
 import br.com.erudio.unittests.mapper.mocks.MockBook;
+import jakarta.persistence.EntityManagerFactory;
 
 @TestInstance(Lifecycle.PER_CLASS)
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +44,15 @@ class BookServicesTest {
 	
 	@Mock
 	BookRepository repository;
+
+	@Mock
+	CountCache countCache;
+
+	@Mock
+	ResponseBodyCache responseCache;
+
+	@Mock(answer = Answers.RETURNS_DEEP_STUBS)
+	EntityManagerFactory entityManagerFactory;
 	
 	@BeforeEach
 	void setUpMocks() throws Exception {
@@ -112,8 +129,8 @@ class BookServicesTest {
 		vo.setKey(1L);
 		
 
-		when(repository.findById(1L)).thenReturn(Optional.of(entity));
-		when(repository.save(entity)).thenReturn(persisted);
+		when(repository.updateBook(1L, vo.getAuthor(), vo.getLaunchDate(), vo.getPrice(), vo.getTitle(), null)).thenReturn(1);
+		when(repository.findById(1L)).thenReturn(Optional.of(persisted));
 		
 		var result = service.update(vo);
 		
@@ -144,12 +161,23 @@ class BookServicesTest {
 	
 	@Test
 	void testDelete() {
-		Book entity = input.mockEntity(1); 
-		entity.setId(1L);
-		
-		when(repository.findById(1L)).thenReturn(Optional.of(entity));
+		when(repository.deleteBook(1L, null)).thenReturn(1);
 		
 		service.delete(1L);
+		
+		verify(entityManagerFactory.getCache(), atLeastOnce()).evict(Book.class, 1L);
+		verify(entityManagerFactory.getCache(), never()).evict(Book.class);
+	}
+	
+	@Test
+	void testDeleteNotFound() {
+		when(repository.deleteBook(1L, null)).thenReturn(0);
+		
+		Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
+			service.delete(1L);
+		});
+		
+		assertEquals("No records found for this ID!", exception.getMessage());
 	}
 	
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package br.com.erudio.unittests.mockito.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+
+import br.com.erudio.cache.CountCache;
+import br.com.erudio.cache.ResponseBodyCache;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.exceptions.PreconditionFailedException;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.reactive.ReactivePersonRepository;
+import br.com.erudio.search.PersonSearchIndex;
+import br.com.erudio.services.PersonReactiveServices;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@TestInstance(Lifecycle.PER_CLASS)
+@ExtendWith(MockitoExtension.class)
+class PersonReactiveServicesTest {
+
+	MockPerson input;
+
+	@InjectMocks
+	private PersonReactiveServices service;
+
+	@Mock
+	ReactivePersonRepository repository;
+
+	@Mock
+	CountCache countCache;
+
+	@Mock
+	ResponseBodyCache responseCache;
+
+	@Mock
+	PersonSearchIndex searchIndex;
+
+	@Mock
+	EntityManagerFactory entityManagerFactory;
+
+	@BeforeEach
+	void setUpMocks() throws Exception {
+		input = new MockPerson();
+		MockitoAnnotations.openMocks(this);
+	}
+
+	@Test
+	void testFindAll() {
+		when(repository.findAll(Direction.ASC, 2, 4L)).thenReturn(Flux.fromIterable(input.mockEntityList().subList(0, 2)));
+
+		var people = service.findAll(PageRequest.of(2, 2), Direction.ASC).collectList().block();
+
+		assertEquals(2, people.size());
+		assertTrue(people.get(1).toString().contains("links: [</api/person/v2/1>;rel=\"self\"]"));
+	}
+
+	@Test
+	void testFindByIdNotFound() {
+		when(repository.findById(1L)).thenReturn(Mono.empty());
+
+		assertThrows(ResourceNotFoundException.class, () -> service.findById(1L).block());
+	}
+
+	@Test
+	void testCreate() {
+		PersonVO vo = input.mockVO(1);
+		vo.setKey(null);
+
+		when(repository.insert(any(Person.class))).thenReturn(Mono.just(7L));
+
+		var result = service.create(vo).block();
+
+		assertEquals(7L, result.getKey());
+		assertEquals(0L, result.getVersion());
+		verify(countCache).invalidate(CountCache.PERSON);
+		verify(searchIndex).index(any(Person.class));
+	}
+
+	@Test
+	void testUpdate() {
+		PersonVO vo = input.mockVO(1);
+		vo.setKey(1L);
+		Person saved = input.mockEntity(1);
+		saved.setId(1L);
+		saved.setVersion(4L);
+
+		when(entityManagerFactory.getCache()).thenReturn(mock(Cache.class));
+		when(repository.update(any(Person.class), eq(3L))).thenReturn(Mono.just(1L));
+		when(repository.findById(1L)).thenReturn(Mono.just(saved));
+
+		var result = service.update(vo, 3L).block();
+
+		assertEquals(4L, result.getVersion());
+		verify(responseCache).evict(ResponseBodyCache.PERSON, 1L);
+	}
+
+	@Test
+	void testUpdateWithStaleVersion() {
+		PersonVO vo = input.mockVO(1);
+		vo.setKey(1L);
+
+		when(repository.update(any(Person.class), eq(3L))).thenReturn(Mono.just(0L));
+		when(repository.existsById(1L)).thenReturn(Mono.just(true));
+
+		assertThrows(PreconditionFailedException.class, () -> service.update(vo, 3L).block());
+	}
+}
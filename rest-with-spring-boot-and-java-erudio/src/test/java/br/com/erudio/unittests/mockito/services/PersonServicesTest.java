@@ -1,11 +1,20 @@
 package br.com.erudio.unittests.mockito.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -13,17 +22,40 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.cache.CountCache;
+import br.com.erudio.cache.ResponseBodyCache;
 import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.exceptions.PreconditionFailedException;
 import br.com.erudio.exceptions.RequiredObjectIsNullException;
+import br.com.erudio.exceptions.ResourceNotFoundException;
 import br.com.erudio.model.Person;
 import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.search.PersonSearchIndex;
 import br.com.erudio.services.PersonServices;
 import br.com.erudio.unittests.mapper.mocks.MockPerson;
+import br.com.erudio.util.CountMode;
+import br.com.erudio.util.CountedPageMetadata;
+import jakarta.persistence.EntityManagerFactory;
+import br.com.erudio.util.SeekCursor;
 
 @TestInstance(Lifecycle.PER_CLASS)
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +69,18 @@ class PersonServicesTest {
 	@Mock
 	PersonRepository repository;
 
+	@Mock
+	CountCache countCache;
+
+	@Mock
+	ResponseBodyCache responseCache;
+
+	@Mock
+	PersonSearchIndex searchIndex;
+
+	@Mock(answer = Answers.RETURNS_DEEP_STUBS)
+	EntityManagerFactory entityManagerFactory;
+
 	@BeforeEach
 	void setUpMocks() throws Exception {
 		input = new MockPerson();
@@ -111,8 +155,8 @@ class PersonServicesTest {
 		PersonVO vo = input.mockVO(1);
 		vo.setKey(1L);
 		
-		when(repository.findById(1L)).thenReturn(Optional.of(entity));
-		when(repository.save(entity)).thenReturn(persisted);
+		when(repository.updatePerson(1L, vo.getFirstName(), vo.getLastName(), vo.getAddress(), vo.getGender(), null)).thenReturn(1);
+		when(repository.findById(1L)).thenReturn(Optional.of(persisted));
 
 		var result = service.update(vo);
 		
@@ -142,11 +186,141 @@ class PersonServicesTest {
 
 	@Test
 	void testDelete() {
-		Person entity = input.mockEntity(1);
-		entity.setId(1L);
-
-		when(repository.findById(1L)).thenReturn(Optional.of(entity));
+		when(repository.deletePerson(1L, null)).thenReturn(1);
 
 		service.delete(1L);
+		
+		verify(searchIndex).delete(1L);
+		verify(entityManagerFactory.getCache(), atLeastOnce()).evict(Person.class, 1L);
+		verify(entityManagerFactory.getCache(), never()).evict(Person.class);
+		verify(repository, never()).findById(1L);
+	}
+
+	@Test
+	void testSearchIndexOnlySeesCommittedWrites() {
+		when(repository.deletePerson(1L, null)).thenReturn(1);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			service.delete(1L);
+			verify(searchIndex, never()).delete(1L);
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+			verify(searchIndex).delete(1L);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
 		}
+	}
+
+	@Test
+	void testUpdateWithoutBody() {
+		PersonVO vo = input.mockVO(1);
+		vo.setKey(1L);
+
+		when(repository.updatePerson(1L, vo.getFirstName(), vo.getLastName(), vo.getAddress(), vo.getGender(), null)).thenReturn(1);
+
+		assertNull(service.update(vo, null, false));
+		verify(repository, never()).findById(1L);
+	}
+
+	@Test
+	void testUpdateWithStaleVersion() {
+		PersonVO vo = input.mockVO(1);
+		vo.setKey(1L);
+
+		when(repository.updatePerson(1L, vo.getFirstName(), vo.getLastName(), vo.getAddress(), vo.getGender(), 3L)).thenReturn(0);
+		when(repository.existsById(1L)).thenReturn(true);
+
+		Exception exception = assertThrows(PreconditionFailedException.class, () -> {
+			service.update(vo, 3L, true);
+		});
+
+		assertEquals("The person was changed since it was read!", exception.getMessage());
+	}
+
+	@Test
+	void testUpdateNotFound() {
+		PersonVO vo = input.mockVO(1);
+		vo.setKey(1L);
+
+		when(repository.updatePerson(1L, vo.getFirstName(), vo.getLastName(), vo.getAddress(), vo.getGender(), null)).thenReturn(0);
+
+		Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
+			service.update(vo);
+		});
+
+		assertEquals("No records found for this ID!", exception.getMessage());
+	}
+
+	@Test
+	void testFindAllByCursor() {
+		List<Person> people = input.mockEntityList().subList(0, 3);
+
+		when(repository.findPersonsFromStart(any(Pageable.class))).thenReturn(people);
+
+		var result = service.findAllByCursor("", null, 2, Direction.ASC);
+
+		assertNotNull(result);
+		assertNull(result.getMetadata());
+		assertEquals(2, result.getContent().size());
+		assertTrue(result.getLink(IanaLinkRelations.NEXT).isPresent());
+		assertFalse(result.getLink(IanaLinkRelations.PREV).isPresent());
+
+		var next = result.getLink(IanaLinkRelations.NEXT).get().getHref();
+		assertTrue(next.contains("after=" + new SeekCursor("First Name Test1", 1L).encode()));
+	}
+
+	@Test
+	void testFindAllWithoutCount() {
+		List<Person> people = input.mockEntityList().subList(0, 2);
+		Pageable pageable = PageRequest.of(0, 2);
+
+		when(repository.findPersonsSlice(pageable)).thenReturn(new SliceImpl<>(people, pageable, true));
+
+		var result = service.findAll(pageable, CountMode.NONE);
+
+		assertNotNull(result);
+		assertNull(result.getMetadata());
+		assertEquals(2, result.getContent().size());
+		assertTrue(result.getLink(IanaLinkRelations.NEXT).isPresent());
+		assertTrue(result.getLink(IanaLinkRelations.NEXT).get().getHref().contains("count=none"));
+		verify(repository, never()).count();
+	}
+
+	@Test
+	void testPageMetadataTellsTheCountMode() throws Exception {
+		List<Person> people = input.mockEntityList().subList(0, 2);
+		Pageable pageable = PageRequest.of(0, 2);
+		ReflectionTestUtils.setField(service, "assembler",
+			new PagedResourcesAssembler<PersonVO>(new HateoasPageableHandlerMethodArgumentResolver(), null));
+
+		when(countCache.get(eq(CountCache.PERSON), any())).thenReturn(14L);
+		when(repository.findPersonsSlice(pageable)).thenReturn(new SliceImpl<>(people, pageable, true));
+
+		var result = service.findAll(pageable, CountMode.CACHED);
+
+		var metadata = assertInstanceOf(CountedPageMetadata.class, result.getMetadata());
+		assertEquals("cached", metadata.getCountMode());
+		assertEquals(14, metadata.getTotalElements());
+		assertEquals(7, metadata.getTotalPages());
+		assertEquals(2, result.getContent().size());
+		assertEquals("{\"size\":2,\"totalElements\":14,\"totalPages\":7,\"number\":0,\"countMode\":\"cached\"}",
+			new ObjectMapper().writeValueAsString(metadata));
+	}
+
+	@Test
+	void testExactSelfLinkKeepsTheBaselineParameters() {
+		List<Person> people = input.mockEntityList().subList(0, 2);
+		Pageable pageable = PageRequest.of(3, 2);
+		ReflectionTestUtils.setField(service, "assembler",
+			new PagedResourcesAssembler<PersonVO>(new HateoasPageableHandlerMethodArgumentResolver(), null));
+
+		when(repository.findAll(pageable)).thenReturn(new PageImpl<>(people, pageable, 14));
+
+		var result = service.findAll(pageable, CountMode.EXACT);
+
+		var self = result.getLink(IanaLinkRelations.SELF).get();
+		assertFalse(self.isTemplated());
+		assertTrue(self.getHref().endsWith("/api/person/v1?page=3&size=2&direction=asc"));
+	}
 }
@@ -0,0 +1,116 @@
+package br.com.erudio.unittests.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.erudio.repositories.JdbcBatchWriter;
+
+class JdbcBatchWriterTest {
+
+	private JdbcBatchWriter writer;
+	private PreparedStatement statement;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() throws SQLException {
+		statement = mock(PreparedStatement.class);
+		var connection = mock(Connection.class);
+		when(connection.prepareStatement(anyString())).thenReturn(statement);
+		when(connection.prepareStatement(anyString(), anyInt())).thenReturn(statement);
+
+		var jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation -> {
+			try {
+				return invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection);
+			} catch (SQLException e) {
+				throw new UncategorizedSQLException("batch", null, e);
+			}
+		});
+
+		writer = new JdbcBatchWriter();
+		ReflectionTestUtils.setField(writer, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(writer, "transactionManager", mock(PlatformTransactionManager.class));
+		ReflectionTestUtils.setField(writer, "chunkSize", 2);
+	}
+
+	@Test
+	void testReportsEveryItemInOrder() throws SQLException {
+		when(statement.executeBatch()).thenReturn(new int[] {1, 0});
+
+		var results = writer.write("UPDATE", List.of(1L, -1L, 3L), id -> id < 0 ? "invalid" : null,
+				(ps, id) -> ps.setLong(1, id), id -> id, false, 200);
+
+		assertEquals(3, results.size());
+		assertEquals(200, results.get(0).getStatus());
+		assertEquals(400, results.get(1).getStatus());
+		assertEquals("invalid", results.get(1).getError());
+		assertEquals(404, results.get(2).getStatus());
+		assertEquals(3L, results.get(2).getId());
+	}
+
+	@Test
+	void testInsertReportsGeneratedKeys() throws SQLException {
+		var keys = mock(ResultSet.class);
+		when(keys.next()).thenReturn(true, true, false);
+		when(keys.getLong(1)).thenReturn(10L, 11L);
+		when(statement.getGeneratedKeys()).thenReturn(keys);
+		when(statement.executeBatch()).thenReturn(new int[] {-2, -2});
+
+		var results = writer.write("INSERT", List.of("a", "b"), item -> null,
+				(ps, item) -> ps.setString(1, item), item -> null, true, 201);
+
+		assertEquals(10L, results.get(0).getId());
+		assertEquals(11L, results.get(1).getId());
+		assertEquals(201, results.get(1).getStatus());
+	}
+
+	@Test
+	void testFailedChunkIsReplayedRowByRow() throws SQLException {
+		when(statement.executeBatch())
+			.thenThrow(new BatchUpdateException("Data too long for column 'first_name' at row 2", "22001", 1406, new int[0]))
+			.thenReturn(new int[] {1})
+			.thenThrow(new BatchUpdateException("Data too long for column 'first_name' at row 1", "22001", 1406, new int[0]));
+
+		var results = writer.write("UPDATE", List.of(1L, 2L), id -> null,
+				(ps, id) -> ps.setLong(1, id), id -> id, false, 200);
+
+		assertEquals(200, results.get(0).getStatus());
+		assertNull(results.get(0).getError());
+		assertEquals(500, results.get(1).getStatus());
+		assertEquals("value too long", results.get(1).getError());
+	}
+
+	@Test
+	void testDriverMessagesStayOutOfTheResults() throws SQLException {
+		when(statement.executeBatch())
+			.thenThrow(new BatchUpdateException("Duplicate entry 'x' for key 'person.PRIMARY'", "23000", 1062, new int[0]))
+			.thenThrow(new BatchUpdateException("Duplicate entry 'x' for key 'person.PRIMARY'", "23000", 1062, new int[0]))
+			.thenThrow(new BatchUpdateException("Lock wait timeout exceeded", "HY000", 1205, new int[0]));
+
+		var results = writer.write("UPDATE", List.of(1L, 2L), id -> null,
+				(ps, id) -> ps.setLong(1, id), id -> id, false, 200);
+
+		assertEquals("constraint violation", results.get(0).getError());
+		assertEquals("database error", results.get(1).getError());
+	}
+}
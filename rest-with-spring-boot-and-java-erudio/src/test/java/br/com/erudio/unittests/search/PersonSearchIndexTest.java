@@ -0,0 +1,160 @@
+package br.com.erudio.unittests.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.search.PersonSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PersonSearchIndexTest {
+
+	private PersonSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new PersonSearchIndex(new SimpleMeterRegistry());
+		index.index(person(1L, "Joelton", "Gomes", "São Paulo"));
+		index.index(person(2L, "Ana", "Joelsen", "Rua Sete, 10"));
+		index.index(person(3L, "Leandro", "Costa", "Uberlândia"));
+	}
+
+	private Person person(Long id, String firstName, String lastName, String address) {
+		var person = new Person();
+		person.setId(id);
+		person.setFirstName(firstName);
+		person.setLastName(lastName);
+		person.setAddress(address);
+		person.setGender("Male");
+		person.setEnabled(true);
+		return person;
+	}
+
+	@Test
+	void testRanksByFieldAndMatch() {
+		var result = index.search("joel", PageRequest.of(0, 10));
+
+		assertEquals(2, result.getTotalElements());
+		// a prefix of the first name outranks the same prefix in the last name
+		assertEquals(1L, result.getContent().get(0).getId());
+		assertEquals(2L, result.getContent().get(1).getId());
+	}
+
+	@Test
+	void testInfixAccentAndCaseInsensitive() {
+		assertEquals(3L, index.search("LANDIA", PageRequest.of(0, 10)).getContent().get(0).getId());
+		assertEquals(1L, index.search("sao", PageRequest.of(0, 10)).getContent().get(0).getId());
+	}
+
+	@Test
+	void testEveryWordMustMatch() {
+		assertEquals(1, index.search("jo gomes", PageRequest.of(0, 10)).getTotalElements());
+		assertTrue(index.search("joel costa", PageRequest.of(0, 10)).isEmpty());
+	}
+
+	@Test
+	void testIncrementalUpdates() {
+		index.index(person(3L, "Leandro", "Joelson", "Uberlândia"));
+		assertEquals(3, index.search("joel", PageRequest.of(0, 10)).getTotalElements());
+
+		index.delete(1L);
+		assertEquals(2, index.search("joel", PageRequest.of(0, 10)).getTotalElements());
+		assertTrue(index.search("gomes", PageRequest.of(0, 10)).isEmpty());
+		assertEquals(2, index.size());
+	}
+
+	@Test
+	void testPaging() {
+		var page = index.search("joel", PageRequest.of(1, 1));
+
+		assertEquals(2, page.getTotalElements());
+		assertEquals(1, page.getContent().size());
+		assertEquals(2L, page.getContent().get(0).getId());
+	}
+
+	@Test
+	void testSearchesKeepWorkingDuringARebuild() {
+		var repository = mock(PersonRepository.class);
+		ReflectionTestUtils.setField(index, "repository", repository);
+		when(repository.findPersonsAfterId(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+			// Another thread still sees the old index while the table is read
+			var during = CompletableFuture.supplyAsync(() -> index.search("joel", PageRequest.of(0, 10)))
+				.get(5, TimeUnit.SECONDS);
+			assertEquals(2, during.getTotalElements());
+			return List.of(person(4L, "Joelma", "Reis", "Recife"));
+		});
+
+		index.rebuild();
+
+		assertEquals(1, index.size());
+		assertEquals(4L, index.search("joel", PageRequest.of(0, 10)).getContent().get(0).getId());
+	}
+
+	@Test
+	void testWritesDuringARebuildAreKept() {
+		var repository = mock(PersonRepository.class);
+		ReflectionTestUtils.setField(index, "repository", repository);
+		when(repository.findPersonsAfterId(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+			var page = List.of(
+				person(1L, "Joelton", "Gomes", "São Paulo"),
+				person(4L, "Joelma", "Reis", "Recife"));
+			// Written after these rows were read, so the page is already stale
+			index.index(person(1L, "Joelton", "Silva", "São Paulo"));
+			index.delete(4L);
+			index.index(person(5L, "Marta", "Lima", "Natal"));
+			return page;
+		});
+
+		index.rebuild();
+
+		assertEquals(2, index.size());
+		assertEquals(1, index.search("silva", PageRequest.of(0, 10)).getTotalElements());
+		assertTrue(index.search("gomes", PageRequest.of(0, 10)).isEmpty());
+		assertTrue(index.search("joelma", PageRequest.of(0, 10)).isEmpty());
+		assertEquals(1, index.search("marta", PageRequest.of(0, 10)).getTotalElements());
+	}
+
+	@Test
+	void testRebuildReadsTheTableInIdRanges() {
+		var repository = mock(PersonRepository.class);
+		ReflectionTestUtils.setField(index, "repository", repository);
+		var first = new ArrayList<Person>();
+		for (long id = 1; id <= 1000; id++) first.add(person(id, "Person", "Number " + id, "Recife"));
+		when(repository.findPersonsAfterId(eq(0L), any(Pageable.class))).thenReturn(first);
+		when(repository.findPersonsAfterId(eq(1000L), any(Pageable.class)))
+			.thenReturn(List.of(person(1001L, "Joelma", "Reis", "Recife")));
+
+		index.rebuild();
+
+		assertEquals(1001, index.size());
+		verify(repository, never()).findAll(any(Pageable.class));
+		verify(repository, never()).findPersonsAfterId(eq(1001L), any(Pageable.class));
+	}
+
+	@Test
+	void testKeepsTheVersionOfIndexedPeople() {
+		var person = person(6L, "Versioned", "Person", "Natal");
+		person.setVersion(7L);
+		index.index(person);
+
+		assertEquals(7L, index.search("versioned", PageRequest.of(0, 10)).getContent().get(0).getVersion());
+	}
+}
@@ -0,0 +1,106 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.jwt.PrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class JwtTokenProviderTest {
+
+	@Mock
+	private UserDetailsService userDetailsService;
+
+	private JwtTokenProvider provider;
+
+	@BeforeEach
+	void setUp() {
+		provider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(provider, "userDetailsService", userDetailsService);
+		ReflectionTestUtils.setField(provider, "principalCache",
+			new PrincipalCache(10, 60000, new SimpleMeterRegistry()));
+		ReflectionTestUtils.invokeMethod(provider, "init");
+	}
+
+	private JWTCreator.Builder token() {
+		Date now = new Date();
+		return JWT.create()
+			.withSubject("leandro")
+			.withIssuedAt(now)
+			.withExpiresAt(new Date(now.getTime() + 60000));
+	}
+
+	private String sign(JWTCreator.Builder token) {
+		// The provider signs with the Base64 form of the configured secret
+		String secret = Base64.getEncoder().encodeToString("secret".getBytes());
+		return token.sign(Algorithm.HMAC256(secret.getBytes()));
+	}
+
+	private Set<String> authorities(Authentication authentication) {
+		return authentication.getAuthorities().stream()
+			.map(GrantedAuthority::getAuthority)
+			.collect(Collectors.toSet());
+	}
+
+	@Test
+	void testTrustedClaimsMapRolesToAuthorities() {
+		ReflectionTestUtils.setField(provider, "claimsTrusted", true);
+
+		Authentication authentication = provider.getAuthentication(
+			sign(token().withClaim("roles", List.of("ADMIN", "MANAGER"))));
+
+		assertEquals("leandro", authentication.getName());
+		assertEquals(Set.of("ADMIN", "MANAGER"), authorities(authentication));
+		verifyNoInteractions(userDetailsService);
+	}
+
+	@Test
+	void testTrustedClaimsWithoutRolesGrantNothing() {
+		ReflectionTestUtils.setField(provider, "claimsTrusted", true);
+
+		Authentication authentication = provider.getAuthentication(sign(token()));
+
+		assertEquals("leandro", authentication.getName());
+		assertTrue(authentication.getAuthorities().isEmpty());
+		verifyNoInteractions(userDetailsService);
+	}
+
+	@Test
+	void testUntrustedClaimsLoadTheUser() {
+		when(userDetailsService.loadUserByUsername("leandro"))
+			.thenReturn(User.withUsername("leandro").password("").authorities("COMMON_USER").build());
+
+		// The roles of the token are ignored, the ones of the stored user apply
+		Authentication authentication = provider.getAuthentication(
+			sign(token().withClaim("roles", List.of("ADMIN"))));
+
+		assertEquals(Set.of("COMMON_USER"), authorities(authentication));
+		verify(userDetailsService).loadUserByUsername("leandro");
+	}
+}
@@ -0,0 +1,118 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.erudio.config.PasswordEncodingConfig;
+import br.com.erudio.config.SecurityConfig;
+import br.com.erudio.exceptions.InvalidParameterValueException;
+import br.com.erudio.exceptions.TooManyRequestsException;
+import br.com.erudio.services.PasswordHashCalibrationService;
+
+class PasswordHashCalibrationServiceTest {
+
+	private PasswordEncodingConfig config;
+	private PasswordHashCalibrationService service;
+
+	@BeforeEach
+	void setUp() {
+		// Low costs keep the hashing of these tests fast
+		config = new PasswordEncodingConfig();
+		config.setEncodingId("pbkdf2-v2");
+		config.setIterations(new LinkedHashMap<>(Map.of("pbkdf2", 1000, "pbkdf2-v2", 2000)));
+
+		service = new PasswordHashCalibrationService();
+		ReflectionTestUtils.setField(service, "config", config);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void testCalibrateReportsTheCurrentEncoder() throws Exception {
+		var result = service.calibrate(5).get(30, TimeUnit.SECONDS);
+
+		assertEquals(5, result.getTargetMillis());
+		assertEquals("pbkdf2-v2", result.getEncodingId());
+		assertEquals(2000, result.getCurrentIterations());
+		assertTrue(result.getSuggestedIterations() >= 10000);
+		assertEquals(0, result.getSuggestedIterations() % 1000);
+	}
+
+	@Test
+	void testCalibrateRejectsANonPositiveTarget() {
+		assertThrows(InvalidParameterValueException.class, () -> service.calibrate(0));
+		assertThrows(InvalidParameterValueException.class, () -> service.calibrate(-1));
+	}
+
+	@Test
+	void testCalibrationIsRejectedWhileAnotherOneRuns() throws Exception {
+		ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) ReflectionTestUtils.getField(service, "executor");
+		CountDownLatch release = new CountDownLatch(1);
+		var running = executor.submitCompletable(() -> release.await(5, TimeUnit.SECONDS));
+
+		try {
+			assertThrows(TooManyRequestsException.class, () -> service.calibrate(5));
+		} finally {
+			release.countDown();
+		}
+		assertTrue(running.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void testSuggestionIsLinearAndRounded() {
+		assertEquals(250000, PasswordHashCalibrationService.suggestIterations(250, 0.001));
+		assertEquals(123000, PasswordHashCalibrationService.suggestIterations(123, 0.0009999));
+	}
+
+	@Test
+	void testSuggestionIsClamped() {
+		assertEquals(10000, PasswordHashCalibrationService.suggestIterations(1, 0.01));
+		assertEquals(1000000, PasswordHashCalibrationService.suggestIterations(60000, 0.001));
+		assertEquals(2000000, PasswordHashCalibrationService.suggestIterations(1000, 0.0000001));
+	}
+
+	@Test
+	void testEncoderUsesTheEncodingIdAndUpgradesOldHashes() {
+		PasswordEncoder encoder = ReflectionTestUtils.invokeMethod(new SecurityConfig(), "passwordEncoder", config);
+
+		String hash = encoder.encode("admin123");
+		assertTrue(hash.startsWith("{pbkdf2-v2}"));
+		assertTrue(encoder.matches("admin123", hash));
+		assertFalse(encoder.upgradeEncoding(hash));
+
+		String old = "{pbkdf2}" + SecurityConfig.pbkdf2Encoder(1000).encode("admin123");
+		assertTrue(encoder.matches("admin123", old));
+		assertTrue(encoder.upgradeEncoding(old));
+
+		// Hashes without an id are matched with the default id
+		String legacy = SecurityConfig.pbkdf2Encoder(1000).encode("admin123");
+		assertTrue(encoder.matches("admin123", legacy));
+	}
+
+	@Test
+	void testChangingTheIterationsOfAnIdBreaksItsHashes() {
+		String hash = "{pbkdf2}" + SecurityConfig.pbkdf2Encoder(1000).encode("admin123");
+
+		config.getIterations().put("pbkdf2", 3000);
+		PasswordEncoder encoder = ReflectionTestUtils.invokeMethod(new SecurityConfig(), "passwordEncoder", config);
+
+		assertFalse(encoder.matches("admin123", hash));
+	}
+}
@@ -0,0 +1,121 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import br.com.erudio.security.jwt.PrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PrincipalCacheTest {
+
+	private PrincipalCache cache;
+	private AtomicInteger loads;
+
+	@BeforeEach
+	void setUp() {
+		cache = new PrincipalCache(2, 60000, new SimpleMeterRegistry());
+		loads = new AtomicInteger();
+	}
+
+	private UserDetails load(String username) {
+		loads.incrementAndGet();
+		return User.withUsername(username).password("").authorities("ADMIN").build();
+	}
+
+	@Test
+	void testLoadsOncePerToken() {
+		Date issuedAt = new Date();
+		Date expiresAt = new Date(issuedAt.getTime() + 60000);
+
+		var first = cache.get("leandro", issuedAt, expiresAt, this::load);
+		var second = cache.get("leandro", issuedAt, expiresAt, this::load);
+
+		assertSame(first, second);
+		assertEquals(1, loads.get());
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	void testNewTokenIsANewEntry() {
+		Date expiresAt = new Date(System.currentTimeMillis() + 60000);
+
+		cache.get("leandro", new Date(1000), expiresAt, this::load);
+		cache.get("leandro", new Date(2000), expiresAt, this::load);
+
+		assertEquals(2, loads.get());
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	void testNeverOutlivesTheToken() {
+		Date issuedAt = new Date();
+		Date alreadyExpired = new Date(issuedAt.getTime() - 1);
+
+		cache.get("leandro", issuedAt, alreadyExpired, this::load);
+		cache.get("leandro", issuedAt, alreadyExpired, this::load);
+
+		assertEquals(2, loads.get());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void testEvictsWhenFull() {
+		Date expiresAt = new Date(System.currentTimeMillis() + 60000);
+
+		cache.get("leandro", new Date(1000), expiresAt, this::load);
+		cache.get("flavio", new Date(1000), expiresAt, this::load);
+		cache.get("erudio", new Date(1000), expiresAt, this::load);
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictions());
+	}
+
+	@Test
+	void testInvalidate() {
+		Date expiresAt = new Date(System.currentTimeMillis() + 60000);
+
+		cache.get("leandro", new Date(1000), expiresAt, this::load);
+		cache.get("flavio", new Date(1000), expiresAt, this::load);
+		cache.invalidate("leandro");
+		cache.get("leandro", new Date(1000), expiresAt, this::load);
+
+		assertEquals(3, loads.get());
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	void testInvalidateOnlyMatchesTheExactUsername() {
+		Date expiresAt = new Date(System.currentTimeMillis() + 60000);
+		cache = new PrincipalCache(10, 60000, new SimpleMeterRegistry());
+
+		cache.get("leandro", new Date(1000), expiresAt, this::load);
+		cache.get("leandro:admin", new Date(1000), expiresAt, this::load);
+		cache.get("leandro2", new Date(1000), expiresAt, this::load);
+		cache.invalidate("leandro");
+
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	void testInvalidateDuringALoadIsNotUndone() {
+		Date expiresAt = new Date(System.currentTimeMillis() + 60000);
+
+		cache.get("leandro", new Date(1000), expiresAt, username -> {
+			// UserServices disables the user while its principal is being loaded
+			cache.invalidate(username);
+			return load(username);
+		});
+		cache.get("leandro", new Date(1000), expiresAt, this::load);
+
+		assertEquals(2, loads.get());
+	}
+}
@@ -0,0 +1,90 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import br.com.erudio.exceptions.ExceptionResponse;
+import br.com.erudio.exceptions.TooManyRequestsException;
+import br.com.erudio.exceptions.handler.CustomizedResponseEntityExceptionHandler;
+import br.com.erudio.security.SigninExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SigninExecutorTest {
+
+	private SigninExecutor executor;
+	private CountDownLatch release;
+
+	@BeforeEach
+	void setUp() {
+		executor = new SigninExecutor(1, 1, new SimpleMeterRegistry());
+		release = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		RequestContextHolder.resetRequestAttributes();
+		executor.shutdown();
+	}
+
+	private String blocked() {
+		try {
+			release.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return "done";
+	}
+
+	@Test
+	void testSubmitRunsOnThePool() throws Exception {
+		String thread = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+		assertEquals(true, thread.startsWith("signin-"));
+	}
+
+	@Test
+	void testFullQueueIsRejected() throws Exception {
+		CompletableFuture<String> running = executor.submit(this::blocked);
+		CompletableFuture<String> queued = executor.submit(this::blocked);
+
+		assertThrows(TooManyRequestsException.class, () -> executor.submit(this::blocked));
+
+		release.countDown();
+		assertEquals("done", running.get(5, TimeUnit.SECONDS));
+		assertEquals("done", queued.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void testRejectionIsAnsweredWithRetryAfter() {
+		var handler = new CustomizedResponseEntityExceptionHandler();
+		ResponseEntity<ExceptionResponse> response = handler.handleTooManyRequestsExceptions(
+			new TooManyRequestsException("Too many signin requests, please try again later!"),
+			new ServletWebRequest(new MockHttpServletRequest()));
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+		assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+	}
+
+	@Test
+	void testTasksRunWithoutTheCallerRequest() throws Exception {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+		assertNull(executor.submit(RequestContextHolder::getRequestAttributes).get(5, TimeUnit.SECONDS));
+	}
+}
@@ -0,0 +1,127 @@
+package br.com.erudio.unittests.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.PagedModel;
+
+import br.com.erudio.exceptions.InvalidCursorException;
+import br.com.erudio.util.KeysetPages;
+import br.com.erudio.util.SeekCursor;
+
+class KeysetPagesTest {
+
+	record Row(String name, Long id) {}
+
+	// "Ana" twice, so the id has to break the tie
+	private static final List<Row> ROWS = List.of(
+		new Row("Ana", 4L), new Row("Ana", 7L), new Row("Bia", 2L),
+		new Row("Caio", 9L), new Row("Davi", 1L));
+
+	private static final Comparator<Row> ORDER =
+		Comparator.comparing(Row::name).thenComparing(Row::id);
+
+	// Same semantics as the findXFromStart/After/Before repository methods
+	private final KeysetPages.Query<Row> query = (cursor, readDirection, limit) -> {
+		var cursorRow = cursor == null ? null : new Row(cursor.getSortKey(), cursor.getId());
+		var order = readDirection.isAscending() ? ORDER : ORDER.reversed();
+		return ROWS.stream()
+			.filter(r -> cursorRow == null || order.compare(r, cursorRow) > 0)
+			.sorted(order)
+			.limit(limit.getPageSize())
+			.toList();
+	};
+
+	private PagedModel<EntityModel<Row>> read(String after, String before, Direction direction) {
+		return KeysetPages.read(after, before, 2, direction, "name", query, Function.identity(),
+			row -> new SeekCursor(row.name(), row.id()),
+			(a, b) -> Link.of("/items?after=" + a + "&before=" + b).withSelfRel());
+	}
+
+	private List<Long> ids(PagedModel<EntityModel<Row>> page) {
+		return page.getContent().stream().map(m -> m.getContent().id()).toList();
+	}
+
+	private String cursor(PagedModel<EntityModel<Row>> page, LinkRelation rel, String param) {
+		String href = page.getRequiredLink(rel).getHref();
+		int start = href.indexOf(param + "=") + param.length() + 1;
+		int end = href.indexOf('&', start);
+		return href.substring(start, end < 0 ? href.length() : end);
+	}
+
+	@Test
+	void testFirstPage() {
+		var page = read("", null, Direction.ASC);
+
+		assertEquals(List.of(4L, 7L), ids(page));
+		assertTrue(page.getLink(IanaLinkRelations.NEXT).isPresent());
+		assertFalse(page.getLink(IanaLinkRelations.PREV).isPresent());
+		assertTrue(page.getMetadata() == null);
+	}
+
+	@Test
+	void testAfterCursorReadsTheFollowingPage() {
+		var first = read("", null, Direction.ASC);
+		var second = read(cursor(first, IanaLinkRelations.NEXT, "after"), null, Direction.ASC);
+
+		assertEquals(List.of(2L, 9L), ids(second));
+		assertTrue(second.getLink(IanaLinkRelations.NEXT).isPresent());
+		assertTrue(second.getLink(IanaLinkRelations.PREV).isPresent());
+
+		var last = read(cursor(second, IanaLinkRelations.NEXT, "after"), null, Direction.ASC);
+		assertEquals(List.of(1L), ids(last));
+		assertFalse(last.getLink(IanaLinkRelations.NEXT).isPresent());
+	}
+
+	@Test
+	void testBeforeCursorReadsThePreviousPageInOrder() {
+		var pastTheEnd = read(new SeekCursor("Davi", 1L).encode(), null, Direction.ASC);
+		assertTrue(ids(pastTheEnd).isEmpty());
+
+		var second = read(null, new SeekCursor("Davi", 1L).encode(), Direction.ASC);
+		assertEquals(List.of(2L, 9L), ids(second));
+		assertTrue(second.getLink(IanaLinkRelations.NEXT).isPresent());
+		assertTrue(second.getLink(IanaLinkRelations.PREV).isPresent());
+
+		var first = read(null, cursor(second, IanaLinkRelations.PREV, "before"), Direction.ASC);
+		assertEquals(List.of(4L, 7L), ids(first));
+		assertFalse(first.getLink(IanaLinkRelations.PREV).isPresent());
+		assertEquals(new SeekCursor("Ana", 7L).encode(), cursor(first, IanaLinkRelations.NEXT, "after"));
+	}
+
+	@Test
+	void testDescendingOrder() {
+		var first = read("", null, Direction.DESC);
+		assertEquals(List.of(1L, 9L), ids(first));
+
+		var second = read(cursor(first, IanaLinkRelations.NEXT, "after"), null, Direction.DESC);
+		assertEquals(List.of(2L, 7L), ids(second));
+
+		var back = read(null, cursor(second, IanaLinkRelations.PREV, "before"), Direction.DESC);
+		assertEquals(List.of(1L, 9L), ids(back));
+	}
+
+	@Test
+	void testInvalidCursorIsRejected() {
+		String noSeparator = Base64.getUrlEncoder().encodeToString("Ana".getBytes(StandardCharsets.UTF_8));
+		String badId = Base64.getUrlEncoder().encodeToString("x:Ana".getBytes(StandardCharsets.UTF_8));
+
+		assertThrows(InvalidCursorException.class, () -> read("not base64!", null, Direction.ASC));
+		assertThrows(InvalidCursorException.class, () -> read(noSeparator, null, Direction.ASC));
+		assertThrows(InvalidCursorException.class, () -> read(null, badId, Direction.ASC));
+	}
+}
@@ -0,0 +1,57 @@
+package br.com.erudio.unittests.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.util.NameSearchTerm;
+
+class NameSearchTermTest {
+
+	@Test
+	void testEveryWordIsRequired() {
+		var term = NameSearchTerm.of("  joel   gomes ");
+
+		assertTrue(term.hasFullTextWords());
+		assertEquals("+\"joel\" +\"gomes\"", term.toBooleanQuery());
+	}
+
+	@Test
+	void testOperatorsAreQuoted() {
+		var term = NameSearchTerm.of("-jo\"el* +x");
+
+		assertEquals("+\"-joel*\" +\"+x\"", term.toBooleanQuery());
+	}
+
+	@Test
+	void testShortTermIsMatchedAsPrefix() {
+		var term = NameSearchTerm.of("j");
+
+		assertFalse(term.hasFullTextWords());
+		assertEquals(List.of("j"), term.toPrefixes());
+	}
+
+	@Test
+	void testShortWordKeepsTheLongerOnes() {
+		var term = NameSearchTerm.of("Maria M da Silva");
+
+		assertTrue(term.hasFullTextWords());
+		assertEquals("+\"Maria\" +\"da\" +\"Silva\"", term.toBooleanQuery());
+		assertEquals(List.of("M"), term.toPrefixes());
+	}
+
+	@Test
+	void testBlankTermHasNoConditions() {
+		assertFalse(NameSearchTerm.of("  ").hasFullTextWords());
+		assertTrue(NameSearchTerm.of(null).toPrefixes().isEmpty());
+	}
+
+	@Test
+	void testPrefixIsEscaped() {
+		assertEquals(List.of("!%", "!_", "!!"), NameSearchTerm.of("% _ !").toPrefixes());
+	}
+}
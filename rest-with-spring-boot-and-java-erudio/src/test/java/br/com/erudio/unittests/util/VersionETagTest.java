@@ -0,0 +1,72 @@
+package br.com.erudio.unittests.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import br.com.erudio.util.VersionETag;
+import reactor.core.publisher.Mono;
+
+class VersionETagTest {
+
+	@Test
+	void testRoundTrip() {
+		assertEquals("\"7\"", VersionETag.of(7L));
+		assertEquals(List.of(7L), VersionETag.fromIfMatch(VersionETag.of(7L)));
+		assertEquals(List.of(7L), VersionETag.fromIfMatch(VersionETag.of(7L, MediaType.APPLICATION_JSON)));
+	}
+
+	@Test
+	void testEachRepresentationHasItsOwnTag() {
+		assertEquals("\"7-json\"", VersionETag.of(7L, MediaType.APPLICATION_JSON));
+		assertEquals("\"7-xml\"", VersionETag.of(7L, MediaType.APPLICATION_XML));
+		assertEquals("\"7-yaml\"", VersionETag.of(7L, MediaType.valueOf("application/x-yaml")));
+		assertEquals(7L, VersionETag.versionOf("\"7\""));
+		assertNull(VersionETag.versionOf("\"7-json\""));
+	}
+
+	@Test
+	void testMissingOrAnyIsUnconditional() {
+		assertNull(VersionETag.fromIfMatch(null));
+		assertNull(VersionETag.fromIfMatch(" * "));
+		assertNull(VersionETag.expectedVersion(null, () -> 3L));
+	}
+
+	@Test
+	void testWeakTagNeverMatches() {
+		assertTrue(VersionETag.fromIfMatch("W/\"7\"").isEmpty());
+		assertTrue(VersionETag.fromIfMatch("W/\"7-json\"").isEmpty());
+		assertEquals(VersionETag.NO_MATCH, VersionETag.expectedVersion("W/\"7-json\"", () -> 7L));
+	}
+
+	@Test
+	void testMalformedNeverMatches() {
+		assertTrue(VersionETag.fromIfMatch("\"abc\"").isEmpty());
+		assertEquals(VersionETag.NO_MATCH, VersionETag.expectedVersion("\"abc\"", () -> 3L));
+		assertEquals(VersionETag.NO_MATCH, VersionETag.expectedVersion("7", () -> 3L));
+	}
+
+	@Test
+	void testListMatchesTheCurrentVersion() {
+		assertEquals(List.of(3L, 5L), VersionETag.fromIfMatch("\"3-json\", W/\"4\", \"5\""));
+		assertEquals(4L, VersionETag.expectedVersion("\"3\", \"4\"", () -> 4L));
+		assertEquals(VersionETag.NO_MATCH, VersionETag.expectedVersion("\"3\", \"4\"", () -> 5L));
+		assertEquals(3L, VersionETag.expectedVersion("\"3\", \"abc\"", () -> {
+			throw new AssertionError("a single valid version needs no lookup");
+		}));
+	}
+
+	@Test
+	void testReactiveListMatchesTheCurrentVersion() {
+		assertEquals(Optional.empty(), VersionETag.expectedVersion(null, Mono.<Long>error(new AssertionError())).block());
+		assertEquals(Optional.of(3L), VersionETag.expectedVersion("\"3\"", Mono.<Long>error(new AssertionError())).block());
+		assertEquals(Optional.of(4L), VersionETag.expectedVersion("\"3\", \"4\"", Mono.just(4L)).block());
+		assertEquals(Optional.of(VersionETag.NO_MATCH), VersionETag.expectedVersion("\"3\", \"4\"", Mono.just(5L)).block());
+	}
+}